@@ -0,0 +1,101 @@
+package codechecker.benchmarks;
+
+import codechecker.core.models.entities.Account;
+import codechecker.core.models.entities.Assignment;
+import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.services.AccountService;
+import codechecker.core.services.AssignmentService;
+import codechecker.core.services.AssignmentSubmissionService;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The compareAssignmentSubmissions pipeline of the services, on the in-memory database of business-config.xml.
+ * compare is a compare as it is served, from the fingerprints cached at upload; uploadAndCompare uploads both
+ * submissions again first, so it includes storing, parsing, normalizing and winnowing them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompareBenchmark {
+
+    @Param({"100", "1000", "5000", "20000"})
+    private int lines;
+
+    private File directory;
+
+    private ClassPathXmlApplicationContext context;
+
+    private AssignmentSubmissionService submissionService;
+
+    private byte[] content;
+
+    private byte[] otherContent;
+
+    private Long submissionId;
+
+    private Long otherSubmissionId;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = new File(FileUtils.getTempDirectory(), "code-checker-benchmark-" + System.nanoTime());
+        System.setProperty("codechecker.storage.root", new File(directory, "storage").getPath());
+        System.setProperty("codechecker.index.root", new File(directory, "index").getPath());
+        context = new ClassPathXmlApplicationContext("spring/business-config.xml");
+        submissionService = context.getBean(AssignmentSubmissionService.class);
+
+        Account account = new Account();
+        account.setName("benchmark");
+        account.setPassword("benchmark");
+        account = context.getBean(AccountService.class).createAccount(account);
+        Assignment assignment = new Assignment();
+        assignment.setTitle("benchmark");
+        assignment = context.getBean(AccountService.class).createAssignment(account.getId(), assignment);
+
+        AssignmentService assignmentService = context.getBean(AssignmentService.class);
+        submissionId = assignmentService.createAssignmentSubmission(assignment.getId(), new AssignmentSubmission()).getId();
+        otherSubmissionId = assignmentService.createAssignmentSubmission(assignment.getId(), new AssignmentSubmission()).getId();
+        content = SyntheticSource.generate(lines, 1).getBytes("UTF-8");
+        otherContent = SyntheticSource.generate(lines, 2).getBytes("UTF-8");
+        submissionService.uploadAssignmentSubmission(submissionId, new ByteArrayInputStream(content));
+        submissionService.uploadAssignmentSubmission(otherSubmissionId, new ByteArrayInputStream(otherContent));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Benchmark
+    public String compare() {
+        return submissionService.compareAssignmentSubmissions(submissionId, otherSubmissionId);
+    }
+
+    @Benchmark
+    public String uploadAndCompare() throws IOException {
+        submissionService.uploadAssignmentSubmission(submissionId, new ByteArrayInputStream(content));
+        submissionService.uploadAssignmentSubmission(otherSubmissionId, new ByteArrayInputStream(otherContent));
+        return submissionService.compareAssignmentSubmissions(submissionId, otherSubmissionId);
+    }
+}
@@ -0,0 +1,87 @@
+package codechecker.benchmarks;
+
+import codechecker.core.models.entities.Account;
+import codechecker.core.models.entities.Assignment;
+import codechecker.core.services.AccountService;
+import codechecker.core.services.AssignmentService;
+import codechecker.core.services.AssignmentSubmissionService;
+import codechecker.core.services.util.SimilarityMatrix;
+import codechecker.core.services.util.SuspiciousPairList;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The assignment-wide services on a SyntheticCorpus of 100 to 5000 line submissions, a fifth of them disguised
+ * copies, loaded through the services into the in-memory database of business-config.xml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorpusBenchmark {
+
+    @Param({"30", "100", "300"})
+    private int students;
+
+    private File directory;
+
+    private ClassPathXmlApplicationContext context;
+
+    private AssignmentService assignmentService;
+
+    private Long assignmentId;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = new File(FileUtils.getTempDirectory(), "code-checker-benchmark-" + System.nanoTime());
+        System.setProperty("codechecker.storage.root", new File(directory, "storage").getPath());
+        System.setProperty("codechecker.index.root", new File(directory, "index").getPath());
+        context = new ClassPathXmlApplicationContext("spring/business-config.xml");
+        assignmentService = context.getBean(AssignmentService.class);
+
+        Account account = new Account();
+        account.setName("benchmark");
+        account.setPassword("benchmark");
+        account = context.getBean(AccountService.class).createAccount(account);
+        Assignment assignment = new Assignment();
+        assignment.setTitle("benchmark");
+        assignmentId = context.getBean(AccountService.class).createAssignment(account.getId(), assignment).getId();
+
+        new SyntheticCorpus(students, 100, 5000, 0.2, 1)
+                .load(assignmentService, context.getBean(AssignmentSubmissionService.class), assignmentId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Benchmark
+    public SimilarityMatrix similarityMatrix() {
+        return assignmentService.computeSimilarityMatrix(assignmentId);
+    }
+
+    @Benchmark
+    public SuspiciousPairList suspiciousPairs() {
+        return assignmentService.findSuspiciousPairs(assignmentId, 0.5);
+    }
+}
@@ -0,0 +1,68 @@
+package codechecker.benchmarks;
+
+import codechecker.core.services.impl.TokenWinnower;
+import codechecker.core.services.impl.visitors.HashCodeVisitor;
+import codechecker.core.services.impl.visitors.NormalizationEngine;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All the normalization passes as the fingerprinter runs them, on a freshly parsed compilation unit per invocation,
+ * and the winnowing of the normalized code
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizationBenchmark {
+
+    @Param({"100", "1000", "5000", "20000"})
+    private int lines;
+
+    private String source;
+
+    private String normalized;
+
+    private CompilationUnit cu;
+
+    private final TokenWinnower winnower = new TokenWinnower();
+
+    @Setup
+    public void setup() {
+        source = SyntheticSource.generate(lines, 1);
+        CompilationUnit unit = JavaParser.parse(source);
+        new NormalizationEngine().normalize(unit);
+        normalized = unit.toString();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        cu = JavaParser.parse(source);
+    }
+
+    @Benchmark
+    public HashCodeVisitor normalize() {
+        return new NormalizationEngine().normalize(cu);
+    }
+
+    @Benchmark
+    public long[] winnow() {
+        return winnower.getFingerprint(normalized);
+    }
+}
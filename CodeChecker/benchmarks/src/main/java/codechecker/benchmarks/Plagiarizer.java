@@ -0,0 +1,163 @@
+package codechecker.benchmarks;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.comments.LineComment;
+import com.github.javaparser.ast.expr.SimpleName;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.type.PrimitiveType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Disguises a copied submission the way students do, with exactly the changes the normalization visitors undo:
+ * renaming the fields, methods, parameters and variables, reordering the methods, retyping the primitive
+ * variables and inserting comments. The structure of the code stays the same.
+ */
+public class Plagiarizer {
+
+    private static final String[] NAMES = {"val", "elem", "acc", "cur", "tmp", "item", "data"};
+
+    private static final String[] COMMENTS = {"TODO check this", "loop over the values", "my solution",
+            "helper", "fixed the bug from last week", "update the result"};
+
+    // the percentage of the statements that get a comment, and of the primitive variables that get another type
+    private static final int COMMENT_PERCENT = 20;
+    private static final int RETYPE_PERCENT = 50;
+
+    private final Random random;
+
+    /**
+     * @param random the source of the names, the method order and the choice of the retyped variables
+     */
+    public Plagiarizer(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * @param source a parsable java source
+     * @return the disguised source
+     */
+    public String disguise(String source) {
+        CompilationUnit cu = JavaParser.parse(source);
+        rename(cu);
+        reorderMethods(cu);
+        retype(cu);
+        comment(cu);
+        return cu.toString();
+    }
+
+    /*
+     * Gives every declared field, method, parameter and variable a new name, consistently across its uses
+     */
+    private void rename(CompilationUnit cu) {
+        final Map<String, String> renamed = new HashMap<String, String>();
+        cu.accept(new VoidVisitorAdapter<Void>() {
+            @Override
+            public void visit(VariableDeclarator n, Void arg) {
+                declare(n.getNameAsString());
+                super.visit(n, arg);
+            }
+
+            @Override
+            public void visit(Parameter n, Void arg) {
+                declare(n.getNameAsString());
+                super.visit(n, arg);
+            }
+
+            @Override
+            public void visit(MethodDeclaration n, Void arg) {
+                declare(n.getNameAsString());
+                super.visit(n, arg);
+            }
+
+            private void declare(String name) {
+                if(!renamed.containsKey(name)) {
+                    renamed.put(name, NAMES[random.nextInt(NAMES.length)] + renamed.size());
+                }
+            }
+        }, null);
+        cu.accept(new VoidVisitorAdapter<Void>() {
+            @Override
+            public void visit(SimpleName n, Void arg) {
+                String name = renamed.get(n.getIdentifier());
+                if(name != null) {
+                    n.setIdentifier(name);
+                }
+            }
+        }, null);
+    }
+
+    /*
+     * Shuffles the methods of every class, leaving the other members where they are
+     */
+    private void reorderMethods(CompilationUnit cu) {
+        for(ClassOrInterfaceDeclaration type : cu.findAll(ClassOrInterfaceDeclaration.class)) {
+            List<MethodDeclaration> methods = new ArrayList<MethodDeclaration>(type.getMethods());
+            Collections.shuffle(methods, random);
+            NodeList<BodyDeclaration<?>> members = new NodeList<BodyDeclaration<?>>();
+            int next = 0;
+            for(BodyDeclaration<?> member : type.getMembers()) {
+                members.add(member instanceof MethodDeclaration ? methods.get(next++) : member);
+            }
+            type.setMembers(members);
+        }
+    }
+
+    /*
+     * Swaps the types of some primitive variables for another type of the same kind, like int for long
+     */
+    private void retype(CompilationUnit cu) {
+        for(VariableDeclarator variable : cu.findAll(VariableDeclarator.class)) {
+            Type type = variable.getType();
+            if(type instanceof PrimitiveType && random.nextInt(100) < RETYPE_PERCENT) {
+                PrimitiveType.Primitive other = other(((PrimitiveType) type).getType());
+                if(other != null) {
+                    variable.setType(new PrimitiveType(other));
+                }
+            }
+        }
+    }
+
+    private static PrimitiveType.Primitive other(PrimitiveType.Primitive primitive) {
+        switch(primitive) {
+            case INT:
+                return PrimitiveType.Primitive.LONG;
+            case LONG:
+                return PrimitiveType.Primitive.INT;
+            case FLOAT:
+                return PrimitiveType.Primitive.DOUBLE;
+            case DOUBLE:
+                return PrimitiveType.Primitive.FLOAT;
+            case SHORT:
+                return PrimitiveType.Primitive.INT;
+            default:
+                return null;
+        }
+    }
+
+    /*
+     * Puts a line comment before some of the statements
+     */
+    private void comment(CompilationUnit cu) {
+        for(Statement statement : cu.findAll(Statement.class)) {
+            if(!(statement instanceof BlockStmt) && random.nextInt(100) < COMMENT_PERCENT) {
+                statement.setComment(new LineComment(" " + COMMENTS[random.nextInt(COMMENTS.length)]));
+            }
+        }
+    }
+}
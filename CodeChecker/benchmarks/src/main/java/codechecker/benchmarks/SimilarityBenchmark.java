@@ -0,0 +1,69 @@
+package codechecker.benchmarks;
+
+import codechecker.core.services.impl.SimilarityPercentGenerator;
+import codechecker.core.services.impl.TokenWinnower;
+import codechecker.core.services.impl.visitors.NormalizationEngine;
+import codechecker.core.services.util.SubmissionFingerprint;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SimilarityPercentGenerator on the fingerprints of two partly similar submissions
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimilarityBenchmark {
+
+    @Param({"100", "1000", "5000", "20000"})
+    private int lines;
+
+    private SubmissionFingerprint fingerprint;
+
+    private SubmissionFingerprint otherFingerprint;
+
+    private final SimilarityPercentGenerator spg = new SimilarityPercentGenerator();
+
+    @Setup
+    public void setup() {
+        fingerprint = fingerprint(SyntheticSource.generate(lines, 1));
+        otherFingerprint = fingerprint(SyntheticSource.generate(lines, 2));
+    }
+
+    @Benchmark
+    public double nodeSimilarity() {
+        return spg.getSimilarityPercent(fingerprint.getNodeHashCodes(), otherFingerprint.getNodeHashCodes());
+    }
+
+    @Benchmark
+    public double combinedSimilarity() {
+        return spg.getSimilarityPercent(fingerprint, otherFingerprint);
+    }
+
+    @Benchmark
+    public double jaccardIndex() {
+        return spg.getJaccardIndex(fingerprint.getNodeHashCodes(), otherFingerprint.getNodeHashCodes());
+    }
+
+    private static SubmissionFingerprint fingerprint(String source) {
+        CompilationUnit cu = JavaParser.parse(source);
+        long[] nodeHashCodes = new NormalizationEngine().normalize(cu).getFingerprint();
+        return new SubmissionFingerprint(nodeHashCodes, new TokenWinnower().getFingerprint(cu.toString()));
+    }
+}
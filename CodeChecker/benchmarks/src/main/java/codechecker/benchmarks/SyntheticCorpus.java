@@ -0,0 +1,121 @@
+package codechecker.benchmarks;
+
+import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.services.AssignmentService;
+import codechecker.core.services.AssignmentSubmissionService;
+import org.apache.commons.io.FileUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A class worth of generated submissions for benchmarks and load tests.
+ * Every student gets a SyntheticSource of a size drawn between the minimum and the maximum, skewed to the
+ * smaller sizes like real submissions are. The given fraction of the students hand in a disguised copy of the
+ * submission of an earlier student instead, made by the Plagiarizer. The same arguments always give the same corpus.
+ *
+ * The corpus can be loaded into an assignment through the services, or written to a directory for load tests:
+ *     java -cp target/benchmarks.jar codechecker.benchmarks.SyntheticCorpus directory students minLines maxLines fraction
+ */
+public class SyntheticCorpus {
+
+    private final List<String> sources;
+
+    // the student each submission was copied from, -1 for the original submissions
+    private final int[] copiedFrom;
+
+    /**
+     * @param students the number of submissions
+     * @param minLines the minimum number of lines of a submission
+     * @param maxLines the maximum number of lines of a submission
+     * @param plagiarizedFraction the fraction of the submissions that are disguised copies, between 0 and 1
+     * @param seed the seed of the corpus
+     */
+    public SyntheticCorpus(int students, int minLines, int maxLines, double plagiarizedFraction, long seed) {
+        if(students < 1 || minLines < 1 || maxLines < minLines || plagiarizedFraction < 0 || plagiarizedFraction > 1) {
+            throw new IllegalArgumentException("Invalid corpus: " + students + " students of " + minLines
+                    + " to " + maxLines + " lines, " + plagiarizedFraction + " plagiarized");
+        }
+        Random random = new Random(seed);
+        Plagiarizer plagiarizer = new Plagiarizer(random);
+        sources = new ArrayList<String>(students);
+        copiedFrom = new int[students];
+        for(int s = 0; s < students; s++) {
+            if(s > 0 && random.nextDouble() < plagiarizedFraction) {
+                copiedFrom[s] = random.nextInt(s);
+                sources.add(plagiarizer.disguise(sources.get(copiedFrom[s])));
+            } else {
+                copiedFrom[s] = -1;
+                // uniform in the logarithm of the size, so there are as many submissions of 100 to 1000 lines as of 1000 to 10000
+                double lines = minLines * Math.pow((double) maxLines / minLines, random.nextDouble());
+                sources.add(SyntheticSource.generate((int) Math.round(lines), random.nextLong()));
+            }
+        }
+    }
+
+    /**
+     * @return the sources of the submissions, one per student
+     */
+    public List<String> getSources() {
+        return sources;
+    }
+
+    /**
+     * @param student the index of the student
+     * @return the index of the student whose submission was copied, or -1 if the submission is an original
+     */
+    public int getCopiedFrom(int student) {
+        return copiedFrom[student];
+    }
+
+    /**
+     * Creates a submission per student in the assignment and uploads its source, so it is stored and fingerprinted
+     * like any uploaded submission
+     * @param assignmentService the service creating the submissions
+     * @param submissionService the service uploading the sources
+     * @param assignmentId the id of the assignment to add the submissions to
+     * @return the ids of the created submissions, in the order of the students
+     * @throws IOException if a source cannot be stored
+     */
+    public List<Long> load(AssignmentService assignmentService, AssignmentSubmissionService submissionService,
+                           Long assignmentId) throws IOException {
+        List<Long> ids = new ArrayList<Long>(sources.size());
+        for(int s = 0; s < sources.size(); s++) {
+            AssignmentSubmission data = new AssignmentSubmission();
+            data.setTitle("student" + s);
+            Long id = assignmentService.createAssignmentSubmission(assignmentId, data).getId();
+            submissionService.uploadAssignmentSubmission(id, new ByteArrayInputStream(sources.get(s).getBytes("UTF-8")));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Writes the sources to student{index}.java files, and the copies to copies.txt as lines of "copy original"
+     * @param directory the directory to write to, created if it does not exist
+     * @throws IOException if a file cannot be written
+     */
+    public void write(File directory) throws IOException {
+        StringBuilder copies = new StringBuilder();
+        for(int s = 0; s < sources.size(); s++) {
+            FileUtils.writeStringToFile(new File(directory, "student" + s + ".java"), sources.get(s), "UTF-8");
+            if(copiedFrom[s] >= 0) {
+                copies.append(s).append(' ').append(copiedFrom[s]).append('\n');
+            }
+        }
+        FileUtils.writeStringToFile(new File(directory, "copies.txt"), copies.toString(), "UTF-8");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if(args.length != 5) {
+            System.err.println("Usage: SyntheticCorpus directory students minLines maxLines fraction");
+            System.exit(1);
+        }
+        new SyntheticCorpus(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                Double.parseDouble(args[4]), 1).write(new File(args[0]));
+    }
+}
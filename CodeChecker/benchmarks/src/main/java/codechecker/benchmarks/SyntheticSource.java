@@ -0,0 +1,116 @@
+package codechecker.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates Java sources of a given number of lines for the benchmarks.
+ * A source is one class with fields, a constructor and methods built from a few templates, with the comments,
+ * loops, conditions and the mix of datatypes the normalization visitors work on. The same seed always gives
+ * the same source; two seeds give sources sharing their templates, so they are partly similar.
+ */
+public final class SyntheticSource {
+
+    private static final String[] FIELD_TYPES = {"int", "long", "double", "String", "boolean", "char"};
+
+    private SyntheticSource() {
+    }
+
+    /**
+     * @param lines the number of lines of the source, at least
+     * @param seed the seed choosing the templates and names
+     * @return the source of a class named Submission
+     */
+    public static String generate(int lines, long seed) {
+        Random random = new Random(seed);
+        StringBuilder source = new StringBuilder(lines * 40);
+        int count = 0;
+
+        source.append("import java.util.ArrayList;\n");
+        source.append("import java.util.List;\n\n");
+        source.append("/**\n * Generated submission\n */\n");
+        source.append("public class Submission {\n");
+        count += 7;
+
+        int fields = Math.max(2, lines / 50);
+        for(int f = 0; f < fields; f++) {
+            String type = FIELD_TYPES[random.nextInt(FIELD_TYPES.length)];
+            source.append("    private ").append(type).append(" field").append(f).append(";\n");
+        }
+        source.append("    private List<String> names = new ArrayList<String>();\n\n");
+        count += fields + 2;
+
+        source.append("    public Submission(int size) {\n");
+        source.append("        // start empty\n");
+        source.append("        for (int i = 0; i < size; i++) {\n");
+        source.append("            names.add(\"name\" + i);\n");
+        source.append("        }\n");
+        source.append("    }\n\n");
+        count += 7;
+
+        for(int m = 0; count < lines - 1; m++) {
+            count += method(source, random, m, fields);
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /*
+     * Appends one method built from a random template, and returns the number of lines appended
+     */
+    private static int method(StringBuilder source, Random random, int m, int fields) {
+        String a = "a" + random.nextInt(1000);
+        String b = "b" + random.nextInt(1000);
+        switch(random.nextInt(4)) {
+            case 0:
+                source.append("    // sums the even values below the limit\n");
+                source.append("    public int sum").append(m).append("(int ").append(a).append(") {\n");
+                source.append("        int total = 0;\n");
+                source.append("        for (int i = 0; i < ").append(a).append("; i++) {\n");
+                source.append("            if (i % 2 == 0) {\n");
+                source.append("                total += i;\n");
+                source.append("            } else {\n");
+                source.append("                total -= 1;\n");
+                source.append("            }\n");
+                source.append("        }\n");
+                source.append("        return total;\n");
+                source.append("    }\n\n");
+                return 13;
+            case 1:
+                source.append("    public String join").append(m).append("(String ").append(a)
+                        .append(", int ").append(b).append(") {\n");
+                source.append("        StringBuilder builder = new StringBuilder();\n");
+                source.append("        int count = 0;\n");
+                source.append("        while (count < ").append(b).append(" && count < names.size()) {\n");
+                source.append("            builder.append(names.get(count)).append(").append(a).append(");\n");
+                source.append("            count++;\n");
+                source.append("        }\n");
+                source.append("        return builder.toString();\n");
+                source.append("    }\n\n");
+                return 10;
+            case 2:
+                source.append("    /* scales the field by the factor */\n");
+                source.append("    public double scale").append(m).append("(double ").append(a).append(") {\n");
+                source.append("        double result = ").append(a).append(" * 2.5;\n");
+                source.append("        long rounded = Math.round(result);\n");
+                source.append("        boolean large = rounded > ").append(random.nextInt(100)).append(";\n");
+                source.append("        if (large) {\n");
+                source.append("            result = result / 2;\n");
+                source.append("        }\n");
+                source.append("        System.out.println(field").append(random.nextInt(fields)).append(");\n");
+                source.append("        return result;\n");
+                source.append("    }\n\n");
+                return 12;
+            default:
+                source.append("    public List<String> filter").append(m).append("(char ").append(a).append(") {\n");
+                source.append("        List<String> found = new ArrayList<String>();\n");
+                source.append("        for (String name : names) {\n");
+                source.append("            if (name.indexOf(").append(a).append(") >= 0) {\n");
+                source.append("                found.add(name);\n");
+                source.append("            }\n");
+                source.append("        }\n");
+                source.append("        return found;\n");
+                source.append("    }\n\n");
+                return 10;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package codechecker.benchmarks;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.visitor.VoidVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each normalization visitor on its own.
+ * The visitors change the compilation unit, so every invocation gets a freshly parsed one, brought into the state
+ * the visitor sees in the visitor sequence by running the visitors before it. That setup is not measured, but it
+ * makes the invocations of the small sizes short compared to the timer overhead; compare those with care.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisitorBenchmark {
+
+    private static final String VISITORS = "codechecker.core.services.impl.visitors.";
+
+    // the order the visitors ran in before the NormalizationEngine, which each visitor relies on
+    private static final String[] SEQUENCE = {
+            "CommentRemovalVisitor",
+            "VariableOrderingInClassVisitor",
+            "VariableOrderInMethodVisitor",
+            "VariableStandardizationVisitor",
+            "VariableDatatypeVisitor",
+            "MethodVisitor",
+            "FieldDatatypeVisitor",
+            "ConstructorVisitor",
+            "ObjectDatatypeVisitor",
+            "FunctionOrderingVisitor",
+            "FunctionStandardizationVisitor",
+            "HashCodeVisitor"};
+
+    @Param({"100", "1000", "5000", "20000"})
+    private int lines;
+
+    @Param({
+            "CommentRemovalVisitor",
+            "VariableOrderingInClassVisitor",
+            "VariableOrderInMethodVisitor",
+            "VariableStandardizationVisitor",
+            "VariableDatatypeVisitor",
+            "MethodVisitor",
+            "FieldDatatypeVisitor",
+            "ConstructorVisitor",
+            "ObjectDatatypeVisitor",
+            "FunctionOrderingVisitor",
+            "FunctionStandardizationVisitor",
+            "HashCodeVisitor"})
+    private String visitor;
+
+    private String source;
+
+    private CompilationUnit cu;
+
+    private VoidVisitor<Void> instance;
+
+    @Setup
+    public void setup() {
+        source = SyntheticSource.generate(lines, 1);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() throws Exception {
+        cu = JavaParser.parse(source);
+        for(String previous : SEQUENCE) {
+            if(previous.equals(visitor)) {
+                break;
+            }
+            cu.accept(create(previous), null);
+        }
+        instance = create(visitor);
+    }
+
+    @Benchmark
+    public CompilationUnit visit() {
+        cu.accept(instance, null);
+        return cu;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VoidVisitor<Void> create(String name) throws Exception {
+        return (VoidVisitor<Void>) Class.forName(VISITORS + name).newInstance();
+    }
+}
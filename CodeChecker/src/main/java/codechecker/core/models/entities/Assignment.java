@@ -3,7 +3,9 @@ package codechecker.core.models.entities;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Lob;
 import javax.persistence.OneToOne;
+import javax.persistence.Transient;
 
 /**
  * Assignment class
@@ -19,6 +21,23 @@ public class Assignment {
     @OneToOne
     private Account owner;
 
+    // SHA-256 of the uploaded starter code, the key it is stored under, or null if none has been uploaded
+    private String starterCodeHash;
+
+    // sorted distinct hash codes of the normalized starter code, excluded from the fingerprints of every submission
+    @Lob
+    private byte[] starterNodeHashCodes;
+
+    @Transient
+    private long[] starterFingerprint;
+
+    // sorted distinct winnowed hash codes of the token k-grams of the normalized starter code, excluded as well
+    @Lob
+    private byte[] starterTokenHashCodes;
+
+    @Transient
+    private long[] starterTokenFingerprint;
+
     /**
      * get assignment id
      */
@@ -60,4 +79,54 @@ public class Assignment {
     public void setOwner(Account owner) {
         this.owner = owner;
     }
+
+    /**
+     * get the content hash of the uploaded starter code, or null if none has been uploaded
+     */
+    public String getStarterCodeHash() {
+        return starterCodeHash;
+    }
+
+    /**
+     * set the content hash of the uploaded starter code
+     */
+    public void setStarterCodeHash(String starterCodeHash) {
+        this.starterCodeHash = starterCodeHash;
+    }
+
+    /**
+     * get the hash codes of the normalized starter code, or null if there is no starter code to exclude
+     */
+    public long[] getStarterNodeHashCodes() {
+        if(starterFingerprint == null) {
+            starterFingerprint = AssignmentSubmission.toLongs(starterNodeHashCodes);
+        }
+        return starterFingerprint;
+    }
+
+    /**
+     * set the hash codes of the normalized starter code
+     */
+    public void setStarterNodeHashCodes(long[] starterNodeHashCodes) {
+        this.starterFingerprint = starterNodeHashCodes;
+        this.starterNodeHashCodes = AssignmentSubmission.toBytes(starterNodeHashCodes);
+    }
+
+    /**
+     * get the winnowed token hash codes of the normalized starter code, or null if there is no starter code to exclude
+     */
+    public long[] getStarterTokenHashCodes() {
+        if(starterTokenFingerprint == null) {
+            starterTokenFingerprint = AssignmentSubmission.toLongs(starterTokenHashCodes);
+        }
+        return starterTokenFingerprint;
+    }
+
+    /**
+     * set the winnowed token hash codes of the normalized starter code
+     */
+    public void setStarterTokenHashCodes(long[] starterTokenHashCodes) {
+        this.starterTokenFingerprint = starterTokenHashCodes;
+        this.starterTokenHashCodes = AssignmentSubmission.toBytes(starterTokenHashCodes);
+    }
 }
@@ -3,13 +3,21 @@ package codechecker.core.models.entities;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.OrderColumn;
+import javax.persistence.Transient;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Assignment Submission Class
@@ -27,6 +35,43 @@ public class AssignmentSubmission {
 
     private File associatedFile;
 
+    // SHA-256 of the uploaded file, the key it is stored under; for a project, the hash of the list of its files
+    private String contentHash;
+
+    // the files of a project submission, in the order of their paths; empty for a submission of a single file
+    @ElementCollection
+    @OrderColumn
+    private List<SubmissionFile> files = new ArrayList<SubmissionFile>();
+
+    // sorted distinct hash codes of the normalized AST nodes, computed once per upload and reused by every compare
+    @Lob
+    private byte[] nodeHashCodes;
+
+    // the stored hash codes decoded, so they are only decoded once per loaded entity
+    @Transient
+    private long[] fingerprint;
+
+    // packed source regions of the subtrees of the node hash codes, in the same order, to report matching code
+    @Lob
+    private byte[] nodeRegions;
+
+    @Transient
+    private long[] regions;
+
+    // sorted distinct winnowed hash codes of the token k-grams of the normalized submission
+    @Lob
+    private byte[] tokenHashCodes;
+
+    @Transient
+    private long[] tokenFingerprint;
+
+    // MinHash summary of the hash codes, used to find candidate pairs without comparing every pair
+    @Lob
+    private byte[] minHashSignature;
+
+    @Transient
+    private long[] signature;
+
     @ManyToOne
     private Assignment assignment;
 
@@ -39,7 +84,10 @@ public class AssignmentSubmission {
 
     /**
      * parse input file
+     * @deprecated parses the file on every call; the services read stored files by content hash,
+     * through the CompilationUnitCache
      */
+    @Deprecated
     public String textualRepresentation() {
         FileInputStream in;
         try {
@@ -117,4 +165,126 @@ public class AssignmentSubmission {
     public void setAssociatedFile(File associatedFile) {
         this.associatedFile = associatedFile;
     }
+
+    /**
+     * get the content hash of the uploaded file, or null if no file has been uploaded
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * set the content hash of the uploaded file
+     */
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * get the files of a project submission, empty for a submission of a single file
+     */
+    public List<SubmissionFile> getFiles() {
+        return files;
+    }
+
+    /**
+     * set the files of a project submission
+     */
+    public void setFiles(List<SubmissionFile> files) {
+        this.files = files;
+    }
+
+    /**
+     * get the cached hash codes of the normalized submission, or null if they have not been computed yet
+     */
+    public long[] getNodeHashCodes() {
+        if(fingerprint == null) {
+            fingerprint = toLongs(nodeHashCodes);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * set the cached hash codes of the normalized submission
+     */
+    public void setNodeHashCodes(long[] nodeHashCodes) {
+        this.fingerprint = nodeHashCodes;
+        this.nodeHashCodes = toBytes(nodeHashCodes);
+    }
+
+    /**
+     * get the cached source regions of the node hash codes, or null if they have not been computed yet
+     */
+    public long[] getNodeRegions() {
+        if(regions == null) {
+            regions = toLongs(nodeRegions);
+        }
+        return regions;
+    }
+
+    /**
+     * set the cached source regions of the node hash codes
+     */
+    public void setNodeRegions(long[] nodeRegions) {
+        this.regions = nodeRegions;
+        this.nodeRegions = toBytes(nodeRegions);
+    }
+
+    /**
+     * get the cached winnowed token hash codes of the normalized submission, or null if they have not been computed yet
+     */
+    public long[] getTokenHashCodes() {
+        if(tokenFingerprint == null) {
+            tokenFingerprint = toLongs(tokenHashCodes);
+        }
+        return tokenFingerprint;
+    }
+
+    /**
+     * set the cached winnowed token hash codes of the normalized submission
+     */
+    public void setTokenHashCodes(long[] tokenHashCodes) {
+        this.tokenFingerprint = tokenHashCodes;
+        this.tokenHashCodes = toBytes(tokenHashCodes);
+    }
+
+    /**
+     * get the MinHash signature of the cached hash codes, or null if it has not been computed yet
+     */
+    public long[] getMinHashSignature() {
+        if(signature == null) {
+            signature = toLongs(minHashSignature);
+        }
+        return signature;
+    }
+
+    /**
+     * set the MinHash signature of the cached hash codes
+     */
+    public void setMinHashSignature(long[] minHashSignature) {
+        this.signature = minHashSignature;
+        this.minHashSignature = toBytes(minHashSignature);
+    }
+
+    /*
+     * The long arrays are stored as big-endian bytes, as Hibernate cannot map a long[] to a lob
+     */
+    static byte[] toBytes(long[] values) {
+        if(values == null) {
+            return null;
+        }
+        ByteBuffer stored = ByteBuffer.allocate(values.length * 8);
+        stored.asLongBuffer().put(values);
+        return stored.array();
+    }
+
+    static long[] toLongs(byte[] bytes) {
+        if(bytes == null) {
+            return null;
+        }
+        LongBuffer stored = ByteBuffer.wrap(bytes).asLongBuffer();
+        long[] values = new long[stored.remaining()];
+        stored.get(values);
+        return values;
+    }
 }
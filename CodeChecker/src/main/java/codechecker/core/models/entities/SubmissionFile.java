@@ -0,0 +1,59 @@
+package codechecker.core.models.entities;
+
+import javax.persistence.Embeddable;
+
+/**
+ * Submission File Class
+ * One file of a project submission, stored by the content hash of the file
+ */
+@Embeddable
+public class SubmissionFile {
+
+    // path of the file in the project, such as src/Main.java
+    private String path;
+
+    // SHA-256 of the file, the key it is stored under
+    private String contentHash;
+
+    /**
+     * Submission File constructor
+     */
+    public SubmissionFile() {
+    }
+
+    /**
+     * Submission File constructor
+     */
+    public SubmissionFile(String path, String contentHash) {
+        this.path = path;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * get the path of the file in the project
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * set the path of the file in the project
+     */
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /**
+     * get the content hash of the file
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * set the content hash of the file
+     */
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+}
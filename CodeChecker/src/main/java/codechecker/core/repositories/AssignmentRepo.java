@@ -19,4 +19,7 @@ public interface AssignmentRepo {
 
 //    find a specific assignments related to a specific account
     List<Assignment> findAssignmentsByAccount(Long accountId);
-}
\ No newline at end of file
+
+//    count the assignments whose starter code has the given content
+    long countByStarterCodeHash(String contentHash);
+}
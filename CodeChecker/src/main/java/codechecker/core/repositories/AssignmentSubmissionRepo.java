@@ -30,10 +30,38 @@ public interface AssignmentSubmissionRepo {
      */
     AssignmentSubmission createAssignmentSubmission(AssignmentSubmission data);
 
+    /**
+     * Creates many new Assignment Submissions at once, flushed to the database in batches
+     * @param data the AssignmentSubmissions to be created
+     * @return the created AssignmentSubmissions, in the given order
+     */
+    List<AssignmentSubmission> createAssignmentSubmissions(List<AssignmentSubmission> data);
+
+    /**
+     * Finds every Assignment Submission
+     * @return all AssignmentSubmissions, empty if there are none
+     */
+    List<AssignmentSubmission> findAllAssignmentSubmissions();
+
     /**
      * Finds a specific Assignment Submission by Id
      * @param id the id of the AssignmentSubmission to be searched
      * @return the AssignmentSubmission associated to the given id, returns null if no AssignmentSubmission found
      */
     List<AssignmentSubmission> findByAssignmentId(Long id);
+
+    /**
+     * Finds the Assignment Submissions whose uploaded file has the given content
+     * @param contentHash the content hash of the uploaded file
+     * @return the AssignmentSubmissions with the given content hash, empty if there are none
+     */
+    List<AssignmentSubmission> findByContentHash(String contentHash);
+
+    /**
+     * Counts the references to stored content, as the uploaded file of an Assignment Submission or as one of the
+     * files of a project submission
+     * @param contentHash the content hash of the stored content
+     * @return the number of references to the content, 0 if nothing refers to it
+     */
+    long countContentReferences(String contentHash);
 }
@@ -69,4 +69,14 @@ public class JpaAssignmentRepo implements AssignmentRepo {
         query.setParameter(1, accountId);
         return query.getResultList();
     }
+
+    /**
+     * method to count the assignments with given starter code in database
+     */
+    @Override
+    public long countByStarterCodeHash(String contentHash) {
+        Query query = em.createQuery("SELECT COUNT(b) from Assignment b where b.starterCodeHash=?1");
+        query.setParameter(1, contentHash);
+        return (Long) query.getSingleResult();
+    }
 }
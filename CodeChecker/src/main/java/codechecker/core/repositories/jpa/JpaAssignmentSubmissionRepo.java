@@ -15,6 +15,9 @@ import java.util.List;
  */
 @Repository
 public class JpaAssignmentSubmissionRepo implements AssignmentSubmissionRepo {
+    // the same as hibernate.jdbc.batch_size in business-config.xml, so each flush is sent as one JDBC batch
+    private static final int BATCH_SIZE = 50;
+
     @PersistenceContext
     private EntityManager em;
 
@@ -56,6 +59,32 @@ public class JpaAssignmentSubmissionRepo implements AssignmentSubmissionRepo {
         return data;
     }
 
+    /**
+     * method to create many new assignment submissions in database, flushing every batch so the inserts are sent
+     * together. The persistence context is not cleared, since the created submissions are returned to be indexed and
+     * must stay managed, so it still holds the whole import until the transaction ends
+     */
+    @Override
+    public List<AssignmentSubmission> createAssignmentSubmissions(List<AssignmentSubmission> data) {
+        for(int i = 0; i < data.size(); i++) {
+            em.persist(data.get(i));
+            if((i + 1) % BATCH_SIZE == 0) {
+                em.flush();
+            }
+        }
+        em.flush();
+        return data;
+    }
+
+    /**
+     * method to find all assignment submissions in database
+     */
+    @Override
+    public List<AssignmentSubmission> findAllAssignmentSubmissions() {
+        Query query = em.createQuery("SELECT b FROM AssignmentSubmission b");
+        return query.getResultList();
+    }
+
     /**
      * method to find all assignment submission by given assignment id in database
      */
@@ -65,4 +94,27 @@ public class JpaAssignmentSubmissionRepo implements AssignmentSubmissionRepo {
         query.setParameter(1, assignmentId);
         return query.getResultList();
     }
+
+    /**
+     * method to find all assignment submissions with the given content hash in database
+     */
+    @Override
+    public List<AssignmentSubmission> findByContentHash(String contentHash) {
+        Query query = em.createQuery("SELECT b FROM AssignmentSubmission b WHERE b.contentHash=?1");
+        query.setParameter(1, contentHash);
+        return query.getResultList();
+    }
+
+    /**
+     * method to count the assignment submissions and the files of project submissions with given content in database
+     */
+    @Override
+    public long countContentReferences(String contentHash) {
+        Query query = em.createQuery("SELECT COUNT(b) FROM AssignmentSubmission b WHERE b.contentHash=?1");
+        query.setParameter(1, contentHash);
+        long count = (Long) query.getSingleResult();
+        query = em.createQuery("SELECT COUNT(b) FROM AssignmentSubmission b JOIN b.files f WHERE f.contentHash=?1");
+        query.setParameter(1, contentHash);
+        return count + (Long) query.getSingleResult();
+    }
 }
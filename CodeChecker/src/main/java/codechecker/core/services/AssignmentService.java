@@ -5,6 +5,11 @@ import codechecker.core.models.entities.AssignmentSubmission;
 import codechecker.core.services.exceptions.AssignmentNotFoundException;
 import codechecker.core.services.util.AssignmentSubmissionList;
 import codechecker.core.services.util.AssignmentList;
+import codechecker.core.services.util.SimilarityMatrix;
+import codechecker.core.services.util.SuspiciousPairList;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Assignment Service interface
@@ -18,6 +23,27 @@ public interface AssignmentService {
      */
     AssignmentSubmission createAssignmentSubmission(Long assignmentId, AssignmentSubmission data);
 
+    /**
+     * @param assignmentId the id of the assignment to add the imported AssignmentSubmissions to
+     * @param archive a zip archive with one java file, or one folder of java files, per student
+     * @return the created AssignmentSubmissions, one per java file of the archive, with their fingerprints cached
+     * @throws AssignmentNotFoundException if the assignment to add to cannot be found
+     * @throws codechecker.core.services.exceptions.FileTooLargeException if one of the files is too large
+     * @throws java.util.zip.ZipException if the archive is not a valid zip archive
+     * @throws IOException if the archive cannot be read or a file cannot be stored
+     */
+    AssignmentSubmissionList importAssignmentSubmissions(Long assignmentId, InputStream archive) throws IOException;
+
+    /**
+     * @param assignmentId the id of the assignment the starter code is handed out with
+     * @param content the content of the starter code java file, streamed to the storage
+     * @return the Assignment with the fingerprints of its starter code, or null if the starter code cannot be parsed
+     * @throws AssignmentNotFoundException if the assignment cannot be found
+     * @throws codechecker.core.services.exceptions.FileTooLargeException if the starter code is too large
+     * @throws IOException if the starter code cannot be stored
+     */
+    Assignment uploadStarterCode(Long assignmentId, InputStream content) throws IOException;
+
     /**
      * find all assignments
      */
@@ -40,4 +66,27 @@ public interface AssignmentService {
      * @return the found assignment with given id
      */
     Assignment findAssignmentByAssignmentName(String name);
+
+    /**
+     * @param assignmentId the id of the assignment whose submissions are compared with each other
+     * @return the similarity percents of every pair of submissions that have a parsable uploaded file
+     * @throws AssignmentNotFoundException if the assignment cannot be found
+     */
+    SimilarityMatrix computeSimilarityMatrix(Long assignmentId);
+
+    /**
+     * @param assignmentId the id of the assignment whose submissions are compared with each other
+     * @return the similarity percents of every pair of submissions that have a parsable uploaded file, with every
+     * hash code weighted by how rare it is among the submissions of the assignment
+     * @throws AssignmentNotFoundException if the assignment cannot be found
+     */
+    SimilarityMatrix computeWeightedSimilarityMatrix(Long assignmentId);
+
+    /**
+     * @param assignmentId the id of the assignment whose submissions are searched for similar pairs
+     * @param threshold the minimum Jaccard index of the hash codes of a suspicious pair, between 0 and 1
+     * @return the pairs of submissions with a parsable uploaded file whose Jaccard index reaches the threshold
+     * @throws AssignmentNotFoundException if the assignment cannot be found
+     */
+    SuspiciousPairList findSuspiciousPairs(Long assignmentId, double threshold);
 }
\ No newline at end of file
@@ -2,6 +2,12 @@ package codechecker.core.services;
 
 
 import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.services.util.MatchedRegionList;
+import codechecker.core.services.util.SimilarSubmissionList;
+import codechecker.core.services.util.SourceDiff;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Assignment Submission Service interface
@@ -20,6 +26,56 @@ public interface AssignmentSubmissionService {
      */
     AssignmentSubmission updateAssignmentSubmission(Long id, AssignmentSubmission data);
 
+    /**
+     * @param id the id of the AssignmentSubmission the uploaded file belongs to
+     * @param content the content of the uploaded java file, streamed to the storage
+     * @return the AssignmentSubmission with its cached hash codes recomputed, or null if it cannot be found
+     * @throws codechecker.core.services.exceptions.FileTooLargeException if the uploaded file is too large
+     * @throws IOException if the uploaded file cannot be stored
+     */
+    AssignmentSubmission uploadAssignmentSubmission(Long id, InputStream content) throws IOException;
+
+    /**
+     * @param id the id of the AssignmentSubmission
+     * @return the content of the uploaded java file, or null if the AssignmentSubmission cannot be found or has no file
+     * @throws IOException if the stored file cannot be read
+     */
+    byte[] findAssignmentSubmissionSource(Long id) throws IOException;
+
+    /**
+     * @param id the id of the AssignmentSubmission
+     * @return the normalized form of the uploaded java file, or null if the AssignmentSubmission cannot be found,
+     * has no file or its file cannot be parsed
+     * @throws IOException if the stored file cannot be read
+     */
+    byte[] findAssignmentSubmissionTransformedSource(Long id) throws IOException;
+
+    /**
+     * @param id the id of the first AssignmentSubmission
+     * @param otherId the id of the second AssignmentSubmission
+     * @return the diff of the normalized forms of their uploaded java files, or null if one of them cannot be found,
+     * has no file or its file cannot be parsed
+     * @throws IOException if a stored file cannot be read
+     */
+    SourceDiff diffAssignmentSubmissions(Long id, Long otherId) throws IOException;
+
+    /**
+     * @param id the id of the first AssignmentSubmission
+     * @param otherId the id of the second AssignmentSubmission
+     * @param limit the maximum number of regions
+     * @return the largest regions of code both uploaded java files have in common, as line ranges in each file,
+     * or null if one of them cannot be found, has no file or its file cannot be parsed
+     */
+    MatchedRegionList findMatchedRegions(Long id, Long otherId, int limit);
+
+    /**
+     * Looks up the submissions of all other assignments through the inverted index of their winnowed hash codes
+     * @param id the id of the AssignmentSubmission
+     * @param limit the maximum number of similar submissions to return
+     * @return the most similar submissions of other assignments, or null if the AssignmentSubmission cannot be found
+     */
+    SimilarSubmissionList findSimilarSubmissions(Long id, int limit);
+
     /* 
      * A method that compares the assignment submissions with the two specified
      * id values.
@@ -0,0 +1,23 @@
+package codechecker.core.services;
+
+import codechecker.core.services.exceptions.CompareQueueFullException;
+import codechecker.core.services.util.CompareJob;
+
+/**
+ * Compare Job Service interface
+ */
+public interface CompareJobService {
+    /**
+     * @param submissionId the id of the assignment submission to be compared
+     * @param otherSubmissionId the id of the assignment submission to compare it against
+     * @return the queued compare job, to be polled by its id
+     * @throws CompareQueueFullException if the job cannot be queued because too many compares are pending
+     */
+    CompareJob submitCompareJob(Long submissionId, Long otherSubmissionId);
+
+    /**
+     * @param id of the compare job
+     * @return the compare job with the given id, or null if it does not exist or has expired
+     */
+    CompareJob findCompareJob(Long id);
+}
@@ -0,0 +1,14 @@
+package codechecker.core.services;
+
+import codechecker.core.services.util.StageMetricsList;
+
+/**
+ * Metrics Service interface
+ */
+public interface MetricsService {
+    /**
+     * @return the latencies of the stages of the compare pipeline and the sizes of the fingerprints,
+     * recorded since the application started
+     */
+    StageMetricsList findPipelineMetrics();
+}
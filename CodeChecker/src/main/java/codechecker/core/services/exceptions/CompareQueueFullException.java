@@ -0,0 +1,21 @@
+package codechecker.core.services.exceptions;
+
+/**
+ *  Compare Queue Full Exception
+ *  Thrown when a compare job is submitted while every worker is busy and the queue is full
+ */
+public class CompareQueueFullException extends RuntimeException {
+    // parameterized constructor
+    public CompareQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    // parameterized constructor
+    public CompareQueueFullException(String message) {
+        super(message);
+    }
+
+    // constructor
+    public CompareQueueFullException() {
+    }
+}
@@ -0,0 +1,21 @@
+package codechecker.core.services.exceptions;
+
+/**
+ *  File Too Large Exception
+ *  Thrown when an uploaded file, or a file of an uploaded archive, is larger than the storage accepts
+ */
+public class FileTooLargeException extends RuntimeException {
+    // parameterized constructor
+    public FileTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    // parameterized constructor
+    public FileTooLargeException(String message) {
+        super(message);
+    }
+
+    // constructor
+    public FileTooLargeException() {
+    }
+}
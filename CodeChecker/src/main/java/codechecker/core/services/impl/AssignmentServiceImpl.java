@@ -5,12 +5,31 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import codechecker.core.models.entities.Assignment;
 import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.models.entities.SubmissionFile;
 import codechecker.core.repositories.AssignmentSubmissionRepo;
 import codechecker.core.repositories.AssignmentRepo;
 import codechecker.core.services.AssignmentService;
 import codechecker.core.services.exceptions.AssignmentNotFoundException;
 import codechecker.core.services.util.AssignmentSubmissionList;
 import codechecker.core.services.util.AssignmentList;
+import codechecker.core.services.util.SimilarityMatrix;
+import codechecker.core.services.util.SubmissionFingerprint;
+import codechecker.core.services.util.SuspiciousPair;
+import codechecker.core.services.util.SuspiciousPairList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 /**
  * Assignment Service Implementation class
@@ -18,6 +37,7 @@ import codechecker.core.services.util.AssignmentList;
 @Service
 @Transactional
 public class AssignmentServiceImpl implements AssignmentService {
+    private static final int CANDIDATES_PER_TASK = 256;
 
     @Autowired
     private AssignmentRepo assignmentRepo;
@@ -25,6 +45,30 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Autowired
     private AssignmentSubmissionRepo entryRepo;
 
+    @Autowired
+    private SubmissionFingerprinter fingerprinter;
+
+    @Autowired
+    private ComparisonExecutor executor;
+
+    @Autowired
+    private MinHashBandIndex bandIndex;
+
+    @Autowired
+    private DocumentFrequencyTable frequencies;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    @Autowired
+    private StorageReleaser releaser;
+
+    @Autowired
+    private SubmissionIndex index;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
     /**
      * @param assignmentId with which the assignment submission will be created
      * @param data data which will be included in assignment submission
@@ -42,6 +86,178 @@ public class AssignmentServiceImpl implements AssignmentService {
         return entry;
     }
 
+    /**
+     * The archive is read entry by entry and each java file is streamed to the storage, so only a buffer is held in
+     * memory. Each file is stored as soon as it is read and its fingerprinting is started on the shared comparison
+     * pool, so the files read so far are parsed and normalized while the rest of the archive is still being read.
+     * Identical files are fingerprinted once. The files of a student's folder form one project submission, whose
+     * fingerprint is merged from those of its files; a single file, at the top or alone in a folder, is submitted as is.
+     * A folder shared by all student folders, such as the folder of the class, is left out of the student names.
+     * If the archive cannot be read, the files stored so far are released again.
+     * The submissions are inserted in batches once the archive is read, and indexed once their fingerprints are done.
+     * @param assignmentId of the assignment the imported assignmentSubmissions are added to
+     * @param archive the zip archive with the files of the students
+     * @return the created assignmentSubmissions in the order of the archive
+     */
+    @Override
+    public AssignmentSubmissionList importAssignmentSubmissions(Long assignmentId, InputStream archive)
+            throws IOException {
+        Assignment assignment = assignmentRepo.findAssignment(assignmentId);
+        if(assignment == null)
+        {
+            throw new AssignmentNotFoundException();
+        }
+
+        long start = System.nanoTime();
+        List<SubmissionFile> archived = new ArrayList<SubmissionFile>();
+        Map<String, Future<SubmissionFingerprint>> pending = new HashMap<String, Future<SubmissionFingerprint>>();
+        List<AssignmentSubmission> entries = new ArrayList<AssignmentSubmission>();
+        boolean read = false;
+        try {
+            ZipInputStream zip = new ZipInputStream(archive);
+            for(ZipEntry zipEntry = zip.getNextEntry(); zipEntry != null; zipEntry = zip.getNextEntry()) {
+                if(!isSubmissionFile(zipEntry)) {
+                    continue;
+                }
+                String contentHash = storage.store(zip);
+                if(!pending.containsKey(contentHash)) {
+                    pending.put(contentHash, fingerprinter.submit(contentHash));
+                }
+                archived.add(new SubmissionFile(zipEntry.getName(), contentHash));
+            }
+            metrics.recordSince("import.read", start);
+
+            // an archive of a whole class often has one folder around the folders of the students
+            String root = sharedRoot(archived);
+            Map<String, List<SubmissionFile>> students = new LinkedHashMap<String, List<SubmissionFile>>();
+            for(SubmissionFile file : archived) {
+                String name = file.getPath().substring(root.length());
+                int slash = name.indexOf('/');
+                String student = slash < 0 ? name.substring(0, name.length() - ".java".length())
+                        : name.substring(0, slash);
+                List<SubmissionFile> files = students.get(student);
+                if(files == null) {
+                    files = new ArrayList<SubmissionFile>();
+                    students.put(student, files);
+                }
+                files.add(new SubmissionFile(slash < 0 ? name : name.substring(slash + 1), file.getContentHash()));
+            }
+
+            for(Map.Entry<String, List<SubmissionFile>> student : students.entrySet()) {
+                List<SubmissionFile> files = student.getValue();
+                List<SubmissionFingerprint> fingerprints = new ArrayList<SubmissionFingerprint>(files.size());
+                for(SubmissionFile file : files) {
+                    fingerprints.add(executor.get(pending.get(file.getContentHash())));
+                }
+                AssignmentSubmission entry = new AssignmentSubmission();
+                entry.setTitle(student.getKey());
+                entry.setAssignment(assignment);
+                SubmissionFingerprint fingerprint;
+                if(files.size() == 1) {
+                    entry.setContentHash(files.get(0).getContentHash());
+                    entry.setAssociatedFile(storage.file(entry.getContentHash()));
+                    fingerprint = fingerprints.get(0);
+                } else {
+                    Collections.sort(files, new Comparator<SubmissionFile>() {
+                        @Override
+                        public int compare(SubmissionFile file, SubmissionFile other) {
+                            return file.getPath().compareTo(other.getPath());
+                        }
+                    });
+                    entry.setFiles(files);
+                    entry.setContentHash(storage.projectHash(files));
+                    fingerprint = FingerprintMerger.mergeFiles(fingerprints);
+                }
+                if(fingerprint != null) {
+                    fingerprinter.cache(entry, fingerprint);
+                }
+                entries.add(entry);
+            }
+            read = true;
+        } finally {
+            for(Future<SubmissionFingerprint> future : pending.values()) {
+                future.cancel(true);
+            }
+            if(!read) {
+                // the files stored before the import failed belong to no submission
+                for(String contentHash : pending.keySet()) {
+                    releaser.release(contentHash);
+                }
+            }
+        }
+
+        entryRepo.createAssignmentSubmissions(entries);
+        // the imported submissions are indexed as one segment, synced once
+        List<Long> indexedIds = new ArrayList<Long>(entries.size());
+        List<SubmissionFingerprint> indexed = new ArrayList<SubmissionFingerprint>(entries.size());
+        for(AssignmentSubmission entry : entries) {
+            if(entry.getTokenHashCodes() != null) {
+                SubmissionFingerprint fingerprint =
+                        new SubmissionFingerprint(entry.getNodeHashCodes(), entry.getTokenHashCodes());
+                indexedIds.add(entry.getId());
+                indexed.add(fingerprint);
+                frequencies.count(entry.getId(), assignmentId, fingerprint);
+            }
+        }
+        index.index(indexedIds, assignmentId, indexed);
+        metrics.recordSince("import", start);
+        metrics.record("import.submissions", "submissions", entries.size());
+        return new AssignmentSubmissionList(assignmentId, entries);
+    }
+
+    /**
+     * The starter code is normalized by the same pipeline as the submissions, once, and its fingerprints are kept on
+     * the assignment. Its members are numbered on their own, as those of the submissions are, so every member of the
+     * starter code hashes the same in a submission that extends it, whatever was added around it. The submissions already uploaded are fingerprinted again without it, which reuses the stored
+     * fingerprints of their files, and are indexed and counted in the DocumentFrequencyTable again.
+     * @param assignmentId of the assignment the starter code is handed out with
+     * @param content of the starter code file
+     * @return the assignment with the fingerprints of its starter code, or null if the starter code can't be parsed
+     */
+    @Override
+    public Assignment uploadStarterCode(Long assignmentId, InputStream content) throws IOException {
+        Assignment assignment = assignmentRepo.findAssignment(assignmentId);
+        if(assignment == null)
+        {
+            throw new AssignmentNotFoundException();
+        }
+        String contentHash = storage.store(content);
+        SubmissionFingerprint starterCode = executor.get(fingerprinter.submit(contentHash));
+        if(starterCode == null) {
+            releaser.release(contentHash);
+            return null;
+        }
+
+        long start = System.nanoTime();
+        String previousHash = assignment.getStarterCodeHash();
+        assignment.setStarterCodeHash(contentHash);
+        assignment.setStarterNodeHashCodes(starterCode.getNodeHashCodes());
+        assignment.setStarterTokenHashCodes(starterCode.getTokenHashCodes());
+        List<AssignmentSubmission> entries = entryRepo.findByAssignmentId(assignmentId);
+        for(AssignmentSubmission entry : entries) {
+            fingerprinter.cache(entry, null);
+        }
+        List<SubmissionFingerprint> fingerprints = fingerprinter.getAvailableFingerprints(entries);
+        List<Long> indexedIds = new ArrayList<Long>(entries.size());
+        List<SubmissionFingerprint> indexed = new ArrayList<SubmissionFingerprint>(entries.size());
+        for(int i = 0; i < entries.size(); i++) {
+            if(fingerprints.get(i) != null) {
+                indexedIds.add(entries.get(i).getId());
+                indexed.add(fingerprints.get(i));
+                frequencies.count(entries.get(i).getId(), assignmentId, fingerprints.get(i));
+            } else {
+                index.remove(entries.get(i).getId());
+                frequencies.remove(entries.get(i).getId());
+            }
+        }
+        index.index(indexedIds, assignmentId, indexed);
+        metrics.recordSince("starterCode.refresh", start);
+        if(previousHash != null && !previousHash.equals(contentHash)) {
+            releaser.release(previousHash);
+        }
+        return assignment;
+    }
+
     /**
      * find all assignments method
      */
@@ -77,4 +293,198 @@ public class AssignmentServiceImpl implements AssignmentService {
     public Assignment findAssignmentByAssignmentName(String name) {
         return assignmentRepo.findAssignmentByTitle(name);
     }
+
+    /*
+     * Function to find the folders that hold every file of an archive, as long as each file stays in a student's folder
+     * below them, so an archive with a single folder around the folders of the students is imported like one without
+     */
+    private static String sharedRoot(List<SubmissionFile> files) {
+        String root = "";
+        while(!files.isEmpty()) {
+            String folder = null;
+            for(SubmissionFile file : files) {
+                String path = file.getPath().substring(root.length());
+                int slash = path.indexOf('/');
+                if(slash < 0 || path.indexOf('/', slash + 1) < 0
+                        || folder != null && !folder.equals(path.substring(0, slash + 1))) {
+                    return root;
+                }
+                folder = path.substring(0, slash + 1);
+            }
+            root += folder;
+        }
+        return root;
+    }
+
+    /*
+     * Function to tell the java files of the students from folders and from the files archivers add, like __MACOSX
+     */
+    private static boolean isSubmissionFile(ZipEntry zipEntry) {
+        String name = zipEntry.getName();
+        if(zipEntry.isDirectory() || !name.endsWith(".java")) {
+            return false;
+        }
+        for(String segment : name.split("/")) {
+            if(segment.startsWith(".") || segment.equals("__MACOSX")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param assignmentId of the assignment whose submissions will be compared with each other
+     * @return the similarity matrix of all submissions of the assignment with a parsable uploaded file
+     */
+    @Override
+    public SimilarityMatrix computeSimilarityMatrix(Long assignmentId) {
+        return computeSimilarityMatrix(assignmentId, false);
+    }
+
+    /**
+     * The weights of the hash codes are taken from the document frequency table of the assignment, updated with the
+     * submissions uploaded since the last matrix, and computed once per submission before the pairs are compared.
+     * @param assignmentId of the assignment whose submissions will be compared with each other
+     * @return the weighted similarity matrix of all submissions of the assignment with a parsable uploaded file
+     */
+    @Override
+    public SimilarityMatrix computeWeightedSimilarityMatrix(Long assignmentId) {
+        return computeSimilarityMatrix(assignmentId, true);
+    }
+
+    /*
+     * Function to compare every pair of submissions of the assignment, with or without weighing their hash codes
+     */
+    private SimilarityMatrix computeSimilarityMatrix(Long assignmentId, final boolean weighted) {
+        Assignment assignment = assignmentRepo.findAssignment(assignmentId);
+        if(assignment == null)
+        {
+            throw new AssignmentNotFoundException();
+        }
+
+        // every submission is normalized at most once, the fingerprints are cached on the entity
+        List<AssignmentSubmission> entries = entryRepo.findByAssignmentId(assignmentId);
+        List<SubmissionFingerprint> available = fingerprinter.getAvailableFingerprints(entries);
+        List<Long> submissionIds = new ArrayList<Long>();
+        final List<SubmissionFingerprint> fingerprints = new ArrayList<SubmissionFingerprint>();
+        final List<String> contentHashes = new ArrayList<String>();
+        for(int i = 0; i < entries.size(); i++) {
+            // submissions without a parsable uploaded file are left out of the matrix
+            if(available.get(i) != null) {
+                submissionIds.add(entries.get(i).getId());
+                fingerprints.add(available.get(i));
+                contentHashes.add(entries.get(i).getContentHash());
+            }
+        }
+
+        final List<WeightedFingerprint> weightedFingerprints = new ArrayList<WeightedFingerprint>();
+        if(weighted) {
+            long start = System.nanoTime();
+            Map<Long, SubmissionFingerprint> bySubmission = new HashMap<Long, SubmissionFingerprint>();
+            for(int i = 0; i < submissionIds.size(); i++) {
+                bySubmission.put(submissionIds.get(i), fingerprints.get(i));
+            }
+            Map<Long, WeightedFingerprint> weights = frequencies.weigh(assignmentId, bySubmission);
+            for(Long submissionId : submissionIds) {
+                weightedFingerprints.add(weights.get(submissionId));
+            }
+            metrics.recordSince("matrix.weigh", start);
+        }
+
+        // the matrix is symmetric, so each row task only computes the cells right of the diagonal
+        final int size = fingerprints.size();
+        final double[][] similarityPercents = new double[size][size];
+        List<Callable<Void>> rows = new ArrayList<Callable<Void>>(size);
+        for(int i = 0; i < size; i++) {
+            final int row = i;
+            rows.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    SimilarityPercentGenerator spg = new SimilarityPercentGenerator();
+                    for(int column = row; column < size; column++) {
+                        // identical uploads are 100% similar, without looking at their fingerprints
+                        double percent;
+                        if(contentHashes.get(row) != null && contentHashes.get(row).equals(contentHashes.get(column))) {
+                            percent = 100;
+                        } else if(weighted) {
+                            percent = spg.getWeightedSimilarityPercent(weightedFingerprints.get(row),
+                                    weightedFingerprints.get(column));
+                        } else {
+                            percent = spg.getSimilarityPercent(fingerprints.get(row), fingerprints.get(column));
+                        }
+                        similarityPercents[row][column] = percent;
+                        similarityPercents[column][row] = percent;
+                    }
+                    return null;
+                }
+            });
+        }
+        executor.invokeAll(rows);
+
+        return new SimilarityMatrix(assignmentId, submissionIds, similarityPercents, weighted);
+    }
+
+    /**
+     * Only the candidate pairs found by the MinHash band index of the assignment are compared exactly,
+     * instead of every pair of submissions. The bands are chosen from the threshold, so a pair at the threshold is
+     * found with a probability of at least MinHashBandIndex.RECALL, and more similar pairs with a higher one.
+     * @param assignmentId of the assignment whose submissions will be searched for similar pairs
+     * @param threshold the minimum Jaccard index of a suspicious pair
+     * @return the suspicious pairs, the most similar pair first
+     */
+    @Override
+    public SuspiciousPairList findSuspiciousPairs(Long assignmentId, double threshold) {
+        Assignment assignment = assignmentRepo.findAssignment(assignmentId);
+        if(assignment == null)
+        {
+            throw new AssignmentNotFoundException();
+        }
+
+        List<AssignmentSubmission> entries = entryRepo.findByAssignmentId(assignmentId);
+        List<SubmissionFingerprint> available = fingerprinter.getAvailableFingerprints(entries);
+        final Map<Long, SubmissionFingerprint> fingerprints = new HashMap<Long, SubmissionFingerprint>();
+        Map<Long, long[]> signatures = new HashMap<Long, long[]>();
+        for(int i = 0; i < entries.size(); i++) {
+            if(available.get(i) != null) {
+                fingerprints.put(entries.get(i).getId(), available.get(i));
+                signatures.put(entries.get(i).getId(), entries.get(i).getMinHashSignature());
+            }
+        }
+
+        final List<long[]> candidates = bandIndex.findCandidatePairs(assignmentId, signatures, threshold);
+        final double minimum = threshold;
+        List<Callable<List<SuspiciousPair>>> tasks = new ArrayList<Callable<List<SuspiciousPair>>>();
+        for(int start = 0; start < candidates.size(); start += CANDIDATES_PER_TASK) {
+            final int from = start;
+            final int to = Math.min(start + CANDIDATES_PER_TASK, candidates.size());
+            tasks.add(new Callable<List<SuspiciousPair>>() {
+                @Override
+                public List<SuspiciousPair> call() {
+                    SimilarityPercentGenerator spg = new SimilarityPercentGenerator();
+                    List<SuspiciousPair> found = new ArrayList<SuspiciousPair>();
+                    for(long[] candidate : candidates.subList(from, to)) {
+                        SubmissionFingerprint first = fingerprints.get(candidate[0]);
+                        SubmissionFingerprint second = fingerprints.get(candidate[1]);
+                        if(spg.getJaccardIndex(first.getNodeHashCodes(), second.getNodeHashCodes()) >= minimum) {
+                            found.add(new SuspiciousPair(candidate[0], candidate[1],
+                                    spg.getSimilarityPercent(first, second)));
+                        }
+                    }
+                    return found;
+                }
+            });
+        }
+
+        List<SuspiciousPair> pairs = new ArrayList<SuspiciousPair>();
+        for(List<SuspiciousPair> found : executor.invokeAll(tasks)) {
+            pairs.addAll(found);
+        }
+        Collections.sort(pairs, new Comparator<SuspiciousPair>() {
+            @Override
+            public int compare(SuspiciousPair pair, SuspiciousPair other) {
+                return Double.compare(other.getSimilarityPercent(), pair.getSimilarityPercent());
+            }
+        });
+        return new SuspiciousPairList(assignmentId, threshold, pairs);
+    }
 }
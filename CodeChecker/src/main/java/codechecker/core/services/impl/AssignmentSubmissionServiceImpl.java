@@ -1,21 +1,28 @@
 package codechecker.core.services.impl;
 
-import codechecker.core.services.impl.visitors.*;
-import com.github.javaparser.JavaParser;
-import com.github.javaparser.ast.CompilationUnit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.models.entities.SubmissionFile;
 import codechecker.core.repositories.AssignmentSubmissionRepo;
 import codechecker.core.services.AssignmentSubmissionService;
+import codechecker.core.services.util.DiffHunk;
+import codechecker.core.services.util.MatchedRegion;
+import codechecker.core.services.util.MatchedRegionList;
+import codechecker.core.services.util.SimilarSubmission;
+import codechecker.core.services.util.SimilarSubmissionList;
+import codechecker.core.services.util.SourceDiff;
+import codechecker.core.services.util.SubmissionFingerprint;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
-import  org.apache.commons.io.FileUtils;
 
 /**
  * Assignment Submission Service Implementation class
@@ -27,6 +34,27 @@ public class AssignmentSubmissionServiceImpl implements AssignmentSubmissionServ
     @Autowired
     private AssignmentSubmissionRepo entryRepo;
 
+    @Autowired
+    private SubmissionFingerprinter fingerprinter;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    @Autowired
+    private SubmissionIndex index;
+
+    @Autowired
+    private DocumentFrequencyTable frequencies;
+
+    @Autowired
+    private StorageReleaser releaser;
+
+    @Autowired
+    private SubmissionDiffer differ;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
     /**
      * @param id with which the assignmentSubmission will be found
      * @return the found assignmentSubmission with given id
@@ -42,7 +70,21 @@ public class AssignmentSubmissionServiceImpl implements AssignmentSubmissionServ
      */
     @Override
     public AssignmentSubmission deleteAssignmentSubmission(Long id) {
-        return entryRepo.deleteAssignmentSubmission(id);
+        AssignmentSubmission entry = entryRepo.findAssignmentSubmission(id);
+        if(entry != null) {
+            // the files of a project are read before they are removed with the submission
+            List<SubmissionFile> files = new ArrayList<SubmissionFile>(entry.getFiles());
+            entryRepo.deleteAssignmentSubmission(id);
+            try {
+                index.remove(id);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            frequencies.remove(id);
+            releaser.release(entry.getContentHash());
+            releaser.release(files);
+        }
+        return entry;
     }
 
     /**
@@ -56,127 +98,177 @@ public class AssignmentSubmissionServiceImpl implements AssignmentSubmissionServ
     }
 
     /**
-     * @param assignmentId with which the assignmentSubmission will be compared
-     * @param otherAssignmentId of assignmentSubmission to be compared against
-     * @return the checked assignmentSubmission of the given two assignmentIds
+     * @param id of the assignmentSubmission the uploaded file belongs to
+     * @param content of the uploaded file, streamed to the storage without being held in memory
+     * @return the assignmentSubmission with its cached hash codes recomputed, or null if it can't be found
      */
     @Override
-    public String compareAssignmentSubmissions(Long assignmentId, Long otherAssignmentId) {
-        FileInputStream in1;
-        FileInputStream in2;
-        String similarityPercent="0";
-
-        try {
-			/*
-			 * Below is sample code until the following code is functional:
-			 *  in1 = new FileInputStream(firstSubmission.getAssociatedFile());
-			 *  in2 = new FileInputStream(secondSubmission.getAssociatedFile());
-			 */
-            in1 = new FileInputStream(new File("src//main//webapp//app//app//upload//"+assignmentId+".java"));
-            in2 = new FileInputStream(new File("src//main//webapp//app//app//upload//"+otherAssignmentId+".java"));
-
-            // parse the file
-            CompilationUnit cu1 = JavaParser.parse(in1);
-            CompilationUnit cu2 = JavaParser.parse(in2);
-
-	        /*
-	         * Visitors for removal of comments and obtaining the hash codes
-	         */
-            CommentRemovalVisitor crv1 = new CommentRemovalVisitor();
-            CommentRemovalVisitor crv2 = new CommentRemovalVisitor();
-
-            FunctionOrderingVisitor nov1 = new FunctionOrderingVisitor();
-            FunctionOrderingVisitor nov2 = new FunctionOrderingVisitor();
-
-            VariableOrderingInClassVisitor vov1 = new VariableOrderingInClassVisitor();
-            VariableOrderingInClassVisitor vov2 = new VariableOrderingInClassVisitor();
-
-            VariableOrderInMethodVisitor vomv1 = new VariableOrderInMethodVisitor();
-            VariableOrderInMethodVisitor vomv2 = new VariableOrderInMethodVisitor();
-
-            FunctionStandardizationVisitor fsv1 = new FunctionStandardizationVisitor();
-            FunctionStandardizationVisitor fsv2 = new FunctionStandardizationVisitor();
-
-            VariableStandardizationVisitor vsv1 = new VariableStandardizationVisitor();
-            VariableStandardizationVisitor vsv2 = new VariableStandardizationVisitor();
-
-            VariableDatatypeVisitor vdv1 = new VariableDatatypeVisitor();
-            VariableDatatypeVisitor vdv2 = new VariableDatatypeVisitor();
-
-            MethodVisitor mv1 = new MethodVisitor();
-            MethodVisitor mv2 = new MethodVisitor();
-
-            FieldDatatypeVisitor fdv1 = new FieldDatatypeVisitor();
-            FieldDatatypeVisitor fdv2 = new FieldDatatypeVisitor();
-
-            HashCodeVisitor hcv1 = new HashCodeVisitor();
-            HashCodeVisitor hcv2 = new HashCodeVisitor();
-
-            ConstructorVisitor cv1 = new ConstructorVisitor();
-            ConstructorVisitor cv2 = new ConstructorVisitor();
-
-            ObjectDatatypeVisitor odv1 = new ObjectDatatypeVisitor();
-            ObjectDatatypeVisitor odv2 = new ObjectDatatypeVisitor();
-
-            cu1.accept(crv1, null); //All the nodes in the AST generated from the first submission are visited and the nodes identified as comments are removed
-            cu2.accept(crv2, null); //All the nodes in the AST generated from the second submission are visited and the nodes identified as comments are removed
-
-            // orders Nodes in such a way that the variable declaration is done at the last in classes
-            cu1.accept(vov1, null);
-            cu2.accept(vov2, null);
-
-            // order Nodes by Data type in each Bloack Statement
-            cu1.accept(vomv1, null);
-            cu2.accept(vomv2, null);
+    public AssignmentSubmission uploadAssignmentSubmission(Long id, InputStream content) throws IOException {
+        AssignmentSubmission entry = entryRepo.findAssignmentSubmission(id);
+        if(entry == null) {
+            return null;
+        }
+        String previousHash = entry.getContentHash();
+        long start = System.nanoTime();
+        String contentHash = storage.store(content);
+        metrics.recordSince("storage.upload", start);
+        metrics.record("upload.size", "bytes", storage.file(contentHash).length());
+        entry.setContentHash(contentHash);
+        entry.setAssociatedFile(storage.file(contentHash));
+        // an upload replaces the files of a project with the uploaded file
+        List<SubmissionFile> previousFiles = new ArrayList<SubmissionFile>(entry.getFiles());
+        entry.getFiles().clear();
+        fingerprinter.refresh(entry, previousHash);
+        if(entry.getTokenHashCodes() != null) {
+            Long assignmentId = entry.getAssignment() == null ? null : entry.getAssignment().getId();
+            SubmissionFingerprint fingerprint =
+                    new SubmissionFingerprint(entry.getNodeHashCodes(), entry.getTokenHashCodes());
+            index.index(id, assignmentId, fingerprint);
+            frequencies.count(id, assignmentId, fingerprint);
+        } else {
+            index.remove(id);
+            frequencies.remove(id);
+        }
+        if(previousHash != null && !previousHash.equals(contentHash)) {
+            releaser.release(previousHash);
+        }
+        releaser.release(previousFiles);
+        return entry;
+    }
 
-//            Standardizes variable naming
-            cu1.accept(vsv1, null);
-            cu2.accept(vsv2, null);
+    /**
+     * @param id of the assignmentSubmission
+     * @return the content of the uploaded file, or null if the assignmentSubmission can't be found or has no file
+     */
+    @Override
+    public byte[] findAssignmentSubmissionSource(Long id) throws IOException {
+        AssignmentSubmission entry = entryRepo.findAssignmentSubmission(id);
+        if(entry == null || !storage.contains(entry.getContentHash())) {
+            return null;
+        }
+        return storage.read(entry.getContentHash());
+    }
 
-            //Standardizes all datatypes
-            cu1.accept(vdv1, null);
-            cu2.accept(vdv2, null);
-            cu1.accept(mv1, null);
-            cu2.accept(mv2, null);
-            cu1.accept(fdv1, null);
-            cu2.accept(fdv2, null);
-            cu1.accept(cv1, null);
-            cu2.accept(cv2, null);
-            cu1.accept(odv1, null);
-            cu2.accept(odv2, null);
+    /**
+     * @param id of the assignmentSubmission
+     * @return the normalized uploaded file, generated on the first request for its content,
+     * or null if the assignmentSubmission can't be found, has no file or its file can't be parsed
+     */
+    @Override
+    public byte[] findAssignmentSubmissionTransformedSource(Long id) throws IOException {
+        AssignmentSubmission entry = entryRepo.findAssignmentSubmission(id);
+        if(entry == null || !storage.contains(entry.getContentHash())) {
+            return null;
+        }
+        return fingerprinter.getTransformedSource(entry.getContentHash());
+    }
 
-            //Order nodes in on the basis of number of variables, number of parameters, and the return type
-            cu1.accept(nov1, null);
-            cu2.accept(nov2, null);
+    /**
+     * @param id of the first assignmentSubmission
+     * @param otherId of the second assignmentSubmission
+     * @return the diff of their normalized uploaded files,
+     * or null if one of them can't be found, has no file or its file can't be parsed
+     */
+    @Override
+    public SourceDiff diffAssignmentSubmissions(Long id, Long otherId) throws IOException {
+        AssignmentSubmission entry = entryRepo.findAssignmentSubmission(id);
+        AssignmentSubmission otherEntry = entryRepo.findAssignmentSubmission(otherId);
+        if(entry == null || otherEntry == null
+                || !storage.contains(entry.getContentHash()) || !storage.contains(otherEntry.getContentHash())) {
+            return null;
+        }
+        List<DiffHunk> hunks = differ.diff(entry.getContentHash(), otherEntry.getContentHash());
+        return hunks == null ? null : new SourceDiff(id, otherId, hunks);
+    }
 
-            //Standardizes function naming
-            cu1.accept(fsv1, null);
-            cu2.accept(fsv2, null);
-            
-            cu1.accept(hcv1, null); //All the nodes in the AST generated from the first submission are visited.
-            cu2.accept(hcv2, null); //All the nodes in the AST generated from the second submission are visited.
+    /**
+     * @param id of the first assignmentSubmission
+     * @param otherId of the second assignmentSubmission
+     * @param limit the maximum number of regions
+     * @return the largest matching regions of their uploaded files, found from the fingerprints cached at upload,
+     * or null if one of them can't be found, has no file or its file can't be parsed
+     */
+    @Override
+    public MatchedRegionList findMatchedRegions(Long id, Long otherId, int limit) {
+        AssignmentSubmission entry = entryRepo.findAssignmentSubmission(id);
+        AssignmentSubmission otherEntry = entryRepo.findAssignmentSubmission(otherId);
+        if(entry == null || otherEntry == null) {
+            return null;
+        }
+        List<SubmissionFingerprint> fingerprints =
+                fingerprinter.getAvailableFingerprints(Arrays.asList(entry, otherEntry));
+        if(fingerprints.get(0) == null || fingerprints.get(1) == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        List<MatchedRegion> regions =
+                new MatchedRegionFinder().getMatchedRegions(fingerprints.get(0), fingerprints.get(1), limit);
+        metrics.recordSince("matches", start);
+        return new MatchedRegionList(id, otherId, limit, regions);
+    }
 
+    /**
+     * @param id of the assignmentSubmission
+     * @param limit the maximum number of similar submissions
+     * @return the most similar submissions of other assignments, or null if the assignmentSubmission can't be found
+     */
+    @Override
+    public SimilarSubmissionList findSimilarSubmissions(Long id, int limit) {
+        AssignmentSubmission entry = entryRepo.findAssignmentSubmission(id);
+        if(entry == null) {
+            return null;
+        }
+        SubmissionFingerprint fingerprint =
+                fingerprinter.getAvailableFingerprints(Collections.singletonList(entry)).get(0);
+        if(fingerprint == null) {
+            return new SimilarSubmissionList(id, limit, Collections.<SimilarSubmission>emptyList());
+        }
+        Long assignmentId = entry.getAssignment() == null ? null : entry.getAssignment().getId();
+        return new SimilarSubmissionList(id, limit, index.findSimilar(id, assignmentId, fingerprint, limit));
+    }
 
-            // save transformed files to be displayed
-            try {
-                FileUtils.writeStringToFile(
-                        new File("src//main//webapp//app//app//upload//"+assignmentId+"_transformed.java"), cu1.toString());
-                FileUtils.writeStringToFile(
-                        new File("src//main//webapp//app//app//upload//"+otherAssignmentId+"_transformed.java"), cu2.toString());
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+    /**
+     * @param assignmentId with which the assignmentSubmission will be compared
+     * @param otherAssignmentId of assignmentSubmission to be compared against
+     * @return the checked assignmentSubmission of the given two assignmentIds
+     */
+    @Override
+    public String compareAssignmentSubmissions(Long assignmentId, Long otherAssignmentId) {
+        String similarityPercent="0";
+        long compareStart = System.nanoTime();
+
+        // identical uploads are 100% similar, without looking at their fingerprints
+        AssignmentSubmission entry = entryRepo.findAssignmentSubmission(assignmentId);
+        AssignmentSubmission otherEntry = entryRepo.findAssignmentSubmission(otherAssignmentId);
+        metrics.recordSince("compare.lookup", compareStart);
+        if(entry != null && otherEntry != null && entry.getContentHash() != null
+                && entry.getContentHash().equals(otherEntry.getContentHash())) {
+            metrics.recordSince("compare.total", compareStart);
+            return String.format("%.2f", 100.0);
+        }
 
+        try {
+            /*
+             * The normalized fingerprints are cached at upload time, so a compare only parses
+             * submissions that were never fingerprinted. Both of those are normalized concurrently.
+             */
+            long start = System.nanoTime();
+            List<SubmissionFingerprint> fingerprints =
+                    fingerprinter.getFingerprints(Arrays.asList(assignmentId, otherAssignmentId));
+            metrics.recordSince("compare.fingerprints", start);
 
 	        /*
 	        * SimilarityPercentGenerator will calculate the percentage based on the similarity of the two programs.
 	        */
+            start = System.nanoTime();
             SimilarityPercentGenerator spg = new SimilarityPercentGenerator();
-            similarityPercent = String.format("%.2f", spg.getSimilarityPercent(hcv1, hcv2)); //Converted to string to display the percent rounded off to two decimal places
+            similarityPercent = String.format("%.2f", spg.getSimilarityPercent(fingerprints.get(0), fingerprints.get(1))); //Converted to string to display the percent rounded off to two decimal places
+            metrics.recordSince("compare.similarity", start);
 
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         }
+        metrics.recordSince("compare.total", compareStart);
         return similarityPercent;
     }
 }
@@ -0,0 +1,144 @@
+package codechecker.core.services.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import codechecker.core.services.AssignmentSubmissionService;
+import codechecker.core.services.CompareJobService;
+import codechecker.core.services.exceptions.CompareQueueFullException;
+import codechecker.core.services.util.CompareJob;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compare Job Service Implementation class
+ * Runs compares on a bounded pool of workers with a bounded queue, so a burst of compares waits in the queue
+ * instead of holding servlet threads, and is refused once the queue is full.
+ * Jobs are kept in memory and forgotten some time after they have finished, checked every minute.
+ */
+@Service
+public class CompareJobServiceImpl implements CompareJobService, DisposableBean {
+    private static final int WORKERS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long RETENTION_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final Log LOG = LogFactory.getLog(CompareJobServiceImpl.class);
+
+    @Autowired
+    private AssignmentSubmissionService submissionService;
+
+    private final AtomicLong nextId = new AtomicLong();
+
+    private final Map<Long, CompareJob> jobs = new ConcurrentHashMap<Long, CompareJob>();
+
+    private final ThreadPoolExecutor workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "compare-job-worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+    // forgets finished jobs even while no new job is submitted
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "compare-job-purger");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * Compare Job Service Implementation constructor
+     */
+    public CompareJobServiceImpl() {
+        purger.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                purgeExpiredJobs();
+            }
+        }, PURGE_INTERVAL_MILLIS, PURGE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param submissionId the id of the assignment submission to be compared
+     * @param otherSubmissionId the id of the assignment submission to compare it against
+     * @return the queued compare job
+     */
+    @Override
+    public CompareJob submitCompareJob(Long submissionId, Long otherSubmissionId) {
+        purgeExpiredJobs();
+        final CompareJob job = new CompareJob(nextId.incrementAndGet(), submissionId, otherSubmissionId);
+        jobs.put(job.getId(), job);
+        try {
+            workers.execute(new Runnable() {
+                @Override
+                public void run() {
+                    job.start();
+                    try {
+                        job.complete(submissionService.compareAssignmentSubmissions(
+                                job.getSubmissionId(), job.getOtherSubmissionId()));
+                    } catch (RuntimeException e) {
+                        // the details stay in the log, clients only see that the compare failed
+                        LOG.error("Compare job " + job.getId() + " failed", e);
+                        job.fail("The submissions could not be compared");
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new CompareQueueFullException("Too many compare jobs are pending", e);
+        }
+        return job;
+    }
+
+    /**
+     * @param id of the compare job
+     * @return the compare job with the given id, or null if it can't be found
+     */
+    @Override
+    public CompareJob findCompareJob(Long id) {
+        return jobs.get(id);
+    }
+
+    /*
+     * Forgets the jobs that finished longer ago than the retention period
+     */
+    private void purgeExpiredJobs() {
+        long expiredBefore = System.currentTimeMillis() - RETENTION_MILLIS;
+        Iterator<CompareJob> iterator = jobs.values().iterator();
+        while(iterator.hasNext()) {
+            CompareJob job = iterator.next();
+            if(job.getFinishedAt() != 0 && job.getFinishedAt() < expiredBefore) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Stops the workers and the purger when the application context is closed
+     */
+    @Override
+    public void destroy() {
+        purger.shutdownNow();
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,96 @@
+package codechecker.core.services.impl;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded thread pool shared by the comparison services, sized to the number of cores.
+ * The tasks it runs are pure CPU work on already loaded data; entities are never touched off the request thread.
+ */
+@Component
+public class ComparisonExecutor implements DisposableBean {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "comparison-worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    /**
+     * @param tasks to run on the pool
+     * @return the results of the tasks, in the order the tasks were given
+     * @throws RuntimeException rethrown from the first task that failed
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+        for(Callable<T> task : tasks) {
+            futures.add(pool.submit(task));
+        }
+        List<T> results = new ArrayList<T>(tasks.size());
+        try {
+            for(Future<T> future : futures) {
+                results.add(get(future));
+            }
+        } finally {
+            for(Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Starts a task on the pool, for callers that keep working while it runs
+     * @param task to run on the pool
+     * @return the pending result of the task, to be waited for with get
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return pool.submit(task);
+    }
+
+    /**
+     * @param future of a task started with submit
+     * @return the result of the task, once it is done
+     * @throws RuntimeException rethrown from the task if it failed
+     */
+    public <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for comparison tasks", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if(e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Stops the pool when the application context is closed
+     */
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
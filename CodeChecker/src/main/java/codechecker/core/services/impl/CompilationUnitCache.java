@@ -0,0 +1,176 @@
+package codechecker.core.services.impl;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of the parsed and of the normalized compilation units of the stored files, shared by the services,
+ * so a file viewed or compared again shortly after it was uploaded is not parsed again.
+ *
+ * Units are kept by the content hash of their file, so identical uploads share them and a re-upload never finds the
+ * unit of the previous file. Each kind of unit is a least recently used list weighed by the estimated heap size of
+ * its ASTs: a unit is weighed by its number of nodes, and the least recently used units are evicted once the weight
+ * of all units exceeds the budget, so a few very large submissions cannot push the heap over it.
+ * Hits, misses and evictions are recorded in the PipelineMetrics as cache.parsed.* and cache.normalized.*.
+ *
+ * Cached units are shared between threads and must not be modified: copy returns a unit to normalize in place.
+ * The budget is configured in business-config.xml.
+ */
+public class CompilationUnitCache {
+
+    // a rough estimate of the heap size of a parsed node, with its range and its share of the tokens
+    private static final long BYTES_PER_NODE = 256;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    private long maxWeight;
+
+    private final WeighedUnits parsed = new WeighedUnits("cache.parsed");
+
+    private final WeighedUnits normalized = new WeighedUnits("cache.normalized");
+
+    /**
+     * @param maxWeight the estimated heap size in bytes each of the parsed and the normalized units may take
+     */
+    public void setMaxWeight(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * @param contentHash of the stored file
+     * @return the parsed file, shared and not to be modified
+     * @throws IOException if the stored file cannot be read
+     * @throws com.github.javaparser.ParseProblemException if the file cannot be parsed
+     */
+    public CompilationUnit getParsed(String contentHash) throws IOException {
+        CompilationUnit cu = parsed.get(contentHash);
+        if(cu == null) {
+            long start = System.nanoTime();
+            byte[] content = storage.read(contentHash);
+            metrics.recordSince("storage.read", start);
+
+            start = System.nanoTime();
+            cu = JavaParser.parse(new ByteArrayInputStream(content));
+            metrics.recordParse(start, content.length);
+            parsed.put(contentHash, cu);
+        }
+        return cu;
+    }
+
+    /**
+     * @param contentHash of the stored file
+     * @return the file normalized member by member as it is fingerprinted, shared and not to be modified
+     * @throws IOException if the stored file cannot be read
+     * @throws com.github.javaparser.ParseProblemException if the file cannot be parsed
+     */
+    public CompilationUnit getNormalized(String contentHash) throws IOException {
+        CompilationUnit cu = normalized.get(contentHash);
+        if(cu == null) {
+            cu = new MemberFingerprinter(metrics).normalize(copy(getParsed(contentHash)));
+            normalized.put(contentHash, cu);
+        }
+        return cu;
+    }
+
+    /**
+     * Copies a cached unit to be modified, keeping the positions of its nodes in the file
+     * @param cu the unit to copy
+     * @return the copy
+     */
+    public static CompilationUnit copy(CompilationUnit cu) {
+        CompilationUnit copy = cu.clone();
+        copyRanges(cu, copy);
+        return copy;
+    }
+
+    /*
+     * Function to give the nodes of a copy the ranges of the nodes they were copied from, where the copy has none
+     */
+    private static void copyRanges(Node node, Node copy) {
+        if(!copy.getRange().isPresent() && node.getRange().isPresent()) {
+            copy.setRange(node.getRange().get());
+        }
+        List<Node> children = node.getChildNodes();
+        List<Node> copiedChildren = copy.getChildNodes();
+        if(children.size() != copiedChildren.size()) {
+            return;
+        }
+        for(int i = 0; i < children.size(); i++) {
+            if(children.get(i).getClass() == copiedChildren.get(i).getClass()) {
+                copyRanges(children.get(i), copiedChildren.get(i));
+            }
+        }
+    }
+
+    private static long countNodes(Node node) {
+        long nodes = 1;
+        for(Node child : node.getChildNodes()) {
+            nodes += countNodes(child);
+        }
+        return nodes;
+    }
+
+    /*
+     * A least recently used list of units, evicted by the total weight of its units instead of their number
+     */
+    private class WeighedUnits {
+        private final String stage;
+
+        private final LinkedHashMap<String, CompilationUnit> units =
+                new LinkedHashMap<String, CompilationUnit>(16, 0.75f, true);
+
+        private final Map<String, Long> weights = new HashMap<String, Long>();
+
+        private long weight;
+
+        WeighedUnits(String stage) {
+            this.stage = stage;
+        }
+
+        synchronized CompilationUnit get(String contentHash) {
+            CompilationUnit cu = units.get(contentHash);
+            metrics.record(stage + (cu == null ? ".miss" : ".hit"), "lookups", 1);
+            return cu;
+        }
+
+        /*
+         * Weighs the unit outside of the lock, as it walks the whole AST
+         */
+        void put(String contentHash, CompilationUnit cu) {
+            long unitWeight = countNodes(cu) * BYTES_PER_NODE;
+            if(unitWeight > maxWeight) {
+                return;
+            }
+            synchronized(this) {
+                Long replaced = weights.put(contentHash, unitWeight);
+                if(replaced != null) {
+                    weight -= replaced;
+                }
+                units.put(contentHash, cu);
+                weight += unitWeight;
+                Iterator<Map.Entry<String, CompilationUnit>> eldest = units.entrySet().iterator();
+                while(weight > maxWeight && eldest.hasNext()) {
+                    String evicted = eldest.next().getKey();
+                    eldest.remove();
+                    weight -= weights.remove(evicted);
+                    metrics.record(stage + ".evicted", "units", 1);
+                }
+                metrics.record(stage + ".weight", "bytes", weight);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.util.SubmissionFingerprint;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory table of the document frequency of every hash code in each assignment: the number of submissions
+ * of the assignment whose fingerprints hold it. The table is kept up to date incrementally, like the
+ * SubmissionIndex: the services count a submission when its fingerprints are cached and remove it when it is
+ * deleted, so a lookup only weighs. The counts are kept in open-addressing tables of primitive hash codes and counts.
+ *
+ * A hash code is weighed by its inverse document frequency, ln((n + 1) / df) for n submissions, so code that
+ * nearly every student wrote, such as the usual loop over an array, counts little towards the similarity of a pair,
+ * and code only two students share counts a lot.
+ */
+@Component
+public class DocumentFrequencyTable {
+    private final Map<Long, CountedSubmission> counted = new HashMap<Long, CountedSubmission>();
+
+    private final Map<Long, AssignmentFrequencies> assignments = new HashMap<Long, AssignmentFrequencies>();
+
+    /**
+     * Replaces the counted fingerprints of a submission
+     * @param submissionId the id of the submission
+     * @param assignmentId the id of the assignment of the submission, a submission without one is not counted
+     * @param fingerprint the fingerprints of the submission
+     */
+    public synchronized void count(Long submissionId, Long assignmentId, SubmissionFingerprint fingerprint) {
+        remove(submissionId);
+        if(assignmentId == null) {
+            return;
+        }
+        AssignmentFrequencies frequencies = assignments.get(assignmentId);
+        if(frequencies == null) {
+            frequencies = new AssignmentFrequencies();
+            assignments.put(assignmentId, frequencies);
+        }
+        frequencies.nodes.add(fingerprint.getNodeHashCodes());
+        frequencies.tokens.add(fingerprint.getTokenHashCodes());
+        frequencies.documents++;
+        counted.put(submissionId, new CountedSubmission(assignmentId, fingerprint));
+    }
+
+    /**
+     * Removes the counted fingerprints of a submission, nothing happens if it is not counted
+     * @param submissionId the id of the submission
+     */
+    public synchronized void remove(Long submissionId) {
+        CountedSubmission submission = counted.remove(submissionId);
+        if(submission == null) {
+            return;
+        }
+        AssignmentFrequencies frequencies = assignments.get(submission.assignmentId);
+        frequencies.nodes.remove(submission.fingerprint.getNodeHashCodes());
+        frequencies.tokens.remove(submission.fingerprint.getTokenHashCodes());
+        if(--frequencies.documents == 0) {
+            assignments.remove(submission.assignmentId);
+        }
+    }
+
+    /**
+     * Weighs the fingerprints of submissions of an assignment. A submission that was never counted, because its
+     * fingerprints were not cached before, is counted first.
+     * @param assignmentId of the assignment whose submissions are weighed
+     * @param fingerprints the fingerprints of the submissions of the assignment, by submission id
+     * @return the weighted fingerprints of the submissions, by submission id
+     */
+    public synchronized Map<Long, WeightedFingerprint> weigh(Long assignmentId,
+                                                             Map<Long, SubmissionFingerprint> fingerprints) {
+        for(Map.Entry<Long, SubmissionFingerprint> entry : fingerprints.entrySet()) {
+            if(!counted.containsKey(entry.getKey())) {
+                count(entry.getKey(), assignmentId, entry.getValue());
+            }
+        }
+        AssignmentFrequencies frequencies = assignments.get(assignmentId);
+        Map<Long, WeightedFingerprint> weighted = new HashMap<Long, WeightedFingerprint>();
+        for(Map.Entry<Long, SubmissionFingerprint> entry : fingerprints.entrySet()) {
+            SubmissionFingerprint fingerprint = entry.getValue();
+            weighted.put(entry.getKey(), new WeightedFingerprint(
+                    fingerprint.getNodeHashCodes(),
+                    frequencies.nodes.weigh(fingerprint.getNodeHashCodes(), frequencies.documents),
+                    fingerprint.getTokenHashCodes(),
+                    frequencies.tokens.weigh(fingerprint.getTokenHashCodes(), frequencies.documents)));
+        }
+        return weighted;
+    }
+
+    /*
+     * The fingerprints a submission was counted with, to remove them again
+     */
+    private static class CountedSubmission {
+        private final Long assignmentId;
+        private final SubmissionFingerprint fingerprint;
+
+        CountedSubmission(Long assignmentId, SubmissionFingerprint fingerprint) {
+            this.assignmentId = assignmentId;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /*
+     * The document frequencies of the node and of the token hash codes of one assignment
+     */
+    private static class AssignmentFrequencies {
+        private final Frequencies nodes = new Frequencies();
+        private final Frequencies tokens = new Frequencies();
+        private int documents;
+    }
+
+    /*
+     * The number of documents holding each hash code of one kind, in an open-addressing table with linear probing.
+     * A slot is free when its count is 0, so every hash code, 0 included, can be a key.
+     */
+    private static class Frequencies {
+        private long[] keys = new long[16];
+        private int[] counts = new int[16];
+        private int size;
+
+        void add(long[] hashCodes) {
+            for(long hashCode : hashCodes) {
+                if(size * 2 >= keys.length) {
+                    grow();
+                }
+                int slot = find(keys, counts, hashCode);
+                if(counts[slot] == 0) {
+                    keys[slot] = hashCode;
+                    size++;
+                }
+                counts[slot]++;
+            }
+        }
+
+        void remove(long[] hashCodes) {
+            for(long hashCode : hashCodes) {
+                int slot = find(keys, counts, hashCode);
+                if(counts[slot] > 1) {
+                    counts[slot]--;
+                } else if(counts[slot] == 1) {
+                    delete(slot);
+                }
+            }
+        }
+
+        double[] weigh(long[] hashCodes, int documents) {
+            double[] weights = new double[hashCodes.length];
+            for(int i = 0; i < hashCodes.length; i++) {
+                int count = counts[find(keys, counts, hashCodes[i])];
+                weights[i] = Math.log((documents + 1.0) / (count == 0 ? 1 : count));
+            }
+            return weights;
+        }
+
+        /*
+         * Empties the slot, and moves back the following hash codes of the probe sequence that could not be found
+         * past it anymore
+         */
+        private void delete(int slot) {
+            int mask = keys.length - 1;
+            counts[slot] = 0;
+            size--;
+            int hole = slot;
+            for(int next = (slot + 1) & mask; counts[next] != 0; next = (next + 1) & mask) {
+                int home = slot(keys[next], mask);
+                if(((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    counts[hole] = counts[next];
+                    counts[next] = 0;
+                    hole = next;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] grownKeys = new long[keys.length * 2];
+            int[] grownCounts = new int[counts.length * 2];
+            for(int i = 0; i < keys.length; i++) {
+                if(counts[i] != 0) {
+                    int slot = find(grownKeys, grownCounts, keys[i]);
+                    grownKeys[slot] = keys[i];
+                    grownCounts[slot] = counts[i];
+                }
+            }
+            keys = grownKeys;
+            counts = grownCounts;
+        }
+
+        /*
+         * The slot holding the hash code, or the free slot it would be added to
+         */
+        private static int find(long[] keys, int[] counts, long hashCode) {
+            int mask = keys.length - 1;
+            int slot = slot(hashCode, mask);
+            while(counts[slot] != 0 && keys[slot] != hashCode) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static int slot(long hashCode, int mask) {
+            long mixed = hashCode * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.util.SubmissionFingerprint;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Combines the fingerprints of normalized code in linear merges of their sorted hash codes: the members of a file into
+ * the fingerprint of the file, the files of a project into the fingerprint of the project, and a submission with the
+ * starter code of its assignment.
+ */
+public class FingerprintMerger {
+
+    private FingerprintMerger() {
+    }
+
+    /**
+     * Merges the fingerprints of the parts of a file into the fingerprint of the file, halves of the parts at a time.
+     * A hash code found in several parts keeps the region of the first of them, as HashCodeVisitor keeps the first
+     * subtree of a file.
+     * @param parts the fingerprints of the rest of the file and of its members, in the order of the file
+     * @return the fingerprint of the file
+     */
+    public static SubmissionFingerprint mergeMembers(List<MemberFingerprint> parts) {
+        if(parts.isEmpty()) {
+            return new SubmissionFingerprint(new long[0], new long[0], new long[0]);
+        }
+        return mergeMembers(parts, 0, parts.size());
+    }
+
+    /**
+     * Merges the fingerprints of the files of a project into the fingerprint of the project. The regions of the files
+     * cannot be told apart in the merged fingerprint, so the project has none.
+     * @param files the fingerprints of the files of the project, null for the files that cannot be parsed
+     * @return the fingerprint of the project, or null if none of its files can be parsed
+     */
+    public static SubmissionFingerprint mergeFiles(List<SubmissionFingerprint> files) {
+        long[] nodeHashCodes = null;
+        long[] tokenHashCodes = null;
+        for(SubmissionFingerprint file : files) {
+            if(file != null) {
+                nodeHashCodes = nodeHashCodes == null ? file.getNodeHashCodes()
+                        : union(nodeHashCodes, file.getNodeHashCodes());
+                tokenHashCodes = tokenHashCodes == null ? file.getTokenHashCodes()
+                        : union(tokenHashCodes, file.getTokenHashCodes());
+            }
+        }
+        return nodeHashCodes == null ? null
+                : new SubmissionFingerprint(nodeHashCodes, tokenHashCodes, new long[nodeHashCodes.length]);
+    }
+
+    /**
+     * Removes the hash codes of the starter code of an assignment from the fingerprint of a submission, in one merge
+     * of the sorted arrays. The regions of the remaining node hash codes are kept.
+     * @param fingerprint the fingerprint of the submission
+     * @param nodeHashCodes the sorted distinct node hash codes to exclude
+     * @param tokenHashCodes the sorted distinct token hash codes to exclude
+     * @return the fingerprint without the excluded hash codes
+     */
+    public static SubmissionFingerprint exclude(SubmissionFingerprint fingerprint, long[] nodeHashCodes,
+                                                long[] tokenHashCodes) {
+        long[] nodes = fingerprint.getNodeHashCodes();
+        long[] regions = fingerprint.getNodeRegions();
+        long[] keptNodes = new long[nodes.length];
+        long[] keptRegions = regions == null ? null : new long[nodes.length];
+        int n = 0;
+        int j = 0;
+        for(int i = 0; i < nodes.length; i++) {
+            while(j < nodeHashCodes.length && nodeHashCodes[j] < nodes[i]) {
+                j++;
+            }
+            if(j == nodeHashCodes.length || nodeHashCodes[j] != nodes[i]) {
+                if(keptRegions != null) {
+                    keptRegions[n] = regions[i];
+                }
+                keptNodes[n++] = nodes[i];
+            }
+        }
+        return new SubmissionFingerprint(Arrays.copyOf(keptNodes, n),
+                difference(fingerprint.getTokenHashCodes(), tokenHashCodes),
+                keptRegions == null ? null : Arrays.copyOf(keptRegions, n));
+    }
+
+    private static SubmissionFingerprint mergeMembers(List<MemberFingerprint> parts, int from, int to) {
+        if(to - from == 1) {
+            MemberFingerprint part = parts.get(from);
+            return new SubmissionFingerprint(part.getNodeHashCodes(), part.getTokenHashCodes(), part.getNodeRegions());
+        }
+        int middle = (from + to) >>> 1;
+        SubmissionFingerprint first = mergeMembers(parts, from, middle);
+        SubmissionFingerprint second = mergeMembers(parts, middle, to);
+
+        long[] values = first.getNodeHashCodes();
+        long[] regions = first.getNodeRegions();
+        long[] others = second.getNodeHashCodes();
+        long[] otherRegions = second.getNodeRegions();
+        long[] merged = new long[values.length + others.length];
+        long[] mergedRegions = new long[merged.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while(i < values.length || j < others.length) {
+            if(j == others.length || i < values.length && values[i] < others[j]) {
+                mergedRegions[n] = regions[i];
+                merged[n++] = values[i++];
+            } else if(i == values.length || others[j] < values[i]) {
+                mergedRegions[n] = otherRegions[j];
+                merged[n++] = others[j++];
+            } else {
+                // the region of the second part is only taken if the first has no position
+                mergedRegions[n] = regions[i] != 0 ? regions[i] : otherRegions[j];
+                merged[n++] = values[i++];
+                j++;
+            }
+        }
+        return new SubmissionFingerprint(Arrays.copyOf(merged, n),
+                union(first.getTokenHashCodes(), second.getTokenHashCodes()), Arrays.copyOf(mergedRegions, n));
+    }
+
+    private static long[] union(long[] values, long[] others) {
+        long[] merged = new long[values.length + others.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while(i < values.length || j < others.length) {
+            long value;
+            if(j == others.length || i < values.length && values[i] < others[j]) {
+                value = values[i++];
+            } else if(i == values.length || others[j] < values[i]) {
+                value = others[j++];
+            } else {
+                value = values[i++];
+                j++;
+            }
+            merged[n++] = value;
+        }
+        return Arrays.copyOf(merged, n);
+    }
+
+    private static long[] difference(long[] values, long[] excluded) {
+        long[] kept = new long[values.length];
+        int n = 0;
+        int j = 0;
+        for(long value : values) {
+            while(j < excluded.length && excluded[j] < value) {
+                j++;
+            }
+            if(j == excluded.length || excluded[j] != value) {
+                kept[n++] = value;
+            }
+        }
+        return Arrays.copyOf(kept, n);
+    }
+}
@@ -0,0 +1,34 @@
+package codechecker.core.services.impl;
+
+/**
+ * The 64-bit hashing primitives the fingerprints are built from, shared so every hash code of a submission is
+ * computed the same way: FNV-1a to hash characters and combine values, and the finalizer of SplitMix64 to spread
+ * the bits of a combined hash code.
+ * Changing any of them changes every stored fingerprint, see StoredFingerprint.
+ */
+public final class Hashing {
+    public static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    public static final long FNV_PRIME = 0x100000001b3L;
+
+    // the increment of SplitMix64, the golden ratio as a 64-bit fraction
+    public static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private Hashing() {
+    }
+
+    /*
+     * Function to add a character or a value to an FNV-1a hash
+     */
+    public static long fnv(long h, long value) {
+        return (h ^ value) * FNV_PRIME;
+    }
+
+    /*
+     * Function to spread the bits of the hashcode (the finalizer of SplitMix64)
+     */
+    public static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
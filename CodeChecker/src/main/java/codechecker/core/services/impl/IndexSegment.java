@@ -0,0 +1,512 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.util.SubmissionFingerprint;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One immutable file of the submission index, read in place through a memory mapping.
+ *
+ * The file is a sequence of longs:
+ *   header        MAGIC, the number of submissions s, the number of hash codes h, the length of the fingerprints
+ *   submissions   s rows of (submission id, assignment id, node offset, node length, token offset, token length),
+ *                 ordered by submission id, the offsets pointing into the fingerprints
+ *   hash codes    the h distinct token hash codes of the submissions, ascending
+ *   starts        h + 1 offsets into the postings, the posting list of hash code k runs from start k to start k + 1
+ *   postings      the ids of the submissions each hash code occurs in
+ *   fingerprints  the sorted node hash codes and token hash codes of every submission
+ *
+ * The name of the file holds the sequence number of the segment, the sequence number of the oldest segment
+ * merged into it, and its level, the number of times its submissions were merged.
+ */
+final class IndexSegment {
+    static final String SUFFIX = ".seg";
+
+    private static final long MAGIC = 0x4343494e44455831L;
+    private static final int HEADER_LONGS = 4;
+    private static final int ROW_LONGS = 6;
+    private static final long NO_ASSIGNMENT = Long.MIN_VALUE;
+
+    private final File file;
+    private final long seq;
+    private final long firstSeq;
+    private final int level;
+    private final LongBuffer data;
+    private final int submissionCount;
+    private final int hashCodeCount;
+    private final int hashCodesStart;
+    private final int startsStart;
+    private final int postingsStart;
+    private final int fingerprintsStart;
+
+    private IndexSegment(File file, long seq, long firstSeq, int level, LongBuffer data) throws IOException {
+        if(data.limit() < HEADER_LONGS || data.get(0) != MAGIC) {
+            throw new IOException("Not an index segment: " + file.getPath());
+        }
+        this.file = file;
+        this.seq = seq;
+        this.firstSeq = firstSeq;
+        this.level = level;
+        this.data = data;
+        submissionCount = (int) data.get(1);
+        hashCodeCount = (int) data.get(2);
+        hashCodesStart = HEADER_LONGS + ROW_LONGS * submissionCount;
+        startsStart = hashCodesStart + hashCodeCount;
+        postingsStart = startsStart + hashCodeCount + 1;
+        fingerprintsStart = postingsStart + (int) data.get(startsStart + hashCodeCount);
+    }
+
+    /**
+     * @param root the directory of the index
+     * @return the file of the segment with the given sequence numbers and level
+     */
+    static File file(File root, long seq, long firstSeq, int level) {
+        return new File(root, seq + "-" + firstSeq + "-" + level + SUFFIX);
+    }
+
+    /**
+     * Maps an existing segment file
+     * @param file a file named by IndexSegment.file
+     * @return the segment
+     * @throws IOException if the file cannot be mapped or is not a segment
+     */
+    static IndexSegment open(File file) throws IOException {
+        String name = file.getName();
+        String[] parts = name.substring(0, name.length() - SUFFIX.length()).split("-");
+        if(parts.length != 3) {
+            throw new IOException("Not an index segment: " + file.getPath());
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            MappedByteBuffer mapped = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            return new IndexSegment(file, Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                    Integer.parseInt(parts[2]), mapped.asLongBuffer());
+        } catch (NumberFormatException e) {
+            throw new IOException("Not an index segment: " + file.getPath(), e);
+        } finally {
+            // the mapping stays valid after the file is closed
+            raf.close();
+        }
+    }
+
+    /**
+     * Writes the segment of the given submissions of one assignment, in one file synced once
+     * @param file the file of the new segment
+     * @param submissionIds the distinct ids of the submissions
+     * @param assignmentId the id of the assignment of the submissions, or null
+     * @param fingerprints the fingerprints of the submissions, in the order of their ids
+     * @return the new segment
+     * @throws IOException if the segment cannot be written or would not fit in a single mapping
+     */
+    static IndexSegment create(File file, final List<Long> submissionIds, Long assignmentId,
+                               List<SubmissionFingerprint> fingerprints) throws IOException {
+        Integer[] rows = new Integer[submissionIds.size()];
+        for(int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        Arrays.sort(rows, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer row, Integer other) {
+                return submissionIds.get(row).compareTo(submissionIds.get(other));
+            }
+        });
+
+        // the distinct token hash codes, and the length of the posting list of each
+        long tokens = 0;
+        long fingerprintLongs = 0;
+        for(SubmissionFingerprint fingerprint : fingerprints) {
+            tokens += fingerprint.getTokenHashCodes().length;
+            fingerprintLongs += fingerprint.getNodeHashCodes().length + fingerprint.getTokenHashCodes().length;
+        }
+        long length = HEADER_LONGS + ROW_LONGS * (long) rows.length + 2 * tokens + 1 + tokens + fingerprintLongs;
+        if(length * 8 > Integer.MAX_VALUE) {
+            throw new IOException("Index segment too large: " + file.getPath());
+        }
+        long[] all = new long[(int) tokens];
+        int t = 0;
+        for(SubmissionFingerprint fingerprint : fingerprints) {
+            long[] tokenHashCodes = fingerprint.getTokenHashCodes();
+            System.arraycopy(tokenHashCodes, 0, all, t, tokenHashCodes.length);
+            t += tokenHashCodes.length;
+        }
+        Arrays.sort(all);
+        int h = 0;
+        for(int i = 0; i < all.length; i++) {
+            if(i == 0 || all[i] != all[i - 1]) {
+                all[h++] = all[i];
+            }
+        }
+        long[] hashCodes = Arrays.copyOf(all, h);
+        int[] starts = new int[h + 1];
+        for(SubmissionFingerprint fingerprint : fingerprints) {
+            for(long hashCode : fingerprint.getTokenHashCodes()) {
+                starts[Arrays.binarySearch(hashCodes, hashCode) + 1]++;
+            }
+        }
+        for(int k = 0; k < h; k++) {
+            starts[k + 1] += starts[k];
+        }
+
+        LongBuffer out = LongBuffer.allocate(HEADER_LONGS + ROW_LONGS * rows.length + h + h + 1 + (int) tokens
+                + (int) fingerprintLongs);
+        out.put(MAGIC).put(rows.length).put(h).put(fingerprintLongs);
+        int fingerprintEnd = 0;
+        for(int row : rows) {
+            SubmissionFingerprint fingerprint = fingerprints.get(row);
+            int nodes = fingerprint.getNodeHashCodes().length;
+            out.put(submissionIds.get(row)).put(assignmentId == null ? NO_ASSIGNMENT : assignmentId)
+                    .put(fingerprintEnd).put(nodes).put(fingerprintEnd + nodes)
+                    .put(fingerprint.getTokenHashCodes().length);
+            fingerprintEnd += nodes + fingerprint.getTokenHashCodes().length;
+        }
+        out.put(hashCodes);
+        for(int start : starts) {
+            out.put(start);
+        }
+        // the rows are visited by ascending id, so every posting list is ascending
+        int postingsStart = out.position();
+        int[] filled = new int[h];
+        for(int row : rows) {
+            for(long hashCode : fingerprints.get(row).getTokenHashCodes()) {
+                int k = Arrays.binarySearch(hashCodes, hashCode);
+                out.put(postingsStart + starts[k] + filled[k]++, submissionIds.get(row));
+            }
+        }
+        out.position(postingsStart + (int) tokens);
+        for(int row : rows) {
+            out.put(fingerprints.get(row).getNodeHashCodes()).put(fingerprints.get(row).getTokenHashCodes());
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(out.capacity() * 8);
+        bytes.asLongBuffer().put(out.array());
+        File temporary = temporaryFile(file);
+        FileOutputStream stream = new FileOutputStream(temporary);
+        try {
+            while(bytes.hasRemaining()) {
+                stream.getChannel().write(bytes);
+            }
+            stream.getFD().sync();
+        } finally {
+            stream.close();
+        }
+        return publish(temporary, file);
+    }
+
+    /**
+     * Merges segments into one, leaving out the submissions removed from them.
+     * The inputs are read twice, once to size the new file and once to fill it.
+     * @param file the file of the merged segment
+     * @param inputs the segments to merge
+     * @param removed the sequence number of the newest segment each removed submission is removed from, by id
+     * @return the merged segment
+     * @throws IOException if the merged segment cannot be written or would not fit in a single mapping
+     */
+    static IndexSegment merge(File file, List<IndexSegment> inputs, Map<Long, Long> removed) throws IOException {
+        long submissions = 0;
+        long fingerprintLongs = 0;
+        for(IndexSegment input : inputs) {
+            for(int row = 0; row < input.submissionCount; row++) {
+                if(input.isLive(input.submissionId(row), removed)) {
+                    submissions++;
+                    fingerprintLongs += input.data.get(input.rowStart(row) + 3) + input.data.get(input.rowStart(row) + 5);
+                }
+            }
+        }
+        long hashCodes = 0;
+        long postings = 0;
+        int[] next = new int[inputs.size()];
+        while(!isExhausted(inputs, next)) {
+            long hashCode = smallestHashCode(inputs, next);
+            int live = 0;
+            for(int i = 0; i < inputs.size(); i++) {
+                IndexSegment input = inputs.get(i);
+                if(next[i] < input.hashCodeCount && input.hashCode(next[i]) == hashCode) {
+                    for(int p = input.postingStart(next[i]); p < input.postingEnd(next[i]); p++) {
+                        if(input.isLive(input.posting(p), removed)) {
+                            live++;
+                        }
+                    }
+                    next[i]++;
+                }
+            }
+            if(live > 0) {
+                hashCodes++;
+                postings += live;
+            }
+        }
+        long length = HEADER_LONGS + ROW_LONGS * submissions + 2 * hashCodes + 1 + postings + fingerprintLongs;
+        if(length * 8 > Integer.MAX_VALUE) {
+            throw new IOException("Merged index segment too large: " + file.getPath());
+        }
+
+        File temporary = temporaryFile(file);
+        RandomAccessFile raf = new RandomAccessFile(temporary, "rw");
+        try {
+            raf.setLength(length * 8);
+            MappedByteBuffer mapped = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length * 8);
+            LongBuffer out = mapped.asLongBuffer();
+            out.put(MAGIC).put(submissions).put(hashCodes).put(fingerprintLongs);
+
+            int fingerprintsStart = (int) (length - fingerprintLongs);
+            int fingerprintEnd = 0;
+            int[] rows = new int[inputs.size()];
+            for(int i = nextRow(inputs, rows, removed); i >= 0; i = nextRow(inputs, rows, removed)) {
+                IndexSegment input = inputs.get(i);
+                int rowStart = input.rowStart(rows[i]);
+                out.put(input.data.get(rowStart)).put(input.data.get(rowStart + 1));
+                for(int part = 2; part < ROW_LONGS; part += 2) {
+                    int offset = (int) input.data.get(rowStart + part);
+                    int count = (int) input.data.get(rowStart + part + 1);
+                    LongBuffer target = out.duplicate();
+                    target.position(fingerprintsStart + fingerprintEnd);
+                    target.put(input.slice(input.fingerprintsStart + offset, count));
+                    out.put(fingerprintEnd).put(count);
+                    fingerprintEnd += count;
+                }
+                rows[i]++;
+            }
+
+            int hashCodesStart = out.position();
+            int startsStart = (int) (hashCodesStart + hashCodes);
+            int postingsStart = (int) (startsStart + hashCodes + 1);
+            int k = 0;
+            int postingEnd = 0;
+            next = new int[inputs.size()];
+            while(!isExhausted(inputs, next)) {
+                long hashCode = smallestHashCode(inputs, next);
+                int postingStart = postingEnd;
+                for(int i = 0; i < inputs.size(); i++) {
+                    IndexSegment input = inputs.get(i);
+                    if(next[i] < input.hashCodeCount && input.hashCode(next[i]) == hashCode) {
+                        for(int p = input.postingStart(next[i]); p < input.postingEnd(next[i]); p++) {
+                            long submissionId = input.posting(p);
+                            if(input.isLive(submissionId, removed)) {
+                                out.put(postingsStart + postingEnd++, submissionId);
+                            }
+                        }
+                        next[i]++;
+                    }
+                }
+                if(postingEnd > postingStart) {
+                    out.put(hashCodesStart + k, hashCode);
+                    out.put(startsStart + k, postingStart);
+                    k++;
+                }
+            }
+            out.put(startsStart + k, postingEnd);
+            mapped.force();
+        } finally {
+            raf.close();
+        }
+        return publish(temporary, file);
+    }
+
+    /**
+     * get sequence number method
+     */
+    long getSeq() {
+        return seq;
+    }
+
+    /**
+     * get first sequence number method, the sequence number of the oldest segment merged into this one
+     */
+    long getFirstSeq() {
+        return firstSeq;
+    }
+
+    /**
+     * get level method
+     */
+    int getLevel() {
+        return level;
+    }
+
+    /**
+     * get size in bytes method
+     */
+    long getSizeInBytes() {
+        return data.capacity() * 8L;
+    }
+
+    /**
+     * get submission count method
+     */
+    int getSubmissionCount() {
+        return submissionCount;
+    }
+
+    /**
+     * Deletes the file of the segment. Lookups still reading the segment keep their mapping.
+     */
+    void delete() {
+        FileUtils.deleteQuietly(file);
+    }
+
+    /**
+     * @param submissionId the id of a submission in this segment
+     * @param removed the sequence number of the newest segment each removed submission is removed from, by id
+     * @return whether the submission was not removed from this segment
+     */
+    boolean isLive(long submissionId, Map<Long, Long> removed) {
+        Long removedFrom = removed.get(submissionId);
+        return removedFrom == null || removedFrom < seq;
+    }
+
+    /**
+     * @return the row of the given submission, or -1 if it is not in this segment
+     */
+    int findSubmission(long submissionId) {
+        int low = 0;
+        int high = submissionCount - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = submissionId(middle);
+            if(id < submissionId) {
+                low = middle + 1;
+            } else if(id > submissionId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    long submissionId(int row) {
+        return data.get(rowStart(row));
+    }
+
+    Long assignmentId(int row) {
+        long assignmentId = data.get(rowStart(row) + 1);
+        return assignmentId == NO_ASSIGNMENT ? null : assignmentId;
+    }
+
+    /**
+     * @return the sorted node hash codes of the submission in the given row, read in place
+     */
+    LongBuffer nodeHashCodes(int row) {
+        return slice(fingerprintsStart + (int) data.get(rowStart(row) + 2), (int) data.get(rowStart(row) + 3));
+    }
+
+    /**
+     * @return the sorted token hash codes of the submission in the given row, read in place
+     */
+    LongBuffer tokenHashCodes(int row) {
+        return slice(fingerprintsStart + (int) data.get(rowStart(row) + 4), (int) data.get(rowStart(row) + 5));
+    }
+
+    /**
+     * @return the index of the given hash code, or -1 if no submission in this segment has it
+     */
+    int findHashCode(long hashCode) {
+        int low = 0;
+        int high = hashCodeCount - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            long found = hashCode(middle);
+            if(found < hashCode) {
+                low = middle + 1;
+            } else if(found > hashCode) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    int postingStart(int k) {
+        return (int) data.get(startsStart + k);
+    }
+
+    int postingEnd(int k) {
+        return (int) data.get(startsStart + k + 1);
+    }
+
+    long posting(int p) {
+        return data.get(postingsStart + p);
+    }
+
+    private long hashCode(int k) {
+        return data.get(hashCodesStart + k);
+    }
+
+    private int rowStart(int row) {
+        return HEADER_LONGS + ROW_LONGS * row;
+    }
+
+    private LongBuffer slice(int from, int length) {
+        LongBuffer view = data.duplicate();
+        view.position(from);
+        view.limit(from + length);
+        return view.slice();
+    }
+
+    /*
+     * Returns the smallest hash code not merged yet, of the inputs that are not exhausted
+     */
+    private static long smallestHashCode(List<IndexSegment> inputs, int[] next) {
+        long smallest = Long.MAX_VALUE;
+        for(int i = 0; i < inputs.size(); i++) {
+            if(next[i] < inputs.get(i).hashCodeCount) {
+                smallest = Math.min(smallest, inputs.get(i).hashCode(next[i]));
+            }
+        }
+        return smallest;
+    }
+
+    private static boolean isExhausted(List<IndexSegment> inputs, int[] next) {
+        for(int i = 0; i < inputs.size(); i++) {
+            if(next[i] < inputs.get(i).hashCodeCount) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Skips the removed rows and returns the input holding the live row with the smallest submission id, or -1
+     */
+    private static int nextRow(List<IndexSegment> inputs, int[] rows, Map<Long, Long> removed) {
+        int smallest = -1;
+        for(int i = 0; i < inputs.size(); i++) {
+            IndexSegment input = inputs.get(i);
+            while(rows[i] < input.submissionCount && !input.isLive(input.submissionId(rows[i]), removed)) {
+                rows[i]++;
+            }
+            if(rows[i] < input.submissionCount && (smallest < 0
+                    || input.submissionId(rows[i]) < inputs.get(smallest).submissionId(rows[smallest]))) {
+                smallest = i;
+            }
+        }
+        return smallest;
+    }
+
+    private static File temporaryFile(File file) {
+        return new File(file.getParentFile(), file.getName() + ".tmp");
+    }
+
+    /*
+     * Renames the completely written file to its final name, so a partly written segment is never opened
+     */
+    private static IndexSegment publish(File temporary, File file) throws IOException {
+        if(!temporary.renameTo(file)) {
+            FileUtils.deleteQuietly(temporary);
+            throw new IOException("Cannot write " + file.getPath());
+        }
+        return open(file);
+    }
+}
@@ -0,0 +1,190 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.util.DiffHunk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Line diff of two sources with Myers' O(ND) algorithm in linear space: each step finds the middle of the
+ * shortest edit script by searching from both ends at once, and recurses on the two halves.
+ * Lines are compared as ints, numbered by their content, and common prefixes and suffixes are matched directly.
+ * The search is bounded, so two large sources with little in common cost O((N + M) * MAX_EDITS) instead of
+ * O((N + M)^2); ranges needing more edits than that are reported as a single change.
+ */
+public class LineDiff {
+
+    private static final int MAX_EDITS = 4096;
+
+    private final int[] lines;
+
+    private final int[] otherLines;
+
+    // the index of the matching line in the other source of each line, -1 if it has none
+    private final int[] matches;
+
+    private LineDiff(int[] lines, int[] otherLines) {
+        this.lines = lines;
+        this.otherLines = otherLines;
+        this.matches = new int[lines.length];
+        Arrays.fill(matches, -1);
+    }
+
+    /**
+     * @param source the first source
+     * @param otherSource the second source
+     * @return the matching regions and the changes between the sources, in the order of the sources
+     */
+    public static List<DiffHunk> diff(String source, String otherSource) {
+        String[] text = split(source);
+        String[] otherText = split(otherSource);
+        Map<String, Integer> numbers = new HashMap<String, Integer>();
+        LineDiff diff = new LineDiff(number(text, numbers), number(otherText, numbers));
+        diff.diff(0, text.length, 0, otherText.length);
+        return diff.hunks(text, otherText);
+    }
+
+    private static String[] split(String source) {
+        return source.isEmpty() ? new String[0] : source.split("\r?\n");
+    }
+
+    private static int[] number(String[] text, Map<String, Integer> numbers) {
+        int[] numbered = new int[text.length];
+        for(int i = 0; i < text.length; i++) {
+            Integer number = numbers.get(text[i]);
+            if(number == null) {
+                number = numbers.size();
+                numbers.put(text[i], number);
+            }
+            numbered[i] = number;
+        }
+        return numbered;
+    }
+
+    /*
+     * Matches the lines of the given ranges, end exclusive
+     */
+    private void diff(int start, int end, int otherStart, int otherEnd) {
+        while(start < end && otherStart < otherEnd && lines[start] == otherLines[otherStart]) {
+            matches[start++] = otherStart++;
+        }
+        while(start < end && otherStart < otherEnd && lines[end - 1] == otherLines[otherEnd - 1]) {
+            matches[--end] = --otherEnd;
+        }
+        if(start < end && otherStart < otherEnd) {
+            bisect(start, end, otherStart, otherEnd);
+        }
+    }
+
+    /*
+     * Finds where the forward and the backward search for the shortest edit script meet and splits the ranges there.
+     * v holds the furthest line reached on each diagonal k = x - y of the forward search, rv the same for the
+     * backward search, counted from the ends of the ranges.
+     */
+    private void bisect(int start, int end, int otherStart, int otherEnd) {
+        int length = end - start;
+        int otherLength = otherEnd - otherStart;
+        int maxD = Math.min((length + otherLength + 1) / 2, MAX_EDITS);
+        int offset = maxD + 1;
+        int[] v = new int[2 * offset + 1];
+        int[] rv = new int[2 * offset + 1];
+        Arrays.fill(v, -1);
+        Arrays.fill(rv, -1);
+        v[offset + 1] = 0;
+        rv[offset + 1] = 0;
+        int delta = length - otherLength;
+        // with an odd delta the searches meet on a forward step, otherwise on a backward step
+        boolean front = delta % 2 != 0;
+        int kStart = 0;
+        int kEnd = 0;
+        int rkStart = 0;
+        int rkEnd = 0;
+        for(int d = 0; d <= maxD; d++) {
+            for(int k = -d + kStart; k <= d - kEnd; k += 2) {
+                int x = k == -d || k != d && v[offset + k - 1] < v[offset + k + 1]
+                        ? v[offset + k + 1] : v[offset + k - 1] + 1;
+                int y = x - k;
+                while(x < length && y < otherLength && lines[start + x] == otherLines[otherStart + y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if(x > length) {
+                    kEnd += 2;
+                } else if(y > otherLength) {
+                    kStart += 2;
+                } else if(front) {
+                    int rk = offset + delta - k;
+                    if(rk >= 0 && rk < rv.length && rv[rk] != -1 && x >= length - rv[rk]) {
+                        split(start, end, otherStart, otherEnd, x, y);
+                        return;
+                    }
+                }
+            }
+            for(int k = -d + rkStart; k <= d - rkEnd; k += 2) {
+                int x = k == -d || k != d && rv[offset + k - 1] < rv[offset + k + 1]
+                        ? rv[offset + k + 1] : rv[offset + k - 1] + 1;
+                int y = x - k;
+                while(x < length && y < otherLength
+                        && lines[end - x - 1] == otherLines[otherEnd - y - 1]) {
+                    x++;
+                    y++;
+                }
+                rv[offset + k] = x;
+                if(x > length) {
+                    rkEnd += 2;
+                } else if(y > otherLength) {
+                    rkStart += 2;
+                } else if(!front) {
+                    int fk = offset + delta - k;
+                    if(fk >= 0 && fk < v.length && v[fk] != -1) {
+                        int fx = v[fk];
+                        int fy = fx - (fk - offset);
+                        if(fx >= length - x) {
+                            split(start, end, otherStart, otherEnd, fx, fy);
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+        // nothing in common, or too little to be found within the bounded search
+    }
+
+    private void split(int start, int end, int otherStart, int otherEnd, int x, int y) {
+        diff(start, start + x, otherStart, otherStart + y);
+        diff(start + x, end, otherStart + y, otherEnd);
+    }
+
+    /*
+     * Groups the matched lines into matching regions and the lines between them into changes
+     */
+    private List<DiffHunk> hunks(String[] text, String[] otherText) {
+        List<DiffHunk> hunks = new ArrayList<DiffHunk>();
+        int i = 0;
+        int j = 0;
+        while(i < text.length || j < otherText.length) {
+            int from = i;
+            int otherFrom = j;
+            if(i < text.length && matches[i] == j) {
+                while(i < text.length && matches[i] == j) {
+                    i++;
+                    j++;
+                }
+                hunks.add(new DiffHunk(true, from + 1, i - from, otherFrom + 1, j - otherFrom, null, null));
+            } else {
+                while(i < text.length && matches[i] == -1) {
+                    i++;
+                }
+                int next = i < text.length ? matches[i] : otherText.length;
+                j = next;
+                hunks.add(new DiffHunk(false, from + 1, i - from, otherFrom + 1, j - otherFrom,
+                        Arrays.asList(text).subList(from, i), Arrays.asList(otherText).subList(otherFrom, j)));
+            }
+        }
+        return hunks;
+    }
+}
@@ -0,0 +1,81 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.impl.visitors.HashCodeVisitor;
+import codechecker.core.services.util.MatchedRegion;
+import codechecker.core.services.util.SubmissionFingerprint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+//Class to find the regions of code two submissions have in common from their cached fingerprints
+public class MatchedRegionFinder {
+
+    // subtrees smaller than this, like a single renamed variable or literal, match in almost every pair
+    private static final int MIN_REGION_NODES = 10;
+
+    /*
+     * Function to find the largest matching subtrees of two fingerprints with node regions. The common hashcodes
+     * are found by a single merge of the sorted fingerprints, like the similarity percent; a matching subtree
+     * lying within a larger one on both sides is left out, as it is part of the same match.
+     */
+    public List<MatchedRegion> getMatchedRegions(SubmissionFingerprint fingerprint1, SubmissionFingerprint fingerprint2,
+                                                 int limit) {
+        long[] crvCode1 = fingerprint1.getNodeHashCodes();
+        long[] crvCode2 = fingerprint2.getNodeHashCodes();
+        long[] regions1 = fingerprint1.getNodeRegions();
+        long[] regions2 = fingerprint2.getNodeRegions();
+        List<MatchedRegion> candidates = new ArrayList<MatchedRegion>();
+        if(regions1 == null || regions2 == null) {
+            return candidates;
+        }
+        int i = 0;
+        int j = 0;
+        while(i < crvCode1.length && j < crvCode2.length) {
+            if(crvCode1[i] < crvCode2[j]) {
+                i++;
+            } else if(crvCode1[i] > crvCode2[j]) {
+                j++;
+            } else {
+                long region1 = regions1[i];
+                long region2 = regions2[j];
+                if(region1 != 0 && region2 != 0 && HashCodeVisitor.regionNodes(region1) >= MIN_REGION_NODES) {
+                    candidates.add(new MatchedRegion(
+                            HashCodeVisitor.regionLine(region1), HashCodeVisitor.regionEndLine(region1),
+                            HashCodeVisitor.regionLine(region2), HashCodeVisitor.regionEndLine(region2),
+                            HashCodeVisitor.regionNodes(region1)));
+                }
+                i++;
+                j++;
+            }
+        }
+
+        Collections.sort(candidates, new Comparator<MatchedRegion>() {
+            @Override
+            public int compare(MatchedRegion region, MatchedRegion other) {
+                if(region.getNodes() != other.getNodes()) {
+                    return region.getNodes() > other.getNodes() ? -1 : 1;
+                }
+                return region.getLine() - other.getLine();
+            }
+        });
+        List<MatchedRegion> matched = new ArrayList<MatchedRegion>();
+        for(MatchedRegion candidate : candidates) {
+            if(matched.size() == limit) {
+                break;
+            }
+            boolean nested = false;
+            for(MatchedRegion region : matched) {
+                if(region.contains(candidate)) {
+                    nested = true;
+                    break;
+                }
+            }
+            if(!nested) {
+                matched.add(candidate);
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,84 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.impl.visitors.HashCodeVisitor;
+
+/**
+ * The fingerprints of one normalized part of a file: a member of one of its types (a field, constructor, method,
+ * initializer or nested type), or the rest of the file outside the members.
+ * A member is found again in a later upload by its member hash, the structural hash of the member as it was parsed,
+ * so its fingerprints are reused wherever it moved. Its regions are kept relative to its first line for that reason.
+ */
+public class MemberFingerprint {
+
+    private final long memberHash;
+
+    private final int line;
+
+    private final long[] nodeHashCodes;
+
+    private final long[] tokenHashCodes;
+
+    private final long[] nodeRegions;
+
+    /**
+     * @param memberHash the structural hash of the member before normalization
+     * @param line the first line of the member in the uploaded file, or 0 for the rest of the file
+     * @param nodeHashCodes the sorted distinct hash codes of the normalized nodes
+     * @param tokenHashCodes the sorted distinct winnowed hash codes of the normalized tokens
+     * @param nodeRegions the packed regions of the node hash codes, relative to the first line
+     */
+    public MemberFingerprint(long memberHash, int line, long[] nodeHashCodes, long[] tokenHashCodes,
+                             long[] nodeRegions) {
+        this.memberHash = memberHash;
+        this.line = line;
+        this.nodeHashCodes = nodeHashCodes;
+        this.tokenHashCodes = tokenHashCodes;
+        this.nodeRegions = nodeRegions;
+    }
+
+    public long getMemberHash() {
+        return memberHash;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public long[] getNodeHashCodes() {
+        return nodeHashCodes;
+    }
+
+    public long[] getTokenHashCodes() {
+        return tokenHashCodes;
+    }
+
+    /*
+     * Function to return the regions of the node hash codes in the uploaded file, 0 where the position is not known
+     */
+    public long[] getNodeRegions() {
+        long[] regions = new long[nodeRegions.length];
+        for(int i = 0; i < regions.length; i++) {
+            long region = nodeRegions[i];
+            if(region != 0) {
+                region = HashCodeVisitor.region(HashCodeVisitor.regionLine(region) + line,
+                        HashCodeVisitor.regionEndLine(region) + line, HashCodeVisitor.regionNodes(region));
+            }
+            regions[i] = region;
+        }
+        return regions;
+    }
+
+    /*
+     * Function to return the regions relative to the first line of the member, as they are stored
+     */
+    long[] getRelativeNodeRegions() {
+        return nodeRegions;
+    }
+
+    /*
+     * Function to return the same member at another line of a later upload
+     */
+    public MemberFingerprint at(int line) {
+        return new MemberFingerprint(memberHash, line, nodeHashCodes, tokenHashCodes, nodeRegions);
+    }
+}
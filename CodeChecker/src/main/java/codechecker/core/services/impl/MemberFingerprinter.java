@@ -0,0 +1,156 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.impl.visitors.HashCodeVisitor;
+import codechecker.core.services.impl.visitors.NormalizationEngine;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Normalizes and fingerprints a parsed file member by member, so the hash codes of a member only depend on the member.
+ *
+ * Every member of a top-level type is taken out of the file and normalized on its own by the NormalizationEngine,
+ * inside an empty class with the name of its type, so its variables and the functions it declares or calls are
+ * numbered from 0. What remains of the file, the package, the imports and the declarations of the types, is normalized
+ * as one more part, every time, since its lines move with every import added. The fingerprints of the file are the union of those of its parts, so a member hashes the same
+ * wherever it is in the file and whatever the other members are: reordered members are the same code, the members of
+ * the starter code of an assignment are found in every submission that extends it, and a re-upload only normalizes
+ * the members that are not among the known members of earlier uploads.
+ */
+public class MemberFingerprinter {
+    private final PipelineMetrics metrics;
+
+    private final TokenWinnower tokenWinnower = new TokenWinnower();
+
+    // hashes the members as they were parsed, to find them among the known members
+    private final HashCodeVisitor memberHasher = new HashCodeVisitor();
+
+    private int normalizedMembers;
+
+    /**
+     * @param metrics to time the normalization with, or null
+     */
+    public MemberFingerprinter(PipelineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Takes the members out of the given compilation unit and fingerprints the rest of the file and each member
+     * @param cu the parsed file, left without its members
+     * @param known the members of earlier uploads by member hash, whose fingerprints are reused
+     * @return the fingerprints of the rest of the file and of the members, in the order of the file
+     */
+    public List<MemberFingerprint> fingerprint(CompilationUnit cu, Map<Long, MemberFingerprint> known) {
+        List<Member> members = takeMembers(cu);
+        List<MemberFingerprint> parts = new ArrayList<MemberFingerprint>(members.size() + 1);
+        parts.add(fingerprint(memberHasher.hash(cu), 0, cu, cu));
+        for(Member member : members) {
+            long memberHash = memberHasher.hash(member.declaration);
+            MemberFingerprint found = known.get(memberHash);
+            if(found != null) {
+                parts.add(found.at(member.line));
+            } else {
+                normalizedMembers++;
+                parts.add(fingerprint(memberHash, member.line, member.shell(), member.declaration));
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Normalizes the given compilation unit member by member, as it is fingerprinted, keeping the members in their
+     * places, for the side-by-side view
+     * @param cu the parsed file, normalized in place
+     * @return the normalized file
+     */
+    public CompilationUnit normalize(CompilationUnit cu) {
+        List<Member> members = takeMembers(cu);
+        new NormalizationEngine(metrics).normalize(cu);
+        for(Member member : members) {
+            CompilationUnit shell = member.shell();
+            new NormalizationEngine(metrics).normalize(shell);
+            shell.getType(0).remove(member.declaration);
+            member.type.addMember(member.declaration);
+        }
+        return cu;
+    }
+
+    /**
+     * @return the number of members normalized so far, the others were reused
+     */
+    public int getNormalizedMembers() {
+        return normalizedMembers;
+    }
+
+    /*
+     * Function to take the members out of the top-level types, remembering their types and first lines
+     */
+    private static List<Member> takeMembers(CompilationUnit cu) {
+        List<Member> members = new ArrayList<Member>();
+        for(TypeDeclaration<?> type : cu.getTypes()) {
+            String typeName = type.getNameAsString();
+            for(BodyDeclaration<?> declaration : new ArrayList<BodyDeclaration<?>>(type.getMembers())) {
+                int line = declaration.getRange().isPresent() ? declaration.getRange().get().begin.line : 0;
+                type.remove(declaration);
+                members.add(new Member(type, typeName, declaration, line));
+            }
+        }
+        return members;
+    }
+
+    /*
+     * Function to normalize the unit holding a part of the file and winnow the tokens of the part
+     */
+    private MemberFingerprint fingerprint(long memberHash, int line, CompilationUnit unit, Node part) {
+        HashCodeVisitor hcv = new NormalizationEngine(metrics).normalize(unit);
+        long[] nodeHashCodes = hcv.getFingerprint();
+        long[] nodeRegions = hcv.getRegions(nodeHashCodes);
+        for(int i = 0; i < nodeRegions.length; i++) {
+            long region = nodeRegions[i];
+            if(region != 0) {
+                nodeRegions[i] = HashCodeVisitor.region(Math.max(HashCodeVisitor.regionLine(region) - line, 0),
+                        Math.max(HashCodeVisitor.regionEndLine(region) - line, 0), HashCodeVisitor.regionNodes(region));
+            }
+        }
+
+        long start = System.nanoTime();
+        long[] tokenHashCodes = tokenWinnower.getFingerprint(part.toString());
+        if(metrics != null) {
+            metrics.recordSince("winnow", start);
+        }
+        return new MemberFingerprint(memberHash, line, nodeHashCodes, tokenHashCodes, nodeRegions);
+    }
+
+    /*
+     * A member taken out of its type
+     */
+    private static class Member {
+        private final TypeDeclaration<?> type;
+        private final String typeName;
+        private final BodyDeclaration<?> declaration;
+        private final int line;
+
+        Member(TypeDeclaration<?> type, String typeName, BodyDeclaration<?> declaration, int line) {
+            this.type = type;
+            this.typeName = typeName;
+            this.declaration = declaration;
+            this.line = line;
+        }
+
+        /*
+         * Function to put the member alone in an empty class named after its type, to be normalized on its own
+         */
+        CompilationUnit shell() {
+            CompilationUnit unit = new CompilationUnit();
+            ClassOrInterfaceDeclaration shell = unit.addClass(typeName);
+            shell.addMember(declaration);
+            return unit;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package codechecker.core.services.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import codechecker.core.services.MetricsService;
+import codechecker.core.services.util.StageMetricsList;
+
+/**
+ * Metrics Service Implementation class
+ */
+@Service
+public class MetricsServiceImpl implements MetricsService {
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    /**
+     * @return a snapshot of the metrics of every stage recorded so far
+     */
+    @Override
+    public StageMetricsList findPipelineMetrics() {
+        return new StageMetricsList(metrics.getStageMetrics());
+    }
+}
@@ -0,0 +1,194 @@
+package codechecker.core.services.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory locality-sensitive hashing index of the MinHash signatures of each assignment.
+ * A signature is cut into bands of r rows, and two submissions become a candidate pair when one of their bands is
+ * equal, which happens with a probability of 1 - (1 - J^r)^bands for a pair with a Jaccard index of J.
+ * The rows per band are chosen from the threshold of the search: the most rows, so the fewest dissimilar candidates,
+ * that still find a pair at the threshold with a probability of at least RECALL. The bands are indexed once per
+ * number of rows searched with. 32 bands of 4 rows would find a pair at the default threshold of 0.5 with a
+ * probability of only about 0.87, so it is searched with 64 bands of 2 rows, which almost surely find it; a threshold
+ * of 0.6 is searched with 32 bands of 4 rows (0.99) and one of 0.8 with 16 bands of 8 rows (0.95).
+ * A threshold below about 0.023, too low for even one row per band to reach RECALL, compares every pair instead.
+ * Submissions with an empty fingerprint are not indexed: their signatures are all equal and they match nothing.
+ */
+@Component
+public class MinHashBandIndex {
+    // the least probability of finding a pair whose Jaccard index is the threshold
+    public static final double RECALL = 0.95;
+
+    // the numbers of rows per band the index is cut into, each dividing the signature size
+    private static final int[] ROWS = {8, 4, 2, 1};
+
+    private final ConcurrentMap<Long, AssignmentBands> assignments = new ConcurrentHashMap<Long, AssignmentBands>();
+
+    /**
+     * Brings the index of the assignment up to date with the given signatures, then looks up the candidate pairs.
+     * Submissions that were uploaded again are re-indexed, and submissions that are gone are removed.
+     * @param assignmentId of the assignment whose submissions are indexed
+     * @param signatures the MinHash signatures of the submissions of the assignment, by submission id
+     * @param threshold the least Jaccard index of the pairs searched for, between 0 and 1
+     * @return the candidate pairs of submission ids, the smaller id first
+     */
+    public List<long[]> findCandidatePairs(Long assignmentId, Map<Long, long[]> signatures, double threshold) {
+        AssignmentBands bands = assignments.get(assignmentId);
+        if(bands == null) {
+            assignments.putIfAbsent(assignmentId, new AssignmentBands());
+            bands = assignments.get(assignmentId);
+        }
+        synchronized (bands) {
+            bands.update(signatures);
+            int rows = getRows(threshold);
+            return rows == 0 ? bands.allPairs() : bands.candidatePairs(rows);
+        }
+    }
+
+    /**
+     * @param threshold the least Jaccard index of the pairs searched for
+     * @return the rows per band a search with the given threshold uses, or 0 if it compares every pair
+     */
+    public static int getRows(double threshold) {
+        for(int rows : ROWS) {
+            if(getRecall(threshold, rows) >= RECALL) {
+                return rows;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param jaccardIndex of a pair of submissions
+     * @param rows per band
+     * @return the probability that the pair is a candidate pair of bands with the given rows
+     */
+    public static double getRecall(double jaccardIndex, int rows) {
+        int bands = MinHashGenerator.SIGNATURE_SIZE / rows;
+        return 1 - Math.pow(1 - Math.pow(jaccardIndex, rows), bands);
+    }
+
+    /*
+     * The buckets of every band of one assignment, for each number of rows per band searched with so far
+     */
+    private static class AssignmentBands {
+        private final Map<Long, long[]> signatures = new HashMap<Long, long[]>();
+        private final Map<Integer, List<Map<Long, Set<Long>>>> layouts = new HashMap<Integer, List<Map<Long, Set<Long>>>>();
+
+        void update(Map<Long, long[]> current) {
+            Iterator<Map.Entry<Long, long[]>> indexed = signatures.entrySet().iterator();
+            while(indexed.hasNext()) {
+                Map.Entry<Long, long[]> entry = indexed.next();
+                if(!Arrays.equals(entry.getValue(), current.get(entry.getKey()))) {
+                    remove(entry.getKey(), entry.getValue());
+                    indexed.remove();
+                }
+            }
+            for(Map.Entry<Long, long[]> entry : current.entrySet()) {
+                if(entry.getValue() != null && !MinHashGenerator.isEmpty(entry.getValue())
+                        && !signatures.containsKey(entry.getKey())) {
+                    for(Map.Entry<Integer, List<Map<Long, Set<Long>>>> layout : layouts.entrySet()) {
+                        add(layout.getValue(), layout.getKey(), entry.getKey(), entry.getValue());
+                    }
+                    signatures.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        List<long[]> candidatePairs(int rows) {
+            List<Map<Long, Set<Long>>> buckets = layouts.get(rows);
+            if(buckets == null) {
+                buckets = new ArrayList<Map<Long, Set<Long>>>(MinHashGenerator.SIGNATURE_SIZE / rows);
+                for(int band = 0; band < MinHashGenerator.SIGNATURE_SIZE / rows; band++) {
+                    buckets.add(new HashMap<Long, Set<Long>>());
+                }
+                for(Map.Entry<Long, long[]> entry : signatures.entrySet()) {
+                    add(buckets, rows, entry.getKey(), entry.getValue());
+                }
+                layouts.put(rows, buckets);
+            }
+            Set<List<Long>> seen = new HashSet<List<Long>>();
+            List<long[]> pairs = new ArrayList<long[]>();
+            for(Map<Long, Set<Long>> band : buckets) {
+                for(Set<Long> bucket : band.values()) {
+                    if(bucket.size() < 2) {
+                        continue;
+                    }
+                    Long[] ids = bucket.toArray(new Long[bucket.size()]);
+                    Arrays.sort(ids);
+                    for(int i = 0; i < ids.length; i++) {
+                        for(int j = i + 1; j < ids.length; j++) {
+                            if(seen.add(Arrays.asList(ids[i], ids[j]))) {
+                                pairs.add(new long[] {ids[i], ids[j]});
+                            }
+                        }
+                    }
+                }
+            }
+            return pairs;
+        }
+
+        /*
+         * Every pair of indexed submissions, for a threshold the bands cannot search with
+         */
+        List<long[]> allPairs() {
+            Long[] ids = signatures.keySet().toArray(new Long[signatures.size()]);
+            Arrays.sort(ids);
+            List<long[]> pairs = new ArrayList<long[]>();
+            for(int i = 0; i < ids.length; i++) {
+                for(int j = i + 1; j < ids.length; j++) {
+                    pairs.add(new long[] {ids[i], ids[j]});
+                }
+            }
+            return pairs;
+        }
+
+        private static void add(List<Map<Long, Set<Long>>> buckets, int rows, Long id, long[] signature) {
+            for(int band = 0; band < buckets.size(); band++) {
+                Long key = bandKey(signature, band, rows);
+                Set<Long> bucket = buckets.get(band).get(key);
+                if(bucket == null) {
+                    bucket = new HashSet<Long>();
+                    buckets.get(band).put(key, bucket);
+                }
+                bucket.add(id);
+            }
+        }
+
+        private void remove(Long id, long[] signature) {
+            for(Map.Entry<Integer, List<Map<Long, Set<Long>>>> layout : layouts.entrySet()) {
+                List<Map<Long, Set<Long>>> buckets = layout.getValue();
+                for(int band = 0; band < buckets.size(); band++) {
+                    Long key = bandKey(signature, band, layout.getKey());
+                    Set<Long> bucket = buckets.get(band).get(key);
+                    bucket.remove(id);
+                    if(bucket.isEmpty()) {
+                        buckets.get(band).remove(key);
+                    }
+                }
+            }
+        }
+
+        /*
+         * Hashes the rows of a band into the key of its bucket
+         */
+        private static long bandKey(long[] signature, int band, int rows) {
+            long key = Hashing.FNV_OFFSET;
+            for(int row = band * rows; row < (band + 1) * rows; row++) {
+                key = Hashing.fnv(key, signature[row]);
+            }
+            return key;
+        }
+    }
+}
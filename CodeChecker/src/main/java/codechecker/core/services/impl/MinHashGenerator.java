@@ -0,0 +1,50 @@
+package codechecker.core.services.impl;
+
+/**
+ * Class to summarize the fingerprint of a submission into a fixed-size MinHash signature.
+ * Two signatures agree at a position with a probability equal to the Jaccard index of the two fingerprints.
+ */
+public class MinHashGenerator {
+    public static final int SIGNATURE_SIZE = 128;
+
+    // fixed seeds, so signatures stored with the submissions stay comparable across restarts
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        long seed = 0x5eedL;
+        for(int i = 0; i < SIGNATURE_SIZE; i++) {
+            seed += Hashing.GOLDEN_GAMMA;
+            SEEDS[i] = Hashing.mix(seed);
+        }
+    }
+
+    /*
+     * Function to calculate the signature of a fingerprint: for each seed, the minimum of the seeded hashcodes
+     */
+    public long[] getSignature(long[] fingerprint) {
+        long[] signature = new long[SIGNATURE_SIZE];
+        for(int i = 0; i < SIGNATURE_SIZE; i++) {
+            long min = Long.MAX_VALUE;
+            for(long hashCode : fingerprint) {
+                long h = Hashing.mix(hashCode ^ SEEDS[i]);
+                if(h < min) {
+                    min = h;
+                }
+            }
+            signature[i] = min;
+        }
+        return signature;
+    }
+
+    /*
+     * Function to tell whether a signature is that of an empty fingerprint, every row of which is Long.MAX_VALUE
+     */
+    public static boolean isEmpty(long[] signature) {
+        for(long row : signature) {
+            if(row != Long.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.util.StageMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Histograms of the latencies of the stages of the compare pipeline and of the sizes of the fingerprints,
+ * shared by the services so a slow compare can be traced to the stage responsible for it.
+ * Stages are named by dotted paths, like parse, normalize.VariableStandardizationVisitor or compare.similarity.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String NANOSECONDS = "ns";
+
+    private final ConcurrentMap<String, StageHistogram> histograms = new ConcurrentHashMap<String, StageHistogram>();
+
+    /**
+     * Records the time a stage took
+     * @param stage the name of the stage
+     * @param start the System.nanoTime() the stage started at
+     */
+    public void recordSince(String stage, long start) {
+        record(stage, NANOSECONDS, System.nanoTime() - start);
+    }
+
+    /**
+     * Records the time parsing a file took, both in total and per KB of source,
+     * as the parse time grows with the size of the submission
+     * @param start the System.nanoTime() parsing started at
+     * @param bytes the size of the parsed file
+     */
+    public void recordParse(long start, long bytes) {
+        long nanos = System.nanoTime() - start;
+        record("parse", NANOSECONDS, nanos);
+        if(bytes > 0) {
+            record("parse.perKB", "ns/KB", nanos * 1024 / bytes);
+        }
+    }
+
+    /**
+     * @param stage the name of the stage
+     * @param unit the unit of the value, only used when the stage is recorded for the first time
+     * @param value to record
+     */
+    public void record(String stage, String unit, long value) {
+        StageHistogram histogram = histograms.get(stage);
+        if(histogram == null) {
+            StageHistogram created = new StageHistogram(unit);
+            histogram = histograms.putIfAbsent(stage, created);
+            if(histogram == null) {
+                histogram = created;
+            }
+        }
+        histogram.record(value);
+    }
+
+    /**
+     * @return a snapshot of every recorded stage, ordered by name
+     */
+    public List<StageMetrics> getStageMetrics() {
+        List<StageMetrics> stages = new ArrayList<StageMetrics>(histograms.size());
+        for(Map.Entry<String, StageHistogram> entry : new TreeMap<String, StageHistogram>(histograms).entrySet()) {
+            StageHistogram histogram = entry.getValue();
+            stages.add(new StageMetrics(entry.getKey(), histogram.getUnit(), histogram.getCount(), histogram.getMean(),
+                    histogram.getPercentile(50), histogram.getPercentile(90), histogram.getPercentile(99),
+                    histogram.getMax()));
+        }
+        return stages;
+    }
+}
@@ -1,8 +1,9 @@
 package codechecker.core.services.impl;
 
 import codechecker.core.services.impl.visitors.HashCodeVisitor;
+import codechecker.core.services.util.SubmissionFingerprint;
 
-import java.util.HashSet;
+import java.nio.LongBuffer;
 
 //Class to obtain the similarity percent between two submissions
 public class SimilarityPercentGenerator {
@@ -11,31 +12,141 @@ public class SimilarityPercentGenerator {
      * Function to calculate the similarity percent based on the hashcodes of the nodes obtained from the two submissions
      */
     public double getSimilarityPercent(HashCodeVisitor crv1, HashCodeVisitor crv2){
-        HashSet<Integer> crvCode1 = crv1.getNodeHashCodes(); //Hashcodes of the nodes from the first submission
-        HashSet<Integer> crvCode2 = crv2.getNodeHashCodes(); //Hashcodes of the nodes from the second submission
-        HashSet<Integer> crvIntersection = this.intersection(crvCode1, crvCode2); //Common hashcodes from both submissions
-        HashSet<Integer> crvDiff1 = this.difference(crvCode1, crvIntersection);//Hashodes of the nodes unique to the first submission
-        HashSet<Integer> crvDiff2 = this.difference(crvCode2, crvIntersection);//Hashodes of the nodes unique to the second submission
-
-        double similarityPercent = (((double) 2 * crvIntersection.size()) / ((2 * crvIntersection.size()) + crvDiff1.size()
-                + crvDiff2.size())) * 100; //Similarity percent calculation
+        return getSimilarityPercent(crv1.getFingerprint(), crv2.getFingerprint());
+    }
+
+    /*
+     * Function to calculate the similarity percent based on the fingerprints cached for the two submissions.
+     * A fingerprint holds the distinct hashcodes of a submission in ascending order (see HashCodeVisitor.getFingerprint),
+     * so the common hashcodes are counted by a single merge, without copying or allocating.
+     */
+    public double getSimilarityPercent(long[] crvCode1, long[] crvCode2){
+        int common = this.intersectionSize(crvCode1, crvCode2); //Common hashcodes from both submissions
+        int diff1 = crvCode1.length - common; //Hashcodes of the nodes unique to the first submission
+        int diff2 = crvCode2.length - common; //Hashcodes of the nodes unique to the second submission
+        if(common + diff1 + diff2 == 0) {
+            return 0; //Nothing of their own, once the starter code is excluded
+        }
+
+        double similarityPercent = (((double) 2 * common) / ((2 * common) + diff1
+                + diff2)) * 100; //Similarity percent calculation
         return similarityPercent;
     }
     
     /*
-     * Function to obtain the common hashcodes from the two given hashsets
+     * Function to calculate the similarity percent of two submissions as the mean of the similarity percent of
+     * their AST node hashcodes, which ignores the order of the code, and of their winnowed token k-grams, which does not
+     */
+    public double getSimilarityPercent(SubmissionFingerprint fingerprint1, SubmissionFingerprint fingerprint2){
+        return (getSimilarityPercent(fingerprint1.getNodeHashCodes(), fingerprint2.getNodeHashCodes())
+                + getSimilarityPercent(fingerprint1.getTokenHashCodes(), fingerprint2.getTokenHashCodes())) / 2;
+    }
+
+    /*
+     * Function to calculate the similarity percent of a submission and an indexed submission,
+     * whose fingerprints are read in place from the index (see SubmissionIndex)
+     */
+    public double getSimilarityPercent(SubmissionFingerprint fingerprint, LongBuffer nodeHashCodes, LongBuffer tokenHashCodes){
+        return (getSimilarityPercent(fingerprint.getNodeHashCodes(), nodeHashCodes)
+                + getSimilarityPercent(fingerprint.getTokenHashCodes(), tokenHashCodes)) / 2;
+    }
+
+    private double getSimilarityPercent(long[] crvCode1, LongBuffer crvCode2){
+        int common = this.intersectionSize(crvCode1, crvCode2);
+        int diff1 = crvCode1.length - common;
+        int diff2 = crvCode2.remaining() - common;
+        if(common + diff1 + diff2 == 0) {
+            return 0;
+        }
+        return (((double) 2 * common) / ((2 * common) + diff1 + diff2)) * 100;
+    }
+
+    /*
+     * Function to calculate the similarity percent of two submissions weighted by how rare their hashcodes are in the
+     * assignment (see DocumentFrequencyTable), as the mean of the weighted similarity of their nodes and their tokens.
+     * The weights are precomputed, so this is still one merge of the sorted hashcodes.
+     */
+    public double getWeightedSimilarityPercent(WeightedFingerprint fingerprint1, WeightedFingerprint fingerprint2){
+        return (getWeightedSimilarityPercent(fingerprint1.getNodeHashCodes(), fingerprint1.getNodeWeights(),
+                fingerprint1.getNodeWeightSum(), fingerprint2.getNodeHashCodes(), fingerprint2.getNodeWeightSum())
+                + getWeightedSimilarityPercent(fingerprint1.getTokenHashCodes(), fingerprint1.getTokenWeights(),
+                fingerprint1.getTokenWeightSum(), fingerprint2.getTokenHashCodes(), fingerprint2.getTokenWeightSum())) / 2;
+    }
+
+    /*
+     * A common hashcode has the same weight in both submissions, so the weights of the first one are enough
+     */
+    private double getWeightedSimilarityPercent(long[] crvCode1, double[] weights1, double weightSum1,
+                                                long[] crvCode2, double weightSum2){
+        if(weightSum1 + weightSum2 == 0) {
+            return 0;
+        }
+        double common = 0;
+        int i = 0;
+        int j = 0;
+        while(i < crvCode1.length && j < crvCode2.length) {
+            if(crvCode1[i] < crvCode2[j]) {
+                i++;
+            } else if(crvCode1[i] > crvCode2[j]) {
+                j++;
+            } else {
+                common += weights1[i];
+                i++;
+                j++;
+            }
+        }
+        return 2 * common / (weightSum1 + weightSum2) * 100;
+    }
+
+    /*
+     * Function to calculate the Jaccard index (common hashcodes over all distinct hashcodes) of two fingerprints
+     */
+    public double getJaccardIndex(long[] crvCode1, long[] crvCode2){
+        int common = this.intersectionSize(crvCode1, crvCode2);
+        int union = crvCode1.length + crvCode2.length - common;
+        return union == 0 ? 0 : (double) common / union;
+    }
+
+    /*
+     * Function to count the hashcodes present in both of the given sorted fingerprints
      */
-    private HashSet<Integer> intersection(HashSet<Integer> crvCode1, HashSet<Integer> crvCode2){
-        HashSet<Integer> crvIntersection = new HashSet<Integer>(crvCode1);
-        crvIntersection.retainAll(crvCode2);
-        return crvIntersection;
+    private int intersectionSize(long[] crvCode1, long[] crvCode2){
+        int common = 0;
+        int i = 0;
+        int j = 0;
+        while(i < crvCode1.length && j < crvCode2.length) {
+            if(crvCode1[i] < crvCode2[j]) {
+                i++;
+            } else if(crvCode1[i] > crvCode2[j]) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
     }
 
     /*
-     * Function to obtain the hashcodes that are unique to the first HashSet in the argument.
+     * Function to count the hashcodes present in both the sorted fingerprint and the sorted buffer, without moving the buffer
      */
-    private HashSet<Integer> difference(HashSet<Integer> crvCode, HashSet<Integer> crvCommon){
-        crvCode.removeAll(crvCommon);
-        return crvCode;
+    private int intersectionSize(long[] crvCode1, LongBuffer crvCode2){
+        int common = 0;
+        int i = 0;
+        int j = crvCode2.position();
+        while(i < crvCode1.length && j < crvCode2.limit()) {
+            long hashCode = crvCode2.get(j);
+            if(crvCode1[i] < hashCode) {
+                i++;
+            } else if(crvCode1[i] > hashCode) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
     }
 }
@@ -0,0 +1,92 @@
+package codechecker.core.services.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of the values recorded for one stage of the pipeline, like its latencies in nanoseconds.
+ * Values are counted in power of two buckets, so recording is a few atomic increments and never allocates;
+ * percentiles are accurate to within a factor of two.
+ */
+public class StageHistogram {
+
+    // bucket b counts the values from 2^(b-1) to 2^b - 1, bucket 0 counts zero and negative values
+    private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    private final String unit;
+
+    /**
+     * @param unit the unit of the recorded values
+     */
+    public StageHistogram(String unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * @param value to record
+     */
+    public void record(long value) {
+        buckets.incrementAndGet(value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long previous = max.get();
+        while(value > previous && !max.compareAndSet(previous, value)) {
+            previous = max.get();
+        }
+    }
+
+    /**
+     * get the unit of the recorded values
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * get the number of recorded values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * get the mean of the recorded values, 0 if there are none
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * get the largest recorded value
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the upper bound of the bucket holding the given percentile of the recorded values, at most the maximum
+     */
+    public long getPercentile(double percentile) {
+        long n = count.get();
+        if(n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100 * n);
+        long seen = 0;
+        for(int b = 0; b < 64; b++) {
+            seen += buckets.get(b);
+            if(seen >= rank) {
+                return Math.min((1L << b) - 1, max.get());
+            }
+        }
+        return max.get();
+    }
+}
@@ -0,0 +1,94 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.models.entities.SubmissionFile;
+import codechecker.core.repositories.AssignmentRepo;
+import codechecker.core.repositories.AssignmentSubmissionRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Removes stored files once nothing refers to their content anymore.
+ * Identical content is stored once, whether it is the file of a submission, one of the files of a project
+ * submission or the starter code of an assignment, so a stored file is only removed when no reference of any
+ * kind is left.
+ * Inside a transaction the references are counted once it has completed, when its own removals are committed,
+ * and while no other transaction that stored the same content is still running (see SubmissionStorage).
+ */
+@Component
+public class StorageReleaser {
+
+    @Autowired
+    private AssignmentSubmissionRepo entryRepo;
+
+    @Autowired
+    private AssignmentRepo assignmentRepo;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    /**
+     * Removes the stored file with the given content once nothing refers to it anymore, after the current
+     * transaction if there is one. After a rollback the references are those committed before it, so the files
+     * stored by a failed upload are released as well.
+     * @param contentHash of the content that lost a reference, or null
+     */
+    public void release(String contentHash) {
+        if(contentHash != null) {
+            releaseAll(Collections.singletonList(contentHash));
+        }
+    }
+
+    /**
+     * Removes the stored files of a project once nothing refers to them anymore, after the current transaction if
+     * there is one, as release does for one file. The content hashes are read now, the files may change meanwhile.
+     * @param files the files of a project submission that were removed or replaced
+     */
+    public void release(List<SubmissionFile> files) {
+        List<String> contentHashes = new ArrayList<String>(files.size());
+        for(SubmissionFile file : files) {
+            contentHashes.add(file.getContentHash());
+        }
+        releaseAll(contentHashes);
+    }
+
+    /*
+     * Function to delete the given files now, or once the current transaction has completed
+     */
+    private void releaseAll(final List<String> contentHashes) {
+        if(contentHashes.isEmpty()) {
+            return;
+        }
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    for(String contentHash : contentHashes) {
+                        delete(contentHash);
+                    }
+                }
+            });
+        } else {
+            for(String contentHash : contentHashes) {
+                delete(contentHash);
+            }
+        }
+    }
+
+    /*
+     * Function to delete the stored file if nothing refers to it, holding its lock so it is not stored meanwhile
+     */
+    private void delete(String contentHash) {
+        synchronized(storage.lock(contentHash)) {
+            if(!storage.isPinned(contentHash) && entryRepo.countContentReferences(contentHash) == 0
+                    && assignmentRepo.countByStarterCodeHash(contentHash) == 0) {
+                storage.delete(contentHash);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package codechecker.core.services.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes the member fingerprints of a stored file, to be kept next to the file under its content hash.
+ * The fingerprints only depend on the content of the file, so a file normalized once is not normalized again when
+ * it is uploaded again, imported into another project, or fingerprinted again after the starter code of its
+ * assignment changed; and the members a re-upload did not change are found among those stored with the previous file.
+ */
+public class StoredFingerprint {
+
+    // increased whenever the normalization or the encoding changes, so fingerprints stored by older versions are ignored
+    private static final int VERSION = 3;
+
+    private StoredFingerprint() {
+    }
+
+    /**
+     * @param members the fingerprints of the parts of a stored file
+     * @return the fingerprints encoded to be stored next to the file
+     */
+    public static byte[] encode(List<MemberFingerprint> members) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(VERSION);
+            out.writeInt(members.size());
+            for(MemberFingerprint member : members) {
+                out.writeLong(member.getMemberHash());
+                out.writeInt(member.getLine());
+                write(out, member.getNodeHashCodes());
+                write(out, member.getRelativeNodeRegions());
+                write(out, member.getTokenHashCodes());
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param encoded the fingerprints as stored, or null
+     * @return the decoded fingerprints of the parts of the file, null if none were stored or they were stored by
+     * another version
+     */
+    public static List<MemberFingerprint> decode(byte[] encoded) {
+        if(encoded == null) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+        try {
+            if(in.readInt() != VERSION) {
+                return null;
+            }
+            int count = in.readInt();
+            List<MemberFingerprint> members = new ArrayList<MemberFingerprint>(count);
+            for(int i = 0; i < count; i++) {
+                long memberHash = in.readLong();
+                int line = in.readInt();
+                long[] nodeHashCodes = read(in);
+                long[] nodeRegions = read(in);
+                long[] tokenHashCodes = read(in);
+                members.add(new MemberFingerprint(memberHash, line, nodeHashCodes, tokenHashCodes, nodeRegions));
+            }
+            return members;
+        } catch (IOException e) {
+            // truncated fingerprints are ignored, the file is normalized again
+            return null;
+        }
+    }
+
+    private static void write(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for(long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    private static long[] read(DataInputStream in) throws IOException {
+        long[] values = new long[in.readInt()];
+        for(int i = 0; i < values.length; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+}
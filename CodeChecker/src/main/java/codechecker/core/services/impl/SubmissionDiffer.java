@@ -0,0 +1,61 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.util.DiffHunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diffs the normalized sources of two submissions for the side-by-side view.
+ * The normalization already aligns the sources: fields, functions and statements are put in a canonical order
+ * and every name and datatype is standardized, so equal code is printed as equal lines and a line diff of the
+ * normalized sources matches it up. The most recent diffs are kept by the content hashes of the two files.
+ */
+@Component
+public class SubmissionDiffer {
+
+    private static final int CACHED_DIFFS = 256;
+
+    @Autowired
+    private SubmissionFingerprinter fingerprinter;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    private final Map<String, List<DiffHunk>> cache = Collections.synchronizedMap(
+            new LinkedHashMap<String, List<DiffHunk>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<DiffHunk>> eldest) {
+                    return size() > CACHED_DIFFS;
+                }
+            });
+
+    /**
+     * @param contentHash of the first stored file
+     * @param otherContentHash of the second stored file
+     * @return the hunks of the diff of the normalized files, or null if one of them cannot be parsed
+     * @throws IOException if a stored file cannot be read
+     */
+    public List<DiffHunk> diff(String contentHash, String otherContentHash) throws IOException {
+        String key = contentHash + ":" + otherContentHash;
+        List<DiffHunk> hunks = cache.get(key);
+        if(hunks == null) {
+            byte[] transformed = fingerprinter.getTransformedSource(contentHash);
+            byte[] otherTransformed = fingerprinter.getTransformedSource(otherContentHash);
+            if(transformed == null || otherTransformed == null) {
+                return null;
+            }
+            long start = System.nanoTime();
+            hunks = Collections.unmodifiableList(
+                    LineDiff.diff(new String(transformed, "UTF-8"), new String(otherTransformed, "UTF-8")));
+            metrics.recordSince("diff", start);
+            cache.put(key, hunks);
+        }
+        return hunks;
+    }
+}
@@ -0,0 +1,338 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.models.entities.Assignment;
+import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.models.entities.SubmissionFile;
+import codechecker.core.repositories.AssignmentSubmissionRepo;
+import codechecker.core.services.util.SubmissionFingerprint;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.CompilationUnit;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Normalizes uploaded submissions and caches the resulting fingerprints on the
+ * AssignmentSubmission entity, so a submission is parsed once per upload instead of once per compare.
+ * The fingerprints of a project submission are the union of those of its files, so a project is compared
+ * with another in one pass, like a single file.
+ */
+@Component
+public class SubmissionFingerprinter {
+    private static final Log LOG = LogFactory.getLog(SubmissionFingerprinter.class);
+
+    @Autowired
+    private AssignmentSubmissionRepo entryRepo;
+
+    @Autowired
+    private ComparisonExecutor executor;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    @Autowired
+    private CompilationUnitCache units;
+
+    private final MinHashGenerator minHashGenerator = new MinHashGenerator();
+
+    /**
+     * Fingerprints the submissions missing from the cache in parallel, one normalization task per
+     * submission on the shared comparison pool, and caches the results on the calling thread.
+     * @param ids of the assignmentSubmissions whose fingerprints are needed
+     * @return the fingerprints of the assignmentSubmissions, in the order of the given ids
+     * @throws FileNotFoundException if no file was uploaded for one of the given ids
+     */
+    public List<SubmissionFingerprint> getFingerprints(List<Long> ids) throws FileNotFoundException {
+        List<AssignmentSubmission> entries = new ArrayList<AssignmentSubmission>(ids.size());
+        for(Long id : ids) {
+            AssignmentSubmission entry = entryRepo.findAssignmentSubmission(id);
+            if(entry == null || !isCached(entry) && entry.getFiles().isEmpty()
+                    && !storage.contains(entry.getContentHash())) {
+                throw new FileNotFoundException("No file was uploaded for assignment submission " + id);
+            }
+            entries.add(entry);
+        }
+        return fingerprintAll(ids, entries, false);
+    }
+
+    /**
+     * Same as getFingerprints, but skips submissions instead of failing on them
+     * @param entries the assignmentSubmissions whose fingerprints are needed
+     * @return the fingerprints of the assignmentSubmissions in the given order,
+     * null for the ones without an uploaded file or whose file cannot be parsed
+     */
+    public List<SubmissionFingerprint> getAvailableFingerprints(List<AssignmentSubmission> entries) {
+        List<Long> ids = new ArrayList<Long>(entries.size());
+        for(AssignmentSubmission entry : entries) {
+            ids.add(entry.getId());
+        }
+        return fingerprintAll(ids, entries, true);
+    }
+
+    /**
+     * Recomputes the cached fingerprints after a (re-)upload, so stale values are never compared.
+     * When another submission with the same content is fingerprinted already, its fingerprints are reused.
+     * Otherwise the fingerprints stored with the file are reused, and of a file uploaded for the first time only the
+     * members that differ from the previous upload are normalized, the others are taken from the member fingerprints
+     * stored with the previous file.
+     * A file that cannot be parsed leaves the cache empty and fails on compare, as before.
+     * @param entry the assignmentSubmission whose file was uploaded, with the content hash of the new file
+     * @param previousHash the content hash of the previously uploaded file, or null
+     * @return the updated assignmentSubmission
+     * @throws FileNotFoundException if the uploaded file is not in the storage
+     * @throws IOException if the uploaded file cannot be read
+     */
+    public AssignmentSubmission refresh(AssignmentSubmission entry, String previousHash) throws IOException {
+        cache(entry, null);
+        for(AssignmentSubmission same : entryRepo.findByContentHash(entry.getContentHash())) {
+            // the cached fingerprints are without the starter code, so only those of the same assignment are reused
+            if(same != entry && isCached(same) && same.getAssignment() == entry.getAssignment()) {
+                cache(entry, new SubmissionFingerprint(
+                        same.getNodeHashCodes(), same.getTokenHashCodes(), same.getNodeRegions()));
+                return entry;
+            }
+        }
+        try {
+            cache(entry, fingerprint(entry.getId(), entry.getContentHash(), previousHash, true));
+        } catch (ParseProblemException e) {
+            // the submission is kept without fingerprints, like one whose file was never uploaded
+            LOG.warn("Cannot parse the file of assignment submission " + entry.getId(), e);
+        }
+        return entry;
+    }
+
+    /**
+     * Starts fingerprinting a stored file on the shared comparison pool, so an import can keep reading its archive
+     * while the files read so far are normalized. The entity is not touched off the request thread: the result is
+     * cached on it with cache once it is done.
+     * @param contentHash of the stored file
+     * @return the pending fingerprints of the file, null if the file cannot be parsed
+     */
+    public Future<SubmissionFingerprint> submit(final String contentHash) {
+        return executor.submit(new Callable<SubmissionFingerprint>() {
+            @Override
+            public SubmissionFingerprint call() throws IOException {
+                try {
+                    return fingerprint(null, contentHash, null, true);
+                } catch (ParseProblemException e) {
+                    return null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Normalizes the stored file for the side-by-side view on its first request only, so neither upload nor
+     * compare writes it. The result is cached in the storage under the content hash, shared by identical uploads.
+     * @param contentHash of the stored file
+     * @return the normalized source, or null if the file cannot be parsed
+     * @throws IOException if the stored file cannot be read or the normalized source cannot be cached
+     */
+    public byte[] getTransformedSource(String contentHash) throws IOException {
+        byte[] transformed = storage.readTransformed(contentHash);
+        if(transformed == null) {
+            CompilationUnit cu;
+            try {
+                cu = units.getNormalized(contentHash);
+            } catch (ParseProblemException e) {
+                return null;
+            }
+            transformed = cu.toString().getBytes("UTF-8");
+            storage.storeTransformed(contentHash, transformed);
+        }
+        return transformed;
+    }
+
+    /*
+     * Normalizes the submissions that are not cached yet concurrently, each id at most once. A project is normalized
+     * file by file, all its files in parallel, and its fingerprint is merged from those of its files.
+     */
+    private List<SubmissionFingerprint> fingerprintAll(List<Long> ids, List<AssignmentSubmission> entries,
+                                                       final boolean skipUnavailable) {
+        Map<Long, SubmissionFingerprint> found = new HashMap<Long, SubmissionFingerprint>();
+        List<Long> missing = new ArrayList<Long>();
+        // the tasks of the i-th missing submission start at taskStarts[i] and end where those of the next one start
+        List<Integer> taskStarts = new ArrayList<Integer>();
+        List<Boolean> projects = new ArrayList<Boolean>();
+        List<Callable<SubmissionFingerprint>> tasks = new ArrayList<Callable<SubmissionFingerprint>>();
+        for(int i = 0; i < ids.size(); i++) {
+            final Long id = ids.get(i);
+            AssignmentSubmission entry = entries.get(i);
+            if(isCached(entry)) {
+                if(entry.getMinHashSignature() == null) {
+                    entry.setMinHashSignature(minHashGenerator.getSignature(entry.getNodeHashCodes()));
+                }
+                found.put(id, new SubmissionFingerprint(
+                        entry.getNodeHashCodes(), entry.getTokenHashCodes(), entry.getNodeRegions()));
+            } else if(!found.containsKey(id) && !missing.contains(id)) {
+                missing.add(id);
+                taskStarts.add(tasks.size());
+                boolean project = entry != null && !entry.getFiles().isEmpty();
+                projects.add(project);
+                if(project) {
+                    // a file of a project that cannot be parsed is left out of the project
+                    for(SubmissionFile file : entry.getFiles()) {
+                        tasks.add(fingerprintTask(id, file.getContentHash(), true));
+                    }
+                } else {
+                    tasks.add(fingerprintTask(id, entry == null ? null : entry.getContentHash(), skipUnavailable));
+                }
+            }
+        }
+        taskStarts.add(tasks.size());
+
+        List<SubmissionFingerprint> computed = executor.invokeAll(tasks);
+        for(int i = 0; i < missing.size(); i++) {
+            List<SubmissionFingerprint> units = computed.subList(taskStarts.get(i), taskStarts.get(i + 1));
+            if(projects.get(i)) {
+                metrics.record("fingerprint.projectFiles", "files", units.size());
+                found.put(missing.get(i), FingerprintMerger.mergeFiles(units));
+            } else {
+                found.put(missing.get(i), units.get(0));
+            }
+        }
+
+        List<SubmissionFingerprint> fingerprints = new ArrayList<SubmissionFingerprint>(ids.size());
+        for(int i = 0; i < ids.size(); i++) {
+            AssignmentSubmission entry = entries.get(i);
+            SubmissionFingerprint fingerprint = found.get(ids.get(i));
+            if(entry != null && !isCached(entry)) {
+                cache(entry, fingerprint);
+            }
+            fingerprints.add(fingerprint);
+        }
+        return fingerprints;
+    }
+
+    /*
+     * Function to create the task normalizing one stored file, which gives null for an unavailable file if allowed to
+     */
+    private Callable<SubmissionFingerprint> fingerprintTask(final Long id, final String contentHash,
+                                                            final boolean skipUnavailable) {
+        return new Callable<SubmissionFingerprint>() {
+            @Override
+            public SubmissionFingerprint call() throws IOException {
+                if(skipUnavailable && !storage.contains(contentHash)) {
+                    return null;
+                }
+                try {
+                    return fingerprint(id, contentHash, null, false);
+                } catch (ParseProblemException e) {
+                    if(skipUnavailable) {
+                        return null;
+                    }
+                    throw e;
+                }
+            }
+        };
+    }
+
+    private boolean isCached(AssignmentSubmission entry) {
+        return entry != null && entry.getNodeHashCodes() != null && entry.getTokenHashCodes() != null
+                && entry.getNodeRegions() != null;
+    }
+
+    /**
+     * Caches the fingerprints on the entity together with the MinHash signature of the node hash codes.
+     * The fingerprints of the starter code of its assignment are excluded here, once per upload, so every compare,
+     * the band index and the submission index only see the code the student wrote.
+     * @param entry the assignmentSubmission the fingerprints were computed for
+     * @param fingerprint the fingerprints of its file, or null to clear the cache
+     */
+    public void cache(AssignmentSubmission entry, SubmissionFingerprint fingerprint) {
+        Assignment assignment = entry.getAssignment();
+        if(fingerprint != null && assignment != null && assignment.getStarterNodeHashCodes() != null) {
+            long start = System.nanoTime();
+            fingerprint = FingerprintMerger.exclude(fingerprint, assignment.getStarterNodeHashCodes(),
+                    assignment.getStarterTokenHashCodes());
+            metrics.recordSince("fingerprint.excludeStarterCode", start);
+        }
+        if(fingerprint == null) {
+            entry.setNodeHashCodes(null);
+            entry.setTokenHashCodes(null);
+            entry.setNodeRegions(null);
+            entry.setMinHashSignature(null);
+        } else {
+            entry.setNodeHashCodes(fingerprint.getNodeHashCodes());
+            entry.setTokenHashCodes(fingerprint.getTokenHashCodes());
+            entry.setNodeRegions(fingerprint.getNodeRegions());
+            entry.setMinHashSignature(minHashGenerator.getSignature(fingerprint.getNodeHashCodes()));
+        }
+    }
+
+    /**
+     * Normalizes a parsed file member by member and winnows the tokens of each member, every stage timed on its own.
+     * Variables and functions are numbered within each member, see MemberFingerprinter.
+     * @param cu the parsed file, normalized in place
+     * @return the fingerprints of the file, with the regions of its node hash codes
+     */
+    public SubmissionFingerprint fingerprint(CompilationUnit cu) {
+        return merge(new MemberFingerprinter(metrics).fingerprint(cu, new HashMap<Long, MemberFingerprint>()));
+    }
+
+    /*
+     * Takes the fingerprints stored with the file, or normalizes the members of the file that are not stored with the
+     * previous file. The fingerprints are only stored when the file is uploaded, so a compare or a view never writes
+     * to the storage.
+     */
+    private SubmissionFingerprint fingerprint(Long id, String contentHash, String previousHash, boolean store)
+            throws IOException {
+        if(contentHash == null) {
+            throw new FileNotFoundException("No file was uploaded for assignment submission " + id);
+        }
+        long start = System.nanoTime();
+        List<MemberFingerprint> stored = StoredFingerprint.decode(storage.readFingerprint(contentHash));
+        Map<Long, MemberFingerprint> known = new HashMap<Long, MemberFingerprint>();
+        if(stored == null && previousHash != null && !previousHash.equals(contentHash)) {
+            List<MemberFingerprint> previous = StoredFingerprint.decode(storage.readFingerprint(previousHash));
+            if(previous != null) {
+                for(MemberFingerprint member : previous) {
+                    known.put(member.getMemberHash(), member);
+                }
+            }
+        }
+        metrics.recordSince("storage.readFingerprint", start);
+        if(stored != null) {
+            metrics.record("fingerprint.storedFiles", "files", 1);
+            return merge(stored);
+        }
+
+        // the members are taken out of the unit, so the shared parsed unit is copied
+        MemberFingerprinter memberFingerprinter = new MemberFingerprinter(metrics);
+        List<MemberFingerprint> members =
+                memberFingerprinter.fingerprint(CompilationUnitCache.copy(units.getParsed(contentHash)), known);
+        metrics.record("fingerprint.normalizedFiles", "files", 1);
+        metrics.record("fingerprint.normalizedMembers", "members", memberFingerprinter.getNormalizedMembers());
+        metrics.record("fingerprint.reusedMembers", "members",
+                members.size() - 1 - memberFingerprinter.getNormalizedMembers());
+
+        if(store) {
+            start = System.nanoTime();
+            storage.storeFingerprint(contentHash, StoredFingerprint.encode(members));
+            metrics.recordSince("storage.write", start);
+        }
+        return merge(members);
+    }
+
+    private SubmissionFingerprint merge(List<MemberFingerprint> members) {
+        long start = System.nanoTime();
+        SubmissionFingerprint fingerprint = FingerprintMerger.mergeMembers(members);
+        metrics.recordSince("fingerprint.mergeMembers", start);
+        metrics.record("fingerprint.nodeHashCodes", "hash codes", fingerprint.getNodeHashCodes().length);
+        metrics.record("fingerprint.tokenHashCodes", "hash codes", fingerprint.getTokenHashCodes().length);
+        return fingerprint;
+    }
+}
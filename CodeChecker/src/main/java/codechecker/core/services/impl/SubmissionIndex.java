@@ -0,0 +1,429 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.services.util.SimilarSubmission;
+import codechecker.core.services.util.SubmissionFingerprint;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from the winnowed hash codes of the submissions of all assignments to the submissions they occur in,
+ * used to find the earlier solutions a new submission reuses.
+ *
+ * The index is kept off the heap in append-only segment files (see IndexSegment) that are read through memory
+ * mappings, so a lookup scans mapped pages in place and the heap does not grow with the number of indexed submissions.
+ * Every indexed submission, or every batch of submissions indexed together, is written as a new segment, and
+ * MERGE_FACTOR segments of the same level are merged into one segment of the next level, so a lookup reads a
+ * logarithmic number of segments. A removed submission is written to an append-only log, and left out of its segments
+ * when they are merged. The segments and the removed submissions are published together as one immutable Snapshot, so
+ * a lookup reads segments and removals of the same moment while they are merged and pruned.
+ * The root directory is configured in business-config.xml. The index is rebuilt from the database on startup
+ * (see SubmissionIndexLoader), as the ids of an in-memory database start over while the segment files remain.
+ */
+public class SubmissionIndex {
+    private static final String REMOVED_LOG = "removed.log";
+
+    private static final int MERGE_FACTOR = 8;
+
+    // a segment is mapped as a whole, so segments are not merged beyond what a single mapping can hold
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    // hash codes shared by more than this fraction of the indexed submissions are boilerplate, not evidence of reuse
+    private static final double MAX_HASH_CODE_FREQUENCY = 0.05;
+
+    // hash codes shared by at most this many submissions are always looked up, however few submissions are indexed
+    private static final int MIN_HASH_CODE_FREQUENCY = 20;
+
+    // the number of candidates sharing the most hash codes that are compared exactly, per requested submission
+    private static final int CANDIDATES_PER_RESULT = 4;
+
+    private File root;
+
+    // the segments and the removed submissions, replaced as a whole so lookups can read them without locking
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private long nextSeq = 1;
+
+    private volatile int liveCount;
+
+    private DataOutputStream removedLog;
+
+    /**
+     * @param root the directory the segment files are stored under
+     */
+    public void setRoot(File root) {
+        this.root = root;
+    }
+
+    /**
+     * Maps the segments written before, finishing merges that were interrupted
+     * @throws IOException if the index cannot be read
+     */
+    public synchronized void open() throws IOException {
+        FileUtils.forceMkdir(root);
+        List<IndexSegment> found = new ArrayList<IndexSegment>();
+        for(File file : root.listFiles()) {
+            if(file.getName().endsWith(".tmp")) {
+                FileUtils.deleteQuietly(file);
+            } else if(file.getName().endsWith(IndexSegment.SUFFIX)) {
+                found.add(IndexSegment.open(file));
+            }
+        }
+        // a segment whose sequence number lies in the range of a merged segment was merged into it already
+        List<IndexSegment> current = new ArrayList<IndexSegment>();
+        for(IndexSegment segment : found) {
+            boolean merged = false;
+            for(IndexSegment other : found) {
+                merged |= other.getFirstSeq() <= segment.getSeq() && segment.getSeq() < other.getSeq();
+            }
+            if(merged) {
+                segment.delete();
+            } else {
+                current.add(segment);
+                nextSeq = Math.max(nextSeq, segment.getSeq() + 1);
+            }
+        }
+        Collections.sort(current, new Comparator<IndexSegment>() {
+            @Override
+            public int compare(IndexSegment segment, IndexSegment other) {
+                return segment.getSeq() < other.getSeq() ? -1 : segment.getSeq() > other.getSeq() ? 1 : 0;
+            }
+        });
+
+        Map<Long, Long> removed = new HashMap<Long, Long>();
+        File log = new File(root, REMOVED_LOG);
+        if(log.isFile()) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(log)));
+            try {
+                while(true) {
+                    long submissionId = in.readLong();
+                    removed.put(submissionId, in.readLong());
+                }
+            } catch (EOFException e) {
+                // end of the log, or a record that was cut off and never acknowledged
+            } finally {
+                IOUtils.closeQuietly(in);
+            }
+        }
+        removedLog = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(log, true)));
+        snapshot = new Snapshot(current, removed);
+
+        int count = 0;
+        for(IndexSegment segment : current) {
+            for(int row = 0; row < segment.getSubmissionCount(); row++) {
+                if(segment.isLive(segment.submissionId(row), removed)) {
+                    count++;
+                }
+            }
+        }
+        liveCount = count;
+    }
+
+    /**
+     * Removes every submission from the index and deletes its files, so it can be rebuilt from the database
+     * @throws IOException if the files of the index cannot be deleted
+     */
+    public synchronized void clear() throws IOException {
+        IOUtils.closeQuietly(removedLog);
+        snapshot = Snapshot.EMPTY;
+        nextSeq = 1;
+        liveCount = 0;
+        FileUtils.cleanDirectory(root);
+        removedLog = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(new File(root, REMOVED_LOG))));
+    }
+
+    /**
+     * Closes the log of removed submissions
+     */
+    public synchronized void close() {
+        IOUtils.closeQuietly(removedLog);
+    }
+
+    /**
+     * Replaces the indexed fingerprints of a submission
+     * @param submissionId the id of the submission
+     * @param assignmentId the id of the assignment of the submission, or null
+     * @param fingerprint the fingerprints of the submission
+     * @throws IOException if the index cannot be written
+     */
+    public void index(Long submissionId, Long assignmentId, SubmissionFingerprint fingerprint)
+            throws IOException {
+        index(Collections.singletonList(submissionId), assignmentId, Collections.singletonList(fingerprint));
+    }
+
+    /**
+     * Replaces the indexed fingerprints of submissions of one assignment, written as one segment synced once,
+     * instead of one segment per submission
+     * @param submissionIds the distinct ids of the submissions
+     * @param assignmentId the id of the assignment of the submissions, or null
+     * @param fingerprints the fingerprints of the submissions, in the order of their ids
+     * @throws IOException if the index cannot be written
+     */
+    public synchronized void index(List<Long> submissionIds, Long assignmentId, List<SubmissionFingerprint> fingerprints)
+            throws IOException {
+        if(submissionIds.isEmpty()) {
+            return;
+        }
+        remove(submissionIds);
+        long seq = nextSeq++;
+        IndexSegment segment = IndexSegment.create(IndexSegment.file(root, seq, seq, 0), submissionIds, assignmentId,
+                fingerprints);
+        List<IndexSegment> current = new ArrayList<IndexSegment>(snapshot.segments);
+        current.add(segment);
+        snapshot = new Snapshot(current, snapshot.removed);
+        liveCount += submissionIds.size();
+        merge();
+    }
+
+    /**
+     * Removes a submission from the index, nothing happens if it is not indexed
+     * @param submissionId the id of the submission
+     * @throws IOException if the index cannot be written
+     */
+    public synchronized void remove(Long submissionId) throws IOException {
+        remove(Collections.singletonList(submissionId));
+    }
+
+    /*
+     * Removes the indexed ones of the given submissions, publishing the removals at once
+     */
+    private void remove(List<Long> submissionIds) throws IOException {
+        Snapshot current = snapshot;
+        Map<Long, Long> removed = null;
+        long seq = nextSeq - 1;
+        for(Long submissionId : submissionIds) {
+            if(find(current, submissionId) == null) {
+                continue;
+            }
+            if(removed == null) {
+                removed = new HashMap<Long, Long>(current.removed);
+            }
+            removedLog.writeLong(submissionId);
+            removedLog.writeLong(seq);
+            removed.put(submissionId, seq);
+            liveCount--;
+        }
+        if(removed != null) {
+            removedLog.flush();
+            snapshot = new Snapshot(current.segments, removed);
+        }
+    }
+
+    /**
+     * @return the number of indexed submissions
+     */
+    public int countIndexedSubmissions() {
+        return liveCount;
+    }
+
+    /**
+     * The posting lists of the winnowed hash codes give the number of hash codes every indexed submission shares
+     * with the given fingerprint. Only the candidates sharing the most hash codes are compared exactly, reading their
+     * fingerprints in place from the mapped segments.
+     * @param submissionId the id of the submission the fingerprint belongs to, left out of the result
+     * @param assignmentId the id of the assignment whose submissions are left out of the result, or null
+     * @param fingerprint the fingerprints to look up
+     * @param limit the maximum number of similar submissions
+     * @return the most similar indexed submissions, the most similar one first
+     */
+    public List<SimilarSubmission> findSimilar(Long submissionId, Long assignmentId, SubmissionFingerprint fingerprint,
+                                               int limit) {
+        Snapshot snapshot = this.snapshot;
+        List<IndexSegment> current = snapshot.segments;
+        int maxFrequency = (int) Math.max(MIN_HASH_CODE_FREQUENCY,
+                countIndexedSubmissions() * MAX_HASH_CODE_FREQUENCY);
+
+        final Map<Long, int[]> shared = new HashMap<Long, int[]>();
+        int[] found = new int[current.size()];
+        for(long hashCode : fingerprint.getTokenHashCodes()) {
+            int frequency = 0;
+            for(int s = 0; s < current.size(); s++) {
+                IndexSegment segment = current.get(s);
+                found[s] = segment.findHashCode(hashCode);
+                if(found[s] >= 0) {
+                    frequency += segment.postingEnd(found[s]) - segment.postingStart(found[s]);
+                }
+            }
+            if(frequency > maxFrequency) {
+                continue;
+            }
+            for(int s = 0; s < current.size(); s++) {
+                IndexSegment segment = current.get(s);
+                if(found[s] < 0) {
+                    continue;
+                }
+                for(int p = segment.postingStart(found[s]); p < segment.postingEnd(found[s]); p++) {
+                    long candidate = segment.posting(p);
+                    if(candidate != submissionId && segment.isLive(candidate, snapshot.removed)) {
+                        int[] count = shared.get(candidate);
+                        if(count == null) {
+                            shared.put(candidate, new int[] {1});
+                        } else {
+                            count[0]++;
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Long> candidateIds = new ArrayList<Long>(shared.keySet());
+        Collections.sort(candidateIds, new Comparator<Long>() {
+            @Override
+            public int compare(Long candidate, Long other) {
+                return shared.get(other)[0] - shared.get(candidate)[0];
+            }
+        });
+        SimilarityPercentGenerator spg = new SimilarityPercentGenerator();
+        List<SimilarSubmission> similar = new ArrayList<SimilarSubmission>();
+        int compared = 0;
+        for(Iterator<Long> it = candidateIds.iterator(); it.hasNext() && compared < limit * CANDIDATES_PER_RESULT; ) {
+            Long candidate = it.next();
+            Location location = find(snapshot, candidate);
+            if(location == null) {
+                continue;
+            }
+            Long candidateAssignmentId = location.segment.assignmentId(location.row);
+            if(assignmentId != null && assignmentId.equals(candidateAssignmentId)) {
+                continue;
+            }
+            compared++;
+            similar.add(new SimilarSubmission(candidate, candidateAssignmentId, spg.getSimilarityPercent(fingerprint,
+                    location.segment.nodeHashCodes(location.row), location.segment.tokenHashCodes(location.row))));
+        }
+        Collections.sort(similar, new Comparator<SimilarSubmission>() {
+            @Override
+            public int compare(SimilarSubmission submission, SimilarSubmission other) {
+                return Double.compare(other.getSimilarityPercent(), submission.getSimilarityPercent());
+            }
+        });
+        return similar.subList(0, Math.min(similar.size(), limit));
+    }
+
+    /*
+     * Merges the newest segments as long as the MERGE_FACTOR newest ones have the same level
+     */
+    private void merge() throws IOException {
+        while(snapshot.segments.size() >= MERGE_FACTOR) {
+            List<IndexSegment> segments = snapshot.segments;
+            List<IndexSegment> inputs = segments.subList(segments.size() - MERGE_FACTOR, segments.size());
+            int level = inputs.get(0).getLevel();
+            long bytes = 0;
+            for(IndexSegment input : inputs) {
+                if(input.getLevel() != level) {
+                    return;
+                }
+                bytes += input.getSizeInBytes();
+            }
+            if(bytes > MAX_SEGMENT_BYTES) {
+                return;
+            }
+            long seq = nextSeq++;
+            IndexSegment merged = IndexSegment.merge(
+                    IndexSegment.file(root, seq, inputs.get(0).getFirstSeq(), level + 1), inputs, snapshot.removed);
+            List<IndexSegment> current = new ArrayList<IndexSegment>(segments.subList(0, segments.size() - MERGE_FACTOR));
+            current.add(merged);
+            snapshot = new Snapshot(current, snapshot.removed);
+            // lookups still reading the inputs keep their mappings, and the removals of their snapshot
+            for(IndexSegment input : inputs) {
+                input.delete();
+            }
+            pruneRemoved();
+        }
+    }
+
+    /*
+     * Forgets the removed submissions once every segment they were removed from is merged, rewriting the log.
+     * Lookups that started before keep the removals of their snapshot, as they may still read the merged segments.
+     */
+    private void pruneRemoved() throws IOException {
+        Snapshot current = snapshot;
+        long oldest = Long.MAX_VALUE;
+        for(IndexSegment segment : current.segments) {
+            oldest = Math.min(oldest, segment.getSeq());
+        }
+        Map<Long, Long> removed = new HashMap<Long, Long>();
+        for(Map.Entry<Long, Long> entry : current.removed.entrySet()) {
+            if(entry.getValue() >= oldest) {
+                removed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if(removed.size() == current.removed.size()) {
+            return;
+        }
+        File log = new File(root, REMOVED_LOG);
+        File temporary = new File(root, REMOVED_LOG + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+        try {
+            for(Map.Entry<Long, Long> entry : removed.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        } finally {
+            out.close();
+        }
+        removedLog.close();
+        if(!temporary.renameTo(log) && (!log.delete() || !temporary.renameTo(log))) {
+            throw new IOException("Cannot write " + log.getPath());
+        }
+        removedLog = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(log, true)));
+        snapshot = new Snapshot(current.segments, removed);
+    }
+
+    /*
+     * Finds the live row of the given submission, searching the newest segments first
+     */
+    private static Location find(Snapshot current, long submissionId) {
+        for(int s = current.segments.size() - 1; s >= 0; s--) {
+            IndexSegment segment = current.segments.get(s);
+            int row = segment.findSubmission(submissionId);
+            if(row >= 0 && segment.isLive(submissionId, current.removed)) {
+                return new Location(segment, row);
+            }
+        }
+        return null;
+    }
+
+    /*
+     * The segments from oldest to newest, and the sequence number of the newest segment each removed submission is
+     * removed from, by submission id, as they were at one moment. Both are built anew for every snapshot and neither
+     * is changed once published.
+     */
+    private static class Snapshot {
+        private static final Snapshot EMPTY =
+                new Snapshot(Collections.<IndexSegment>emptyList(), Collections.<Long, Long>emptyMap());
+
+        private final List<IndexSegment> segments;
+        private final Map<Long, Long> removed;
+
+        Snapshot(List<IndexSegment> segments, Map<Long, Long> removed) {
+            this.segments = segments;
+            this.removed = removed;
+        }
+    }
+
+    private static class Location {
+        private final IndexSegment segment;
+        private final int row;
+
+        Location(IndexSegment segment, int row) {
+            this.segment = segment;
+            this.row = row;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.repositories.AssignmentSubmissionRepo;
+import codechecker.core.services.util.SubmissionFingerprint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Rebuilds the SubmissionIndex from the fingerprints cached on the submissions once the application has started.
+ * The segment files outlive a restart but the in-memory database does not, so without the rebuild the index would
+ * find submissions that are gone, under ids that new submissions are given again.
+ */
+@Component
+public class SubmissionIndexLoader implements ApplicationListener<ContextRefreshedEvent> {
+
+    @Autowired
+    private AssignmentSubmissionRepo entryRepo;
+
+    @Autowired
+    private SubmissionIndex index;
+
+    /**
+     * Rebuilds the index once, when the root application context is refreshed
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if(event.getApplicationContext().getParent() != null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot rebuild the submission index", e);
+        }
+    }
+
+    /**
+     * Clears the index and indexes every submission whose fingerprints are cached
+     * @throws IOException if the index cannot be written
+     */
+    public void rebuild() throws IOException {
+        index.clear();
+        for(AssignmentSubmission entry : entryRepo.findAllAssignmentSubmissions()) {
+            if(entry.getNodeHashCodes() != null && entry.getTokenHashCodes() != null) {
+                index.index(entry.getId(), entry.getAssignment() == null ? null : entry.getAssignment().getId(),
+                        new SubmissionFingerprint(entry.getNodeHashCodes(), entry.getTokenHashCodes()));
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package codechecker.core.services.impl;
+
+import codechecker.core.models.entities.SubmissionFile;
+import codechecker.core.services.exceptions.FileTooLargeException;
+import org.apache.commons.io.FileUtils;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content-addressed store of uploaded submission files.
+ * A file is stored once under the SHA-256 hash of its content, so identical uploads (starter code, resubmissions)
+ * share one file, and two submissions with the same content hash are known to be identical without reading them.
+ * The normalized form of a file, shown by the side-by-side view, is cached next to it under the same hash,
+ * and so are its fingerprints, so a file is normalized once however often it is uploaded or fingerprinted again.
+ * The files of a project submission are stored one by one, see projectHash.
+ * A file stored in a transaction is pinned until the transaction completes, so the StorageReleaser of another
+ * transaction, which cannot see the uncommitted reference to it yet, does not delete it in the meantime.
+ * The root directory is configured in business-config.xml.
+ */
+public class SubmissionStorage {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private File root;
+
+    private long maxFileSize = Long.MAX_VALUE;
+
+    // storing and deleting the same content is serialized on one of these, chosen by content hash
+    private final Object[] locks = new Object[64];
+
+    // the number of uncompleted transactions that stored each content hash
+    private final Map<String, Integer> pinned = new HashMap<String, Integer>();
+
+    public SubmissionStorage() {
+        for(int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * @param root the directory the submission files are stored under
+     */
+    public void setRoot(File root) {
+        this.root = root;
+    }
+
+    /**
+     * @param maxFileSize the largest file in bytes that is stored, the same as the upload limit of the multipart resolver
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Stores the given content, unless content with the same hash is stored already
+     * @param content of the uploaded file
+     * @return the content hash the content is stored under
+     * @throws FileTooLargeException if the content is larger than the maximum file size
+     * @throws IOException if the content cannot be written
+     */
+    public String store(byte[] content) throws IOException {
+        return store(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Streams the given content to a temporary file through a fixed buffer, hashing and counting it on the way, and
+     * moves the file to its content hash, unless content with the same hash is stored already. Only the buffer is held
+     * in memory however large the upload is. The stream is read to its end but not closed. Inside a transaction the
+     * content is pinned until the transaction completes.
+     * @param content of the uploaded file
+     * @return the content hash the content is stored under
+     * @throws FileTooLargeException if the content is larger than the maximum file size, nothing is stored then
+     * @throws IOException if the content cannot be read or written
+     */
+    public String store(InputStream content) throws IOException {
+        MessageDigest digest = newDigest();
+        if(!root.isDirectory() && !root.mkdirs() && !root.isDirectory()) {
+            throw new IOException("Cannot create " + root.getPath());
+        }
+        File temporary = File.createTempFile("upload", ".tmp", root);
+        try {
+            OutputStream out = new FileOutputStream(temporary);
+            try {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                long size = 0;
+                for(int read = content.read(buffer); read != -1; read = content.read(buffer)) {
+                    size += read;
+                    if(size > maxFileSize) {
+                        throw new FileTooLargeException("Uploaded file is larger than " + maxFileSize + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                out.close();
+            }
+
+            String contentHash = hex(digest.digest());
+            File file = file(contentHash);
+            synchronized(lock(contentHash)) {
+                if(!file.isFile()) {
+                    file.getParentFile().mkdirs();
+                    if(!temporary.renameTo(file) && !file.isFile()) {
+                        throw new IOException("Cannot store " + file.getPath());
+                    }
+                }
+                pin(contentHash);
+            }
+            return contentHash;
+        } finally {
+            FileUtils.deleteQuietly(temporary);
+        }
+    }
+
+    /**
+     * The content hash of a project is the hash of the paths and the content hashes of its files, so two projects
+     * with the same hash are known to be identical as well. Nothing is stored under it: the files are stored one by one.
+     * @param files of the project, in any order
+     * @return the content hash of the project
+     */
+    public String projectHash(List<SubmissionFile> files) {
+        List<SubmissionFile> sorted = new ArrayList<SubmissionFile>(files);
+        Collections.sort(sorted, new Comparator<SubmissionFile>() {
+            @Override
+            public int compare(SubmissionFile file, SubmissionFile other) {
+                return file.getPath().compareTo(other.getPath());
+            }
+        });
+        MessageDigest digest = newDigest();
+        for(SubmissionFile file : sorted) {
+            digest.update((file.getContentHash() + " " + file.getPath() + "\n").getBytes(UTF_8));
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Caches the normalized form of the content stored under the given hash
+     * @param contentHash of the stored content
+     * @param transformed the normalized content
+     * @throws IOException if the normalized content cannot be written
+     */
+    public void storeTransformed(String contentHash, byte[] transformed) throws IOException {
+        write(transformedFile(contentHash), transformed);
+    }
+
+    /**
+     * @param contentHash of the stored content
+     * @return the cached normalized form of the content, or null if it has not been cached
+     * @throws IOException if the cached file cannot be read
+     */
+    public byte[] readTransformed(String contentHash) throws IOException {
+        File file = transformedFile(contentHash);
+        return file.isFile() ? FileUtils.readFileToByteArray(file) : null;
+    }
+
+    /**
+     * Stores the encoded fingerprints of the content stored under the given hash
+     * @param contentHash of the stored content
+     * @param fingerprint the encoded fingerprints
+     * @throws IOException if the fingerprints cannot be written
+     */
+    public void storeFingerprint(String contentHash, byte[] fingerprint) throws IOException {
+        write(fingerprintFile(contentHash), fingerprint);
+    }
+
+    /**
+     * @param contentHash of the stored content
+     * @return the encoded fingerprints of the content, or null if they have not been stored
+     * @throws IOException if the stored file cannot be read
+     */
+    public byte[] readFingerprint(String contentHash) throws IOException {
+        File file = fingerprintFile(contentHash);
+        return file.isFile() ? FileUtils.readFileToByteArray(file) : null;
+    }
+
+    /**
+     * @param contentHash of the stored content
+     * @return the stored content
+     * @throws FileNotFoundException if no content is stored under the given hash
+     */
+    public byte[] read(String contentHash) throws IOException {
+        File file = file(contentHash);
+        if(!file.isFile()) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        return FileUtils.readFileToByteArray(file);
+    }
+
+    /**
+     * @param contentHash of the content
+     * @return whether content is stored under the given hash
+     */
+    public boolean contains(String contentHash) {
+        return contentHash != null && file(contentHash).isFile();
+    }
+
+    /**
+     * Removes the content stored under the given hash, once no submission refers to it anymore
+     * @param contentHash of the content to remove
+     */
+    public void delete(String contentHash) {
+        FileUtils.deleteQuietly(file(contentHash));
+        FileUtils.deleteQuietly(transformedFile(contentHash));
+        FileUtils.deleteQuietly(fingerprintFile(contentHash));
+    }
+
+    /*
+     * Function to return the lock that storing and deleting the given content hold
+     */
+    Object lock(String contentHash) {
+        return locks[(contentHash.hashCode() & 0x7fffffff) % locks.length];
+    }
+
+    /*
+     * Function to tell whether a transaction that has not completed yet stored the given content
+     */
+    boolean isPinned(String contentHash) {
+        synchronized(pinned) {
+            return pinned.containsKey(contentHash);
+        }
+    }
+
+    /*
+     * Function to pin the given content until the current transaction completes. The pin is released before the
+     * other synchronizations of the transaction run, so the transaction can release what it stored itself.
+     */
+    private void pin(final String contentHash) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        synchronized(pinned) {
+            Integer count = pinned.get(contentHash);
+            pinned.put(contentHash, count == null ? 1 : count + 1);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                synchronized(pinned) {
+                    int count = pinned.get(contentHash);
+                    if(count == 1) {
+                        pinned.remove(contentHash);
+                    } else {
+                        pinned.put(contentHash, count - 1);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @param contentHash of the content
+     * @return the file the content with the given hash is stored in, fanned out over subdirectories by hash prefix
+     */
+    public File file(String contentHash) {
+        return new File(new File(root, contentHash.substring(0, 2)), contentHash + ".java");
+    }
+
+    private File transformedFile(String contentHash) {
+        return new File(new File(root, contentHash.substring(0, 2)), contentHash + "_transformed.java");
+    }
+
+    private File fingerprintFile(String contentHash) {
+        return new File(new File(root, contentHash.substring(0, 2)), contentHash + "_fingerprint.bin");
+    }
+
+    /*
+     * Function to write a file next to its final name and rename it, so a partly written file is never read
+     */
+    private static void write(File file, byte[] content) throws IOException {
+        File temporary = new File(file.getParentFile(), file.getName() + "." + Thread.currentThread().getId() + ".tmp");
+        FileUtils.writeByteArrayToFile(temporary, content);
+        if(!temporary.renameTo(file) && !file.isFile()) {
+            FileUtils.deleteQuietly(temporary);
+            throw new IOException("Cannot store " + file.getPath());
+        }
+        FileUtils.deleteQuietly(temporary);
+    }
+
+    /*
+     * Function to hex encode a SHA-256 hash
+     */
+    private static String hex(byte[] digest) {
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for(byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
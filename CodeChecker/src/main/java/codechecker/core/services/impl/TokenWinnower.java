@@ -0,0 +1,157 @@
+package codechecker.core.services.impl;
+
+import java.util.Arrays;
+
+/**
+ * Class to fingerprint the token stream of a normalized submission by winnowing its k-grams.
+ *
+ * The source is tokenized in a single pass (identifiers, keywords, literals and single-character operators),
+ * each K consecutive tokens are hashed with a rolling hash, and of every WINDOW consecutive k-gram hashes the
+ * rightmost minimum is selected. Any match of at least WINDOW + K - 1 tokens is then guaranteed to share a
+ * fingerprint, and matches shorter than K tokens are ignored as noise.
+ */
+public class TokenWinnower {
+    public static final int K = 5;
+    public static final int WINDOW = 4;
+
+    // the base of the rolling hash of the k-grams
+    private static final long BASE = Hashing.FNV_PRIME;
+
+    /*
+     * Function to obtain the winnowed fingerprint of the given source, sorted and without duplicates
+     */
+    public long[] getFingerprint(CharSequence source) {
+        Winnow winnow = new Winnow();
+        int length = source.length();
+        int i = 0;
+        while(i < length) {
+            char c = source.charAt(i);
+            if(Character.isWhitespace(c)) {
+                i++;
+            } else if(c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                while(i < length && source.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if(c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                i += 2;
+                while(i < length && !(source.charAt(i) == '*' && i + 1 < length && source.charAt(i + 1) == '/')) {
+                    i++;
+                }
+                i += 2;
+            } else if(Character.isJavaIdentifierStart(c) || Character.isDigit(c)) {
+                long h = Hashing.FNV_OFFSET;
+                while(i < length && (Character.isJavaIdentifierPart(source.charAt(i)) || source.charAt(i) == '.'
+                        && Character.isDigit(c))) {
+                    h = Hashing.fnv(h, source.charAt(i));
+                    i++;
+                }
+                winnow.token(h);
+            } else if(c == '"' || c == '\'') {
+                long h = Hashing.fnv(Hashing.FNV_OFFSET, c);
+                i++;
+                while(i < length && source.charAt(i) != c) {
+                    if(source.charAt(i) == '\\' && i + 1 < length) {
+                        h = Hashing.fnv(h, source.charAt(i));
+                        i++;
+                    }
+                    h = Hashing.fnv(h, source.charAt(i));
+                    i++;
+                }
+                i++;
+                winnow.token(h);
+            } else {
+                winnow.token(Hashing.fnv(Hashing.FNV_OFFSET, c));
+                i++;
+            }
+        }
+        return winnow.finish();
+    }
+
+    /*
+     * The rolling k-gram hash and the winnowing window, fed one token at a time
+     */
+    private static class Winnow {
+        private static final long BASE_POWER_K = power(BASE, K);
+
+        private final long[] tokens = new long[K];
+        private int tokenCount = 0;
+        private long kgram = 0;
+
+        // monotone queue of the window: increasing hashes, the front is the rightmost minimum
+        private final long[] queueHashes = new long[WINDOW];
+        private final long[] queuePositions = new long[WINDOW];
+        private int queueStart = 0;
+        private int queueSize = 0;
+        private long kgramCount = 0;
+        private long lastSelected = -1;
+
+        private long[] selected = new long[64];
+        private int selectedCount = 0;
+
+        void token(long hash) {
+            int slot = tokenCount % K;
+            kgram = kgram * BASE + hash - (tokenCount >= K ? tokens[slot] * BASE_POWER_K : 0);
+            tokens[slot] = hash;
+            tokenCount++;
+            if(tokenCount >= K) {
+                kgram(Hashing.mix(kgram));
+            }
+        }
+
+        long[] finish() {
+            if(kgramCount > 0 && kgramCount < WINDOW) {
+                // too few tokens for a whole window, the minimum of all k-grams is selected
+                select(queuePositions[queueStart], queueHashes[queueStart]);
+            } else if(tokenCount > 0 && tokenCount < K) {
+                // too few tokens for a whole k-gram, the tokens are hashed together
+                select(0, Hashing.mix(kgram));
+            }
+            long[] fingerprint = Arrays.copyOf(selected, selectedCount);
+            Arrays.sort(fingerprint);
+            int distinct = 0;
+            for(int i = 0; i < fingerprint.length; i++) {
+                if(i == 0 || fingerprint[i] != fingerprint[i - 1]) {
+                    fingerprint[distinct++] = fingerprint[i];
+                }
+            }
+            return Arrays.copyOf(fingerprint, distinct);
+        }
+
+        private void kgram(long hash) {
+            long position = kgramCount++;
+            while(queueSize > 0 && queueHashes[(queueStart + queueSize - 1) % WINDOW] >= hash) {
+                queueSize--;
+            }
+            if(queueSize > 0 && queuePositions[queueStart] <= position - WINDOW) {
+                queueStart = (queueStart + 1) % WINDOW;
+                queueSize--;
+            }
+            int back = (queueStart + queueSize) % WINDOW;
+            queueHashes[back] = hash;
+            queuePositions[back] = position;
+            queueSize++;
+            if(kgramCount >= WINDOW) {
+                select(queuePositions[queueStart], queueHashes[queueStart]);
+            }
+        }
+
+        private void select(long position, long hash) {
+            if(position == lastSelected) {
+                return;
+            }
+            lastSelected = position;
+            if(selectedCount == selected.length) {
+                selected = Arrays.copyOf(selected, selectedCount * 2);
+            }
+            selected[selectedCount++] = hash;
+        }
+
+        private static long power(long base, int exponent) {
+            long result = 1;
+            for(int i = 0; i < exponent; i++) {
+                result *= base;
+            }
+            return result;
+        }
+    }
+}
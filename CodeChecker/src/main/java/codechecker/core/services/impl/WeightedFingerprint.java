@@ -0,0 +1,68 @@
+package codechecker.core.services.impl;
+
+/**
+ * The fingerprints of a submission together with the weight of each hash code in the cohort of its assignment,
+ * in the same order, and the sums of the weights. The weights are computed once per matrix, so the weighted
+ * similarity of a pair is one merge of the sorted hash codes, like the unweighted one.
+ */
+public class WeightedFingerprint {
+    private final long[] nodeHashCodes;
+
+    private final double[] nodeWeights;
+
+    private final double nodeWeightSum;
+
+    private final long[] tokenHashCodes;
+
+    private final double[] tokenWeights;
+
+    private final double tokenWeightSum;
+
+    /**
+     * @param nodeHashCodes the sorted distinct hash codes of the normalized nodes
+     * @param nodeWeights the weights of the node hash codes
+     * @param tokenHashCodes the sorted distinct winnowed hash codes of the normalized tokens
+     * @param tokenWeights the weights of the token hash codes
+     */
+    public WeightedFingerprint(long[] nodeHashCodes, double[] nodeWeights, long[] tokenHashCodes,
+                               double[] tokenWeights) {
+        this.nodeHashCodes = nodeHashCodes;
+        this.nodeWeights = nodeWeights;
+        this.nodeWeightSum = sum(nodeWeights);
+        this.tokenHashCodes = tokenHashCodes;
+        this.tokenWeights = tokenWeights;
+        this.tokenWeightSum = sum(tokenWeights);
+    }
+
+    public long[] getNodeHashCodes() {
+        return nodeHashCodes;
+    }
+
+    public double[] getNodeWeights() {
+        return nodeWeights;
+    }
+
+    public double getNodeWeightSum() {
+        return nodeWeightSum;
+    }
+
+    public long[] getTokenHashCodes() {
+        return tokenHashCodes;
+    }
+
+    public double[] getTokenWeights() {
+        return tokenWeights;
+    }
+
+    public double getTokenWeightSum() {
+        return tokenWeightSum;
+    }
+
+    private static double sum(double[] weights) {
+        double sum = 0;
+        for(double weight : weights) {
+            sum += weight;
+        }
+        return sum;
+    }
+}
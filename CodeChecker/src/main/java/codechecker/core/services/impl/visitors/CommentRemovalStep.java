@@ -0,0 +1,12 @@
+package codechecker.core.services.impl.visitors;
+
+import com.github.javaparser.ast.Node;
+
+//Removes the comment of every node, as CommentRemovalVisitor does
+public class CommentRemovalStep extends NormalizationStep {
+
+    @Override
+    public void enter(Node n) {
+        n.removeComment();
+    }
+}
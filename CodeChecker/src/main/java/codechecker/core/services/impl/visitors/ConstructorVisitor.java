@@ -10,9 +10,16 @@ public class ConstructorVisitor extends VoidVisitorAdapter<Void> {
      */
     @Override
     public void visit(ConstructorDeclaration cd, Void arg) {
+        standardize(cd);
+        super.visit(cd, arg);
+    }
+
+    /*
+     *  Function to set the datatype of the parameters of the given constructor to T
+     */
+    public void standardize(ConstructorDeclaration cd) {
         for(Parameter p : cd.getParameters()) {
             p.setType("T"); // Set the datatype of the parameters of the constructor as T
         }
-        super.visit(cd, arg);
     }
 }
@@ -0,0 +1,36 @@
+package codechecker.core.services.impl.visitors;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+
+/**
+ * Sets every datatype to T in one traversal, combining VariableDatatypeVisitor, MethodVisitor,
+ * FieldDatatypeVisitor, ConstructorVisitor and ObjectDatatypeVisitor.
+ * Each of them only rewrites the types below the node it matches, so their order does not matter.
+ */
+public class DatatypeStandardizationStep extends NormalizationStep {
+    private final VariableDatatypeVisitor vdv = new VariableDatatypeVisitor();
+    private final MethodVisitor mv = new MethodVisitor();
+    private final FieldDatatypeVisitor fdv = new FieldDatatypeVisitor();
+    private final ConstructorVisitor cv = new ConstructorVisitor();
+    private final ObjectDatatypeVisitor odv = new ObjectDatatypeVisitor();
+
+    @Override
+    public void enter(Node n) {
+        if(n instanceof VariableDeclarationExpr) {
+            vdv.standardize((VariableDeclarationExpr) n);
+        } else if(n instanceof MethodDeclaration) {
+            mv.standardize((MethodDeclaration) n);
+        } else if(n instanceof FieldDeclaration) {
+            fdv.standardize((FieldDeclaration) n);
+        } else if(n instanceof ConstructorDeclaration) {
+            cv.standardize((ConstructorDeclaration) n);
+        } else if(n instanceof ObjectCreationExpr) {
+            odv.standardize((ObjectCreationExpr) n);
+        }
+    }
+}
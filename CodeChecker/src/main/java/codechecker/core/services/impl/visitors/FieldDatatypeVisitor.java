@@ -12,10 +12,17 @@ public class FieldDatatypeVisitor extends VoidVisitorAdapter<Void> {
      */
     @Override
     public void visit(FieldDeclaration n, Void arg) {
+        standardize(n);
+        super.visit(n, arg);
+    }
+
+    /*
+     * Function to set the datatype of the variables of the given field declaration to T
+     */
+    public void standardize(FieldDeclaration n) {
         List<VariableDeclarator> myVars = n.getVariables(); //get all the variables declared.
         for (VariableDeclarator vars: myVars){
             vars.setType("T"); // Set the datatype of the variables to T
         }
-        super.visit(n, arg);
     }
 }
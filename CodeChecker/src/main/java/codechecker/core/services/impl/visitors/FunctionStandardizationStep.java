@@ -0,0 +1,22 @@
+package codechecker.core.services.impl.visitors;
+
+import com.github.javaparser.ast.Node;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+//Renames the functions and classes of every node, as FunctionStandardizationVisitor does
+public class FunctionStandardizationStep extends NormalizationStep {
+    private static final Log LOG = LogFactory.getLog(FunctionStandardizationStep.class);
+
+    private final FunctionStandardizationVisitor fsv = new FunctionStandardizationVisitor();
+
+    @Override
+    public void enter(Node n) {
+        try {
+            fsv.standardize(n);
+        } catch (RuntimeException e) {
+            // the node keeps its name, the rest of the submission is still standardized
+            LOG.warn("Cannot standardize the name of a " + n.getClass().getSimpleName(), e);
+        }
+    }
+}
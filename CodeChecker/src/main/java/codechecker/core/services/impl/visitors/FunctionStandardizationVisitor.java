@@ -61,73 +61,80 @@ public class FunctionStandardizationVisitor extends VoidVisitorAdapter<Void> {
     public void visit(Node n, Void arg) {
 
         try{
-            // rename classes and their constructors to a standard name
-            if(n instanceof ClassOrInterfaceDeclaration){
-                List<ConstructorDeclaration> constructors = ((ClassOrInterfaceDeclaration) n).getConstructors();
-
-                ClassOrInterfaceDeclaration cd = (ClassOrInterfaceDeclaration) n;
-                SimpleName oldName = cd.getName();
-                SimpleName newName;
-                if(replacementMap.get(oldName)!=null){
-                    newName = replacementMap.get(oldName);
-                } else {
-                    newName = getNextClassName();
-                    replacementMap.put(oldName, newName);
-                }
-                for(ConstructorDeclaration constructorDeclaration: constructors){
-                    constructorDeclaration.setName(newName);
-                }
-                cd.setName(newName);
-            }
+            standardize(n);
 
-            // rename the package to a standard name
-            else if(n instanceof PackageDeclaration){
-                PackageDeclaration pd = (PackageDeclaration) n;
-                Name sn = new Name("package");
-                pd.setName(sn);
+            for(Node child : n.getChildNodes()) {
+                visit(child, null);
             }
+        } catch (Exception e){
+            System.out.println(e);
+        }
 
-    	/*
-    	 * If this is an initialization or a declaration,
-    	 * replace the variable being set with a standard value.
-    	 */
-            else if(n instanceof MethodDeclaration) {
-
-                MethodDeclaration md = ((MethodDeclaration) n);
-                SimpleName newName = getNextFunction();
-                SimpleName oldName = md.getName();
+    }
 
+    /*
+     * Function to standardize the name of the given node, if it is a class, package, function or function call
+     */
+    public void standardize(Node n) {
+        // rename classes and their constructors to a standard name
+        if(n instanceof ClassOrInterfaceDeclaration){
+            List<ConstructorDeclaration> constructors = ((ClassOrInterfaceDeclaration) n).getConstructors();
+
+            ClassOrInterfaceDeclaration cd = (ClassOrInterfaceDeclaration) n;
+            SimpleName oldName = cd.getName();
+            SimpleName newName;
+            if(replacementMap.get(oldName)!=null){
+                newName = replacementMap.get(oldName);
+            } else {
+                newName = getNextClassName();
                 replacementMap.put(oldName, newName);
-
-                // Replace the function name
-                md.setName(newName);
             }
+            for(ConstructorDeclaration constructorDeclaration: constructors){
+                constructorDeclaration.setName(newName);
+            }
+            cd.setName(newName);
+        }
 
-            else if(n instanceof MethodCallExpr) {
+        // rename the package to a standard name
+        else if(n instanceof PackageDeclaration){
+            PackageDeclaration pd = (PackageDeclaration) n;
+            Name sn = new Name("package");
+            pd.setName(sn);
+        }
 
-                MethodCallExpr mce = ((MethodCallExpr) n);
-                SimpleName newName;
-                SimpleName oldName = mce.getName();
+	/*
+	 * If this is an initialization or a declaration,
+	 * replace the variable being set with a standard value.
+	 */
+        else if(n instanceof MethodDeclaration) {
 
-                if(replacementMap.get(oldName) != null) {
-                    newName = replacementMap.get(mce.getName());
-                } else {
-                    newName = getNextFunction();
-                    replacementMap.put(oldName, newName);
-                }
+            MethodDeclaration md = ((MethodDeclaration) n);
+            SimpleName newName = getNextFunction();
+            SimpleName oldName = md.getName();
 
-                //Replace the function name
-                mce.setName(newName);
+            replacementMap.put(oldName, newName);
 
-            }
+            // Replace the function name
+            md.setName(newName);
+        }
 
-            for(Node child : n.getChildNodes()) {
-                visit(child, null);
+        else if(n instanceof MethodCallExpr) {
+
+            MethodCallExpr mce = ((MethodCallExpr) n);
+            SimpleName newName;
+            SimpleName oldName = mce.getName();
+
+            if(replacementMap.get(oldName) != null) {
+                newName = replacementMap.get(mce.getName());
+            } else {
+                newName = getNextFunction();
+                replacementMap.put(oldName, newName);
             }
-        } catch (Exception e){
-            System.out.println(e);
-        }
 
+            //Replace the function name
+            mce.setName(newName);
+
+        }
     }
 
 }
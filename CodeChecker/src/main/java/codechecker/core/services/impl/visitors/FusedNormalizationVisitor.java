@@ -0,0 +1,56 @@
+package codechecker.core.services.impl.visitors;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Visits all the nodes in the AST once and applies every given step to each of them.
+ * Steps enter a node in the given order and exit it in the reverse order.
+ */
+public class FusedNormalizationVisitor extends VoidVisitorAdapter<Void> {
+    private final List<NormalizationStep> steps;
+
+    public FusedNormalizationVisitor(NormalizationStep... steps) {
+        this.steps = Arrays.asList(steps);
+    }
+
+    /*
+     * Function to name the traversal after its steps, like CommentRemovalStep+StatementOrderingStep
+     */
+    public String getStepNames() {
+        StringBuilder name = new StringBuilder();
+        for(NormalizationStep step : steps) {
+            if(name.length() > 0) {
+                name.append('+');
+            }
+            name.append(step.getClass().getSimpleName());
+        }
+        return name.toString();
+    }
+
+    @Override
+    public void visit(CompilationUnit n, Void arg) {
+        visit((Node) n, arg);
+    }
+
+    /*
+     * Function to apply the steps to the given node and its child nodes recursively.
+     * The child nodes are copied first, as renaming steps may move shared names between parents.
+     */
+    public void visit(Node n, Void arg) {
+        for(int i = 0; i < steps.size(); i++) {
+            steps.get(i).enter(n);
+        }
+        for(Node child : new ArrayList<Node>(n.getChildNodes())) {
+            visit(child, arg);
+        }
+        for(int i = steps.size() - 1; i >= 0; i--) {
+            steps.get(i).exit(n);
+        }
+    }
+}
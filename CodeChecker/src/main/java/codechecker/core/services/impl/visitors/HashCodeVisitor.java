@@ -1,40 +1,228 @@
 package codechecker.core.services.impl.visitors;
 
+import codechecker.core.services.impl.Hashing;
+import com.github.javaparser.Range;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import com.github.javaparser.metamodel.PropertyMetaModel;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-//This class visits all the nodes in the AST, obtains their hashcode, and stores those hashcodes into a set.
+/**
+ * This class visits all the nodes in the AST, obtains their hashcode, and stores those hashcodes into a set.
+ *
+ * The hashcode of a node is a 64-bit structural (Merkle) hash: it is derived from the kind of the node,
+ * its attributes and the already computed hashcodes of its child nodes, so the whole AST is hashed in a
+ * single post-order pass. Two nodes get the same hashcode when their subtrees are equal, like Node.hashCode,
+ * without recomputing every subtree for each of its ancestors.
+ *
+ * In the same pass, the region of the first subtree with each hashcode is recorded: its lines in the original
+ * source and its number of nodes, packed into a long. Normalization moves and renames nodes but keeps their
+ * positions, so the regions of matching hashcodes point at the matching code in the submitted files.
+ */
 public class HashCodeVisitor extends VoidVisitorAdapter<Void> {
-    HashSet<Integer> nodeHashCodes = new HashSet<Integer>();
+    private static final long NULL_HASH = Hashing.GOLDEN_GAMMA;
+
+    // bits of a packed region: the first line, the last line and the number of nodes
+    private static final int LINE_BITS = 21;
+    private static final int SIZE_BITS = 22;
+    private static final long LINE_MASK = (1L << LINE_BITS) - 1;
+    private static final long SIZE_MASK = (1L << SIZE_BITS) - 1;
+
+    // the fields holding the properties of each kind of node, in the order of the JavaParser metamodel
+    private static final Map<Class<?>, Field[]> PROPERTY_FIELDS = new ConcurrentHashMap<Class<?>, Field[]>();
+
+    HashSet<Long> nodeHashCodes = new HashSet<Long>();
+
+    private final Map<Node, Long> subtreeHashCodes = new IdentityHashMap<Node, Long>();
+
+    private final Map<Node, Integer> subtreeSizes = new IdentityHashMap<Node, Integer>();
+
+    private final Map<Long, Long> regions = new HashMap<Long, Long>();
 
     /*
      * Getter to return the set containing the hashcodes of all the nodes in the AST
      */
-    public HashSet<Integer> getNodeHashCodes(){
+    public HashSet<Long> getNodeHashCodes(){
         return this.nodeHashCodes;
     }
 
+    /*
+     * Function to return the hashcodes of all the nodes in the AST as a sorted array without duplicates,
+     * the form in which submissions are fingerprinted and compared
+     */
+    public long[] getFingerprint() {
+        long[] fingerprint = new long[nodeHashCodes.size()];
+        int i = 0;
+        for(Long hashCode : nodeHashCodes) {
+            fingerprint[i++] = hashCode;
+        }
+        Arrays.sort(fingerprint);
+        return fingerprint;
+    }
+
+    /*
+     * Function to return the packed regions of the given hashcodes, 0 for a hashcode whose subtree has no position
+     */
+    public long[] getRegions(long[] fingerprint) {
+        long[] found = new long[fingerprint.length];
+        for(int i = 0; i < fingerprint.length; i++) {
+            Long region = regions.get(fingerprint[i]);
+            found[i] = region == null ? 0 : region;
+        }
+        return found;
+    }
+
+    /*
+     * Functions to pack a region into a long and to unpack it, lines and sizes too large to fit are capped
+     */
+    public static long region(int line, int endLine, int nodes) {
+        return Math.min(line, LINE_MASK) << (LINE_BITS + SIZE_BITS)
+                | Math.min(endLine, LINE_MASK) << SIZE_BITS | Math.min(nodes, SIZE_MASK);
+    }
+
+    public static int regionLine(long region) {
+        return (int) (region >>> (LINE_BITS + SIZE_BITS));
+    }
+
+    public static int regionEndLine(long region) {
+        return (int) ((region >>> SIZE_BITS) & LINE_MASK);
+    }
+
+    public static int regionNodes(long region) {
+        return (int) (region & SIZE_MASK);
+    }
+
     /*
      * Function to visit the nodes of the AST
      */
     @Override
     public void visit(CompilationUnit n, Void arg) {
         for(Node child : n.getChildNodes()) {
-            nodeHashCodes.add(child.hashCode());
             visit(child, arg);
+            add(child);
         }
     }
-    
+
     /*
-     * Function to visit the child nodes of the given node recursively
+     * Function to visit the child nodes of the given node recursively, children before their parent
      */
     public void visit(Node n, Void arg) {
         for(Node child : n.getChildNodes()) {
-            nodeHashCodes.add(child.hashCode());
             visit(child, arg);
+            add(child);
+        }
+    }
+
+    /*
+     * Function to store the hashcode of a single node, used when the nodes are visited by another traversal.
+     * The child nodes must not change anymore once they have been added.
+     */
+    public void add(Node n) {
+        long h = hash(n);
+        nodeHashCodes.add(h);
+
+        int nodes = 1;
+        for(Node child : n.getChildNodes()) {
+            Integer childNodes = subtreeSizes.get(child);
+            if(childNodes != null) {
+                nodes += childNodes;
+            }
+        }
+        subtreeSizes.put(n, nodes);
+        if(!regions.containsKey(h) && n.getRange().isPresent()) {
+            Range range = n.getRange().get();
+            regions.put(h, region(range.begin.line, range.end.line, nodes));
+        }
+    }
+
+    /*
+     * Function to obtain the structural hashcode of the given node, reusing the hashcodes of its visited child nodes
+     */
+    public long hash(Node n) {
+        Long known = subtreeHashCodes.get(n);
+        if(known != null) {
+            return known;
+        }
+        long h = hash(Hashing.FNV_OFFSET, n.getClass().getName());
+        for(Field field : propertyFields(n)) {
+            try {
+                h = combine(h, valueHash(field.get(n)));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        h = Hashing.mix(h);
+        subtreeHashCodes.put(n, h);
+        return h;
+    }
+
+    /*
+     * Function to hash a property value: a child node, a list of child nodes, a set of modifiers or an attribute
+     */
+    private long valueHash(Object value) {
+        if(value == null) {
+            return NULL_HASH;
+        }
+        if(value instanceof Node) {
+            return hash((Node) value);
+        }
+        if(value instanceof Iterable) {
+            long h = Hashing.FNV_OFFSET;
+            for(Object element : (Iterable<?>) value) {
+                h = combine(h, valueHash(element));
+            }
+            return Hashing.mix(h);
+        }
+        if(value instanceof Enum) {
+            return hash(Hashing.FNV_OFFSET, ((Enum<?>) value).name());
         }
+        return hash(Hashing.FNV_OFFSET, value.toString());
+    }
+
+    /*
+     * Function to look up, once per kind of node, the fields described by the JavaParser metamodel
+     */
+    private static Field[] propertyFields(Node n) {
+        Field[] fields = PROPERTY_FIELDS.get(n.getClass());
+        if(fields != null) {
+            return fields;
+        }
+        List<Field> found = new ArrayList<Field>();
+        for(PropertyMetaModel property : n.getMetaModel().getAllPropertyMetaModels()) {
+            for(Class<?> c = n.getClass(); c != null; c = c.getSuperclass()) {
+                try {
+                    Field field = c.getDeclaredField(property.getName());
+                    field.setAccessible(true);
+                    found.add(field);
+                    break;
+                } catch (NoSuchFieldException e) {
+                    // declared by a superclass
+                }
+            }
+        }
+        fields = found.toArray(new Field[found.size()]);
+        PROPERTY_FIELDS.put(n.getClass(), fields);
+        return fields;
+    }
+
+    private static long hash(long h, String s) {
+        for(int i = 0; i < s.length(); i++) {
+            h = Hashing.fnv(h, s.charAt(i));
+        }
+        return h;
+    }
+
+    private static long combine(long h, long value) {
+        return Hashing.fnv(h, value) + NULL_HASH;
     }
 }
@@ -0,0 +1,23 @@
+package codechecker.core.services.impl.visitors;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+
+/**
+ * Stores the hashcode of every node below the compilation unit into the given HashCodeVisitor.
+ * Nodes are hashed on exit, once every step running in the same traversal has finished with their children.
+ */
+public class HashCollectionStep extends NormalizationStep {
+    private final HashCodeVisitor hcv;
+
+    public HashCollectionStep(HashCodeVisitor hcv) {
+        this.hcv = hcv;
+    }
+
+    @Override
+    public void exit(Node n) {
+        if(!(n instanceof CompilationUnit)) {
+            hcv.add(n);
+        }
+    }
+}
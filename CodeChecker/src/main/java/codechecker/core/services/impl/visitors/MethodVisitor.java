@@ -7,11 +7,15 @@ import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 public class MethodVisitor extends VoidVisitorAdapter<Void> {
     /* Function to visit all the methods in the submitted java program */
     public void visit(MethodDeclaration n, Void arg) {
+        standardize(n);
+        super.visit(n, arg);
+    }
+
+    /* Function to set the return type and the parameter types of the given method to T */
+    public void standardize(MethodDeclaration n) {
         n.setType("T"); //Set the return type of the method to T
         for(Parameter p : n.getParameters()){
             p.setType("T"); // Set the type of the parameters of the method to T
         }
-
-        super.visit(n, arg);
     }
 }
@@ -0,0 +1,61 @@
+package codechecker.core.services.impl.visitors;
+
+import codechecker.core.services.impl.PipelineMetrics;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.visitor.VoidVisitor;
+
+/**
+ * Normalizes a compilation unit with four full traversals instead of one per visitor.
+ *
+ * Only the passes that depend on the order of the previous ones are kept apart:
+ * fields are ordered by their textual representation, so comments must be gone and the datatypes still
+ * intact when VariableOrderingInClassVisitor runs; variables are numbered in traversal order by
+ * VariableStandardizationVisitor; functions are ordered by their return type, so FunctionOrderingVisitor
+ * must see the standardized datatypes, and functions must be ordered before they are numbered.
+ * VariableOrderingInClassVisitor and FunctionOrderingVisitor only walk the members of the types.
+ *
+ * When given PipelineMetrics, each traversal is timed as its own stage, named after the visitor or the fused steps.
+ */
+public class NormalizationEngine {
+    private final PipelineMetrics metrics;
+
+    public NormalizationEngine() {
+        this(null);
+    }
+
+    public NormalizationEngine(PipelineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /*
+     * Function to normalize the given compilation unit in place and collect the hashcodes of its nodes
+     */
+    public HashCodeVisitor normalize(CompilationUnit cu) {
+        // statement ordering only looks at the statements of a block, so it does not depend on comments
+        run(cu, new FusedNormalizationVisitor(new CommentRemovalStep(), new StatementOrderingStep()));
+        run(cu, new VariableOrderingInClassVisitor());
+        run(cu, new VariableStandardizationVisitor());
+        run(cu, new FusedNormalizationVisitor(new DatatypeStandardizationStep()));
+        run(cu, new FunctionOrderingVisitor());
+
+        // a node is only renamed before its children are visited, so hashing it on exit sees its final form
+        HashCodeVisitor hcv = new HashCodeVisitor();
+        run(cu, new FusedNormalizationVisitor(new FunctionStandardizationStep(), new HashCollectionStep(hcv)));
+        return hcv;
+    }
+
+    /*
+     * Function to run one traversal, timing it if metrics are recorded
+     */
+    private void run(CompilationUnit cu, VoidVisitor<Void> visitor) {
+        if(metrics == null) {
+            cu.accept(visitor, null);
+            return;
+        }
+        long start = System.nanoTime();
+        cu.accept(visitor, null);
+        String name = visitor instanceof FusedNormalizationVisitor
+                ? ((FusedNormalizationVisitor) visitor).getStepNames() : visitor.getClass().getSimpleName();
+        metrics.recordSince("normalize." + name, start);
+    }
+}
@@ -0,0 +1,23 @@
+package codechecker.core.services.impl.visitors;
+
+import com.github.javaparser.ast.Node;
+
+/**
+ * A node-local transformation applied by FusedNormalizationVisitor, so that several
+ * transformations share a single traversal of the AST.
+ * enter is called before the children of a node are visited and exit after them.
+ */
+public abstract class NormalizationStep {
+
+    /*
+     * Function called on each node before its child nodes are visited
+     */
+    public void enter(Node n) {
+    }
+
+    /*
+     * Function called on each node after its child nodes are visited
+     */
+    public void exit(Node n) {
+    }
+}
@@ -8,7 +8,12 @@ public class ObjectDatatypeVisitor extends VoidVisitorAdapter<Void> {
 //    Function to visit all the Object Creation Expressions in the submitted java program
     @Override
     public void visit(ObjectCreationExpr n, Void arg) {
-        n.setType("T"); // Set the datatype of the object as T.
+        standardize(n);
         super.visit(n,arg);
     }
+
+//    Function to set the datatype of the created object to T
+    public void standardize(ObjectCreationExpr n) {
+        n.setType("T"); // Set the datatype of the object as T.
+    }
 }
@@ -0,0 +1,13 @@
+package codechecker.core.services.impl.visitors;
+
+import com.github.javaparser.ast.Node;
+
+//Sorts the statements of every block statement, as VariableOrderInMethodVisitor does
+public class StatementOrderingStep extends NormalizationStep {
+    private final VariableOrderInMethodVisitor vomv = new VariableOrderInMethodVisitor();
+
+    @Override
+    public void enter(Node n) {
+        vomv.sortStatements(n);
+    }
+}
@@ -18,6 +18,14 @@ public class VariableDatatypeVisitor extends VoidVisitorAdapter<Void> {
      */
     @Override
     public void visit(VariableDeclarationExpr n, Void arg) {
+        standardize(n);
+        super.visit(n, arg);
+    }
+
+    /*
+     * Function to set the datatype of the variables declared in the given expression to T
+     */
+    public void standardize(VariableDeclarationExpr n) {
         List<VariableDeclarator> myVars = n.getVariables(); // get the variables declared
         for (VariableDeclarator vars: myVars){
             try{
@@ -30,7 +38,6 @@ public class VariableDatatypeVisitor extends VoidVisitorAdapter<Void> {
             }
 
         }
-        super.visit(n, arg);
     }
 
 }
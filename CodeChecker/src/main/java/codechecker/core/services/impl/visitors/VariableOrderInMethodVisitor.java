@@ -30,6 +30,15 @@ public class VariableOrderInMethodVisitor extends VoidVisitorAdapter<Void> {
 
     // Visit each node inside BlockStatements to sort them in an order depending upon their data types
     public void visit(Node n, Void arg){
+        sortStatements(n);
+
+        for(Node child: n.getChildNodes()){
+            visit(child, null);
+        }
+    }
+
+    // Sorts the statements of the given node, if it is a BlockStatement, in an order depending upon their data types
+    public void sortStatements(Node n){
         if(n instanceof BlockStmt){
             NodeList<Statement> nodeList = ((BlockStmt) n).getStatements();
 
@@ -78,9 +87,6 @@ public class VariableOrderInMethodVisitor extends VoidVisitorAdapter<Void> {
             });
         }
 
-        for(Node child: n.getChildNodes()){
-            visit(child, null);
-        }
     }
 
 
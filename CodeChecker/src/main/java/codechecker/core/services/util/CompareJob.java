@@ -0,0 +1,116 @@
+package codechecker.core.services.util;
+
+/**
+ * Compare Job
+ * A compare of two assignment submissions that runs in the background, polled until it has finished
+ */
+public class CompareJob {
+
+    /**
+     * The states of a compare job, in the order they are reached
+     */
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final Long id;
+    private final Long submissionId;
+    private final Long otherSubmissionId;
+    private final long createdAt = System.currentTimeMillis();
+
+    // updated by the worker running the job and read by the requests polling it
+    private volatile Status status = Status.QUEUED;
+    private volatile String similarityPercent;
+    private volatile String error;
+    private volatile long finishedAt;
+
+    /**
+     * Compare Job constructor
+     */
+    public CompareJob(Long id, Long submissionId, Long otherSubmissionId) {
+        this.id = id;
+        this.submissionId = submissionId;
+        this.otherSubmissionId = otherSubmissionId;
+    }
+
+    /**
+     * get id method
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * get submission id method
+     */
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    /**
+     * get other submission id method
+     */
+    public Long getOtherSubmissionId() {
+        return otherSubmissionId;
+    }
+
+    /**
+     * get status method
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * get similarity percent method, null until the job has completed
+     */
+    public String getSimilarityPercent() {
+        return similarityPercent;
+    }
+
+    /**
+     * get error method, null unless the job has failed
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * get created at method
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * get finished at method, 0 until the job has completed or failed
+     */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Function to mark the job as picked up by a worker
+     */
+    public void start() {
+        status = Status.RUNNING;
+    }
+
+    /**
+     * Function to store the result of the compare
+     */
+    public void complete(String similarityPercent) {
+        this.similarityPercent = similarityPercent;
+        this.finishedAt = System.currentTimeMillis();
+        this.status = Status.COMPLETED;
+    }
+
+    /**
+     * Function to store the reason the compare failed
+     */
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = System.currentTimeMillis();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,82 @@
+package codechecker.core.services.util;
+
+import java.util.List;
+
+/**
+ * Diff Hunk
+ * A region of two diffed sources, either lines matching in both or lines that differ.
+ * Lines are numbered from 1; a side without lines in a change starts after the line it would be inserted at.
+ * Only the lines of changes are kept, matching regions are reported by their line ranges alone.
+ */
+public class DiffHunk {
+    private boolean match;
+    private int line;
+    private int lineCount;
+    private int otherLine;
+    private int otherLineCount;
+    private List<String> lines;
+    private List<String> otherLines;
+
+    /**
+     * Diff Hunk constructor
+     */
+    public DiffHunk(boolean match, int line, int lineCount, int otherLine, int otherLineCount,
+                    List<String> lines, List<String> otherLines) {
+        this.match = match;
+        this.line = line;
+        this.lineCount = lineCount;
+        this.otherLine = otherLine;
+        this.otherLineCount = otherLineCount;
+        this.lines = lines;
+        this.otherLines = otherLines;
+    }
+
+    /**
+     * get match method, true if the lines are the same in both sources
+     */
+    public boolean isMatch() {
+        return match;
+    }
+
+    /**
+     * get first line method
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * get line count method
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * get first line in the other source method
+     */
+    public int getOtherLine() {
+        return otherLine;
+    }
+
+    /**
+     * get line count in the other source method
+     */
+    public int getOtherLineCount() {
+        return otherLineCount;
+    }
+
+    /**
+     * get lines method, null for a match
+     */
+    public List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * get lines in the other source method, null for a match
+     */
+    public List<String> getOtherLines() {
+        return otherLines;
+    }
+}
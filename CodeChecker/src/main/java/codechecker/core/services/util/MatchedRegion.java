@@ -0,0 +1,67 @@
+package codechecker.core.services.util;
+
+/**
+ * Matched Region
+ * Code found in both submissions: a normalized subtree and its lines in each of the uploaded files
+ */
+public class MatchedRegion {
+    private int line;
+    private int endLine;
+    private int otherLine;
+    private int otherEndLine;
+    private int nodes;
+
+    /**
+     * Matched Region constructor
+     */
+    public MatchedRegion(int line, int endLine, int otherLine, int otherEndLine, int nodes) {
+        this.line = line;
+        this.endLine = endLine;
+        this.otherLine = otherLine;
+        this.otherEndLine = otherEndLine;
+        this.nodes = nodes;
+    }
+
+    /**
+     * get first line in the submission method
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * get last line in the submission method
+     */
+    public int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * get first line in the other submission method
+     */
+    public int getOtherLine() {
+        return otherLine;
+    }
+
+    /**
+     * get last line in the other submission method
+     */
+    public int getOtherEndLine() {
+        return otherEndLine;
+    }
+
+    /**
+     * get node count method
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /*
+     * Function to check whether both sides of the given region lie within the sides of this region
+     */
+    public boolean contains(MatchedRegion region) {
+        return line <= region.line && region.endLine <= endLine
+                && otherLine <= region.otherLine && region.otherEndLine <= otherEndLine;
+    }
+}
@@ -0,0 +1,52 @@
+package codechecker.core.services.util;
+
+import java.util.List;
+
+/**
+ * Matched Region List
+ * The largest regions of code two submissions have in common, the largest first
+ */
+public class MatchedRegionList {
+    private Long submissionId;
+    private Long otherSubmissionId;
+    private int limit;
+    private List<MatchedRegion> regions;
+
+    /**
+     * Matched Region List constructor
+     */
+    public MatchedRegionList(Long submissionId, Long otherSubmissionId, int limit, List<MatchedRegion> regions) {
+        this.submissionId = submissionId;
+        this.otherSubmissionId = otherSubmissionId;
+        this.limit = limit;
+        this.regions = regions;
+    }
+
+    /**
+     * get submission id method
+     */
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    /**
+     * get other submission id method
+     */
+    public Long getOtherSubmissionId() {
+        return otherSubmissionId;
+    }
+
+    /**
+     * get limit method
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * get regions method
+     */
+    public List<MatchedRegion> getRegions() {
+        return regions;
+    }
+}
@@ -0,0 +1,41 @@
+package codechecker.core.services.util;
+
+/**
+ * Similar Submission
+ * A submission of another assignment that is similar to a given submission
+ */
+public class SimilarSubmission {
+    private Long submissionId;
+    private Long assignmentId;
+    private double similarityPercent;
+
+    /**
+     * Similar Submission constructor
+     */
+    public SimilarSubmission(Long submissionId, Long assignmentId, double similarityPercent) {
+        this.submissionId = submissionId;
+        this.assignmentId = assignmentId;
+        this.similarityPercent = similarityPercent;
+    }
+
+    /**
+     * get submission id method
+     */
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    /**
+     * get assignment id method
+     */
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    /**
+     * get similarity percent method
+     */
+    public double getSimilarityPercent() {
+        return similarityPercent;
+    }
+}
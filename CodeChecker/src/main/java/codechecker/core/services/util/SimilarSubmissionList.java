@@ -0,0 +1,43 @@
+package codechecker.core.services.util;
+
+import java.util.List;
+
+/**
+ * Similar Submission List
+ * The submissions of other assignments most similar to a submission, the most similar one first
+ */
+public class SimilarSubmissionList {
+    private Long submissionId;
+    private int limit;
+    private List<SimilarSubmission> submissions;
+
+    /**
+     * Similar Submission List constructor
+     */
+    public SimilarSubmissionList(Long submissionId, int limit, List<SimilarSubmission> submissions) {
+        this.submissionId = submissionId;
+        this.limit = limit;
+        this.submissions = submissions;
+    }
+
+    /**
+     * get submission id method
+     */
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    /**
+     * get limit method
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * get submissions method
+     */
+    public List<SimilarSubmission> getSubmissions() {
+        return submissions;
+    }
+}
@@ -0,0 +1,62 @@
+package codechecker.core.services.util;
+
+import java.util.List;
+
+/**
+ * Similarity Matrix
+ * Similarity percents between every pair of submissions of an assignment
+ */
+public class SimilarityMatrix {
+    private Long assignmentId;
+    private List<Long> submissionIds;
+    private double[][] similarityPercents;
+    private boolean weighted;
+
+    /**
+     * Similarity Matrix constructor
+     * similarityPercents[i][j] is the similarity percent of the submissions submissionIds[i] and submissionIds[j]
+     */
+    public SimilarityMatrix(Long assignmentId, List<Long> submissionIds, double[][] similarityPercents) {
+        this(assignmentId, submissionIds, similarityPercents, false);
+    }
+
+    /**
+     * Similarity Matrix constructor
+     * weighted tells whether the hashcodes were weighted by how rare they are in the assignment
+     */
+    public SimilarityMatrix(Long assignmentId, List<Long> submissionIds, double[][] similarityPercents,
+                            boolean weighted) {
+        this.assignmentId = assignmentId;
+        this.submissionIds = submissionIds;
+        this.similarityPercents = similarityPercents;
+        this.weighted = weighted;
+    }
+
+    /**
+     * get assignment id method
+     */
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    /**
+     * get submission ids method
+     */
+    public List<Long> getSubmissionIds() {
+        return submissionIds;
+    }
+
+    /**
+     * get similarity percents method
+     */
+    public double[][] getSimilarityPercents() {
+        return similarityPercents;
+    }
+
+    /**
+     * get weighted method
+     */
+    public boolean isWeighted() {
+        return weighted;
+    }
+}
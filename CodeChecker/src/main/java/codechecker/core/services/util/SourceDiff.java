@@ -0,0 +1,43 @@
+package codechecker.core.services.util;
+
+import java.util.List;
+
+/**
+ * Source Diff
+ * The aligned diff of the normalized sources of two submissions, as hunks in the order of the sources
+ */
+public class SourceDiff {
+    private Long submissionId;
+    private Long otherSubmissionId;
+    private List<DiffHunk> hunks;
+
+    /**
+     * Source Diff constructor
+     */
+    public SourceDiff(Long submissionId, Long otherSubmissionId, List<DiffHunk> hunks) {
+        this.submissionId = submissionId;
+        this.otherSubmissionId = otherSubmissionId;
+        this.hunks = hunks;
+    }
+
+    /**
+     * get submission id method
+     */
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    /**
+     * get other submission id method
+     */
+    public Long getOtherSubmissionId() {
+        return otherSubmissionId;
+    }
+
+    /**
+     * get hunks method
+     */
+    public List<DiffHunk> getHunks() {
+        return hunks;
+    }
+}
@@ -0,0 +1,87 @@
+package codechecker.core.services.util;
+
+/**
+ * Stage Metrics
+ * The distribution of the values recorded for one stage of the compare pipeline.
+ * Percentiles are the upper bounds of power of two buckets, so they are accurate to within a factor of two.
+ */
+public class StageMetrics {
+    private String stage;
+    private String unit;
+    private long count;
+    private double mean;
+    private long p50;
+    private long p90;
+    private long p99;
+    private long max;
+
+    /**
+     * Stage Metrics constructor
+     */
+    public StageMetrics(String stage, String unit, long count, double mean, long p50, long p90, long p99, long max) {
+        this.stage = stage;
+        this.unit = unit;
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    /**
+     * get stage method
+     */
+    public String getStage() {
+        return stage;
+    }
+
+    /**
+     * get unit method
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * get count method
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * get mean method
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * get median method
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * get 90th percentile method
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * get 99th percentile method
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * get max method
+     */
+    public long getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,25 @@
+package codechecker.core.services.util;
+
+import java.util.List;
+
+/**
+ * Stage Metrics List
+ * The metrics of every stage of the compare pipeline recorded since the application started, ordered by stage name
+ */
+public class StageMetricsList {
+    private List<StageMetrics> stages;
+
+    /**
+     * Stage Metrics List constructor
+     */
+    public StageMetricsList(List<StageMetrics> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * get stages method
+     */
+    public List<StageMetrics> getStages() {
+        return stages;
+    }
+}
@@ -0,0 +1,50 @@
+package codechecker.core.services.util;
+
+/**
+ * Submission Fingerprint
+ * The fingerprints of a normalized submission: the sorted distinct hash codes of its AST nodes
+ * and the sorted distinct winnowed hash codes of its token k-grams.
+ * The node regions, when known, hold the packed source region of each node hash code (see HashCodeVisitor.region).
+ */
+public class SubmissionFingerprint {
+    private long[] nodeHashCodes;
+    private long[] tokenHashCodes;
+    private long[] nodeRegions;
+
+    /**
+     * Submission Fingerprint constructor
+     */
+    public SubmissionFingerprint(long[] nodeHashCodes, long[] tokenHashCodes) {
+        this(nodeHashCodes, tokenHashCodes, null);
+    }
+
+    /**
+     * Submission Fingerprint constructor with the regions of the node hash codes
+     */
+    public SubmissionFingerprint(long[] nodeHashCodes, long[] tokenHashCodes, long[] nodeRegions) {
+        this.nodeHashCodes = nodeHashCodes;
+        this.tokenHashCodes = tokenHashCodes;
+        this.nodeRegions = nodeRegions;
+    }
+
+    /**
+     * get node hash codes method
+     */
+    public long[] getNodeHashCodes() {
+        return nodeHashCodes;
+    }
+
+    /**
+     * get token hash codes method
+     */
+    public long[] getTokenHashCodes() {
+        return tokenHashCodes;
+    }
+
+    /**
+     * get node regions method, in the order of the node hash codes, or null if they are not known
+     */
+    public long[] getNodeRegions() {
+        return nodeRegions;
+    }
+}
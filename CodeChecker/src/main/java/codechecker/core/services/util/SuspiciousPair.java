@@ -0,0 +1,41 @@
+package codechecker.core.services.util;
+
+/**
+ * Suspicious Pair
+ * Two submissions of an assignment whose similarity is above the requested threshold
+ */
+public class SuspiciousPair {
+    private Long submissionId;
+    private Long otherSubmissionId;
+    private double similarityPercent;
+
+    /**
+     * Suspicious Pair constructor
+     */
+    public SuspiciousPair(Long submissionId, Long otherSubmissionId, double similarityPercent) {
+        this.submissionId = submissionId;
+        this.otherSubmissionId = otherSubmissionId;
+        this.similarityPercent = similarityPercent;
+    }
+
+    /**
+     * get submission id method
+     */
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    /**
+     * get other submission id method
+     */
+    public Long getOtherSubmissionId() {
+        return otherSubmissionId;
+    }
+
+    /**
+     * get similarity percent method
+     */
+    public double getSimilarityPercent() {
+        return similarityPercent;
+    }
+}
@@ -0,0 +1,43 @@
+package codechecker.core.services.util;
+
+import java.util.List;
+
+/**
+ * Suspicious Pair List
+ * The suspicious pairs of an assignment, the most similar pair first
+ */
+public class SuspiciousPairList {
+    private Long assignmentId;
+    private double threshold;
+    private List<SuspiciousPair> pairs;
+
+    /**
+     * Suspicious Pair List constructor
+     */
+    public SuspiciousPairList(Long assignmentId, double threshold, List<SuspiciousPair> pairs) {
+        this.assignmentId = assignmentId;
+        this.threshold = threshold;
+        this.pairs = pairs;
+    }
+
+    /**
+     * get assignment id method
+     */
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    /**
+     * get threshold method
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * get pairs method
+     */
+    public List<SuspiciousPair> getPairs() {
+        return pairs;
+    }
+}
@@ -0,0 +1,21 @@
+package codechecker.rest.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Too Many Requests Exception
+ * HATEOAS Exception when a request cannot be accepted until the server has caught up
+ */
+@ResponseStatus(value= HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+
+    // Constructor
+    public TooManyRequestsException() {
+    }
+
+    // Parameterized Constructor
+    public TooManyRequestsException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -10,23 +10,36 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
 import codechecker.core.models.entities.Assignment;
 import codechecker.core.models.entities.AssignmentSubmission;
 import codechecker.core.services.util.AssignmentSubmissionList;
 import codechecker.core.services.AssignmentService;
 import codechecker.core.services.exceptions.AssignmentNotFoundException;
+import codechecker.core.services.exceptions.FileTooLargeException;
 import codechecker.core.services.util.AssignmentList;
+import codechecker.core.services.util.SimilarityMatrix;
+import codechecker.core.services.util.SuspiciousPairList;
+import codechecker.rest.exceptions.BadRequestException;
 import codechecker.rest.exceptions.NotFoundException;
 import codechecker.rest.resources.AssignmentSubmissionListResource;
 import codechecker.rest.resources.AssignmentSubmissionResource;
 import codechecker.rest.resources.AssignmentListResource;
 import codechecker.rest.resources.AssignmentResource;
+import codechecker.rest.resources.SimilarityMatrixResource;
+import codechecker.rest.resources.SuspiciousPairListResource;
 import codechecker.rest.resources.asm.AssignmentSubmissionListResourceAsm;
 import codechecker.rest.resources.asm.AssignmentSubmissionResourceAsm;
 import codechecker.rest.resources.asm.AssignmentListResourceAsm;
 import codechecker.rest.resources.asm.AssignmentResourceAsm;
+import codechecker.rest.resources.asm.SimilarityMatrixResourceAsm;
+import codechecker.rest.resources.asm.SuspiciousPairListResourceAsm;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.zip.ZipException;
 
 
 /**
@@ -110,6 +123,60 @@ public class AssignmentController {
         }
     }
 
+    /**
+     * Function to create the assignment submissions of a whole class from a zip archive
+     */
+    @RequestMapping(value="/{assignmentId}/import",
+            method = RequestMethod.POST)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<AssignmentSubmissionListResource> importAssignmentSubmissions(
+            @PathVariable Long assignmentId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        try {
+            AssignmentSubmissionList list =
+                    assignmentService.importAssignmentSubmissions(assignmentId, file.getInputStream());
+            AssignmentSubmissionListResource res = new AssignmentSubmissionListResourceAsm().toResource(list);
+            return new ResponseEntity<AssignmentSubmissionListResource>(res, HttpStatus.CREATED);
+        } catch(AssignmentNotFoundException exception)
+        {
+            throw new NotFoundException(exception);
+        } catch(FileTooLargeException exception)
+        {
+            throw new BadRequestException(exception);
+        } catch(ZipException exception)
+        {
+            throw new BadRequestException(exception);
+        }
+    }
+
+    /**
+     * Function to upload the starter code of an assignment, which is left out of every compare
+     */
+    @RequestMapping(value="/{assignmentId}/starter-code",
+            method = RequestMethod.POST)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<AssignmentResource> uploadStarterCode(
+            @PathVariable Long assignmentId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        InputStream content = file.getInputStream();
+        try {
+            Assignment assignment = assignmentService.uploadStarterCode(assignmentId, content);
+            if(assignment == null) {
+                throw new BadRequestException();
+            }
+            AssignmentResource res = new AssignmentResourceAsm().toResource(assignment);
+            return new ResponseEntity<AssignmentResource>(res, HttpStatus.OK);
+        } catch(AssignmentNotFoundException exception)
+        {
+            throw new NotFoundException(exception);
+        } catch(FileTooLargeException exception)
+        {
+            throw new BadRequestException(exception);
+        } finally {
+            content.close();
+        }
+    }
+
     /**
      * Function to find all assignment submissions
      */
@@ -126,4 +193,62 @@ public class AssignmentController {
         }
     }
 
+    /**
+     * Function to compare all assignment submissions of an assignment with each other
+     */
+    @RequestMapping(value="/{assignmentId}/similarity-matrix",
+            method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<SimilarityMatrixResource> getSimilarityMatrix(
+            @PathVariable Long assignmentId) {
+        try {
+            SimilarityMatrix matrix = assignmentService.computeSimilarityMatrix(assignmentId);
+            SimilarityMatrixResource res = new SimilarityMatrixResourceAsm().toResource(matrix);
+            return new ResponseEntity<SimilarityMatrixResource>(res, HttpStatus.OK);
+        } catch(AssignmentNotFoundException exception)
+        {
+            throw new NotFoundException(exception);
+        }
+    }
+
+    /**
+     * Function to compare all assignment submissions of an assignment with each other, weighing code by how rare it is
+     */
+    @RequestMapping(value="/{assignmentId}/weighted-similarity-matrix",
+            method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<SimilarityMatrixResource> getWeightedSimilarityMatrix(
+            @PathVariable Long assignmentId) {
+        try {
+            SimilarityMatrix matrix = assignmentService.computeWeightedSimilarityMatrix(assignmentId);
+            SimilarityMatrixResource res = new SimilarityMatrixResourceAsm().toResource(matrix);
+            return new ResponseEntity<SimilarityMatrixResource>(res, HttpStatus.OK);
+        } catch(AssignmentNotFoundException exception)
+        {
+            throw new NotFoundException(exception);
+        }
+    }
+
+    /**
+     * Function to find the pairs of assignment submissions of an assignment that are at least as similar as the threshold
+     */
+    @RequestMapping(value="/{assignmentId}/suspicious-pairs",
+            method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<SuspiciousPairListResource> findSuspiciousPairs(
+            @PathVariable Long assignmentId,
+            @RequestParam(value = "threshold", defaultValue = "0.5") double threshold) {
+        if(!(threshold > 0 && threshold <= 1)) {
+            throw new BadRequestException();
+        }
+        try {
+            SuspiciousPairList list = assignmentService.findSuspiciousPairs(assignmentId, threshold);
+            SuspiciousPairListResource res = new SuspiciousPairListResourceAsm().toResource(list);
+            return new ResponseEntity<SuspiciousPairListResource>(res, HttpStatus.OK);
+        } catch(AssignmentNotFoundException exception)
+        {
+            throw new NotFoundException(exception);
+        }
+    }
+
 }
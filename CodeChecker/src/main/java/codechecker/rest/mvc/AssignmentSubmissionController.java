@@ -1,20 +1,33 @@
 package codechecker.rest.mvc;
 
-import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import codechecker.core.models.entities.AssignmentSubmission;
 import codechecker.core.services.AssignmentSubmissionService;
+import codechecker.core.services.exceptions.FileTooLargeException;
+import codechecker.core.services.util.MatchedRegionList;
+import codechecker.core.services.util.SimilarSubmissionList;
+import codechecker.core.services.util.SourceDiff;
+import codechecker.rest.exceptions.BadRequestException;
 import codechecker.rest.resources.AssignmentSubmissionResource;
+import codechecker.rest.resources.MatchedRegionListResource;
+import codechecker.rest.resources.SimilarSubmissionListResource;
+import codechecker.rest.resources.SourceDiffResource;
 import codechecker.rest.resources.asm.AssignmentSubmissionResourceAsm;
+import codechecker.rest.resources.asm.MatchedRegionListResourceAsm;
+import codechecker.rest.resources.asm.SimilarSubmissionListResourceAsm;
+import codechecker.rest.resources.asm.SourceDiffResourceAsm;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 
 /**
  * Assignment Submission Controller
@@ -22,6 +35,10 @@ import java.io.IOException;
 @Controller
 @RequestMapping("/rest/assignment-submissions")
 public class AssignmentSubmissionController {
+    private static final int MAX_SIMILAR_SUBMISSIONS = 100;
+
+    private static final int MAX_MATCHED_REGIONS = 100;
+
     private AssignmentSubmissionService service;
 
     /**
@@ -58,16 +75,112 @@ public class AssignmentSubmissionController {
             @PathVariable Long assignmentSubmissionId,
             @RequestParam("file") MultipartFile file) throws IOException {
 
-        byte[] bytes;
-
         if (!file.isEmpty()) {
-            bytes = file.getBytes();
-            FileUtils.writeByteArrayToFile(new File("src/main/webapp/app/app/upload/"+assignmentSubmissionId+".java"), bytes);
+            InputStream content = file.getInputStream();
+            try {
+                service.uploadAssignmentSubmission(assignmentSubmissionId, content);
+            } catch (FileTooLargeException e) {
+                throw new BadRequestException(e);
+            } finally {
+                content.close();
+            }
         }
 
         return new ResponseEntity<AssignmentSubmissionResource>(HttpStatus.OK);
     }
 
+    /**
+     * Function to get the uploaded java file of an assignment submission
+     */
+    @RequestMapping(value = "/{assignmentSubmissionId}/source", method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<byte[]> getAssignmentSubmissionSource(
+            @PathVariable Long assignmentSubmissionId) throws IOException {
+        byte[] source = service.findAssignmentSubmissionSource(assignmentSubmissionId);
+        if(source != null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(new MediaType("text", "plain", Charset.forName("UTF-8")));
+            return new ResponseEntity<byte[]>(source, headers, HttpStatus.OK);
+        } else {
+            return new ResponseEntity<byte[]>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Function to get the normalized java file of an assignment submission, shown by the side-by-side view
+     */
+    @RequestMapping(value = "/{assignmentSubmissionId}/transformed", method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<byte[]> getAssignmentSubmissionTransformedSource(
+            @PathVariable Long assignmentSubmissionId) throws IOException {
+        byte[] source = service.findAssignmentSubmissionTransformedSource(assignmentSubmissionId);
+        if(source != null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(new MediaType("text", "plain", Charset.forName("UTF-8")));
+            return new ResponseEntity<byte[]>(source, headers, HttpStatus.OK);
+        } else {
+            return new ResponseEntity<byte[]>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Function to diff the normalized java files of two assignment submissions for the side-by-side view,
+     * sending only the changed lines and the line ranges that match
+     */
+    @RequestMapping(value = "/diff", method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<SourceDiffResource> diffAssignmentSubmissions(
+            @RequestParam Long assignmentId, @RequestParam Long otherAssignmentId) throws IOException {
+        SourceDiff diff = service.diffAssignmentSubmissions(assignmentId, otherAssignmentId);
+        if(diff != null) {
+            SourceDiffResource res = new SourceDiffResourceAsm().toResource(diff);
+            return new ResponseEntity<SourceDiffResource>(res, HttpStatus.OK);
+        } else {
+            return new ResponseEntity<SourceDiffResource>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Function to find the largest regions of code two assignment submissions have in common,
+     * as line ranges in each of their uploaded java files
+     */
+    @RequestMapping(value = "/matches", method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<MatchedRegionListResource> findMatchedRegions(
+            @RequestParam Long assignmentId, @RequestParam Long otherAssignmentId,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if(limit < 1 || limit > MAX_MATCHED_REGIONS) {
+            throw new BadRequestException();
+        }
+        MatchedRegionList list = service.findMatchedRegions(assignmentId, otherAssignmentId, limit);
+        if(list != null) {
+            MatchedRegionListResource res = new MatchedRegionListResourceAsm().toResource(list);
+            return new ResponseEntity<MatchedRegionListResource>(res, HttpStatus.OK);
+        } else {
+            return new ResponseEntity<MatchedRegionListResource>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Function to find the submissions of other assignments most similar to an assignment submission
+     */
+    @RequestMapping(value = "/{assignmentSubmissionId}/similar", method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<SimilarSubmissionListResource> findSimilarSubmissions(
+            @PathVariable Long assignmentSubmissionId,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if(limit < 1 || limit > MAX_SIMILAR_SUBMISSIONS) {
+            throw new BadRequestException();
+        }
+        SimilarSubmissionList list = service.findSimilarSubmissions(assignmentSubmissionId, limit);
+        if(list != null) {
+            SimilarSubmissionListResource res = new SimilarSubmissionListResourceAsm().toResource(list);
+            return new ResponseEntity<SimilarSubmissionListResource>(res, HttpStatus.OK);
+        } else {
+            return new ResponseEntity<SimilarSubmissionListResource>(HttpStatus.NOT_FOUND);
+        }
+    }
+
     /**
      * Function to delete an assignment submission by assignment submission id
      */
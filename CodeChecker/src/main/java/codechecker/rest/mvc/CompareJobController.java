@@ -0,0 +1,76 @@
+package codechecker.rest.mvc;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import codechecker.core.services.CompareJobService;
+import codechecker.core.services.exceptions.CompareQueueFullException;
+import codechecker.core.services.util.CompareJob;
+import codechecker.rest.exceptions.BadRequestException;
+import codechecker.rest.exceptions.TooManyRequestsException;
+import codechecker.rest.resources.CompareJobResource;
+import codechecker.rest.resources.asm.CompareJobResourceAsm;
+
+import java.net.URI;
+
+/**
+ * Compare Job Controller class
+ * Compares are submitted as jobs and polled, so no servlet thread waits for a compare to finish
+ */
+@Controller
+@RequestMapping("/rest/compare-jobs")
+public class CompareJobController {
+    private CompareJobService compareJobService;
+
+    /**
+     * Compare Job Controller constructor
+     */
+    @Autowired
+    public CompareJobController(CompareJobService compareJobService) {
+        this.compareJobService = compareJobService;
+    }
+
+    /**
+     * Function to submit a compare of two assignment submissions, answered before the compare has run
+     */
+    @RequestMapping(method = RequestMethod.POST)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<CompareJobResource> submitCompareJob(@RequestBody CompareJobResource sentCompareJob) {
+        if(sentCompareJob.getSubmissionId() == null || sentCompareJob.getOtherSubmissionId() == null) {
+            throw new BadRequestException();
+        }
+        try {
+            CompareJob job = compareJobService.submitCompareJob(
+                    sentCompareJob.getSubmissionId(), sentCompareJob.getOtherSubmissionId());
+            CompareJobResource res = new CompareJobResourceAsm().toResource(job);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setLocation(URI.create(res.getLink("self").getHref()));
+            return new ResponseEntity<CompareJobResource>(res, headers, HttpStatus.ACCEPTED);
+        } catch (CompareQueueFullException e) {
+            throw new TooManyRequestsException(e);
+        }
+    }
+
+    /**
+     * Function to poll the status and the result of a compare job
+     */
+    @RequestMapping(value="/{compareJobId}",
+            method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<CompareJobResource> getCompareJob(@PathVariable Long compareJobId) {
+        CompareJob job = compareJobService.findCompareJob(compareJobId);
+        if(job != null) {
+            CompareJobResource res = new CompareJobResourceAsm().toResource(job);
+            return new ResponseEntity<CompareJobResource>(res, HttpStatus.OK);
+        } else {
+            return new ResponseEntity<CompareJobResource>(HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package codechecker.rest.mvc;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import codechecker.core.services.MetricsService;
+import codechecker.rest.resources.StageMetricsListResource;
+import codechecker.rest.resources.asm.StageMetricsListResourceAsm;
+
+/**
+ * Metrics Controller class
+ * Exposes the latencies of the stages of the compare pipeline, to find the stage a slow compare spends its time in
+ */
+@Controller
+@RequestMapping("/rest/metrics")
+public class MetricsController {
+    private MetricsService metricsService;
+
+    /**
+     * Metrics Controller constructor
+     */
+    @Autowired
+    public MetricsController(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Function to get the metrics of every stage of the compare pipeline
+     */
+    @RequestMapping(value="/pipeline",
+            method = RequestMethod.GET)
+    @PreAuthorize("permitAll")
+    public ResponseEntity<StageMetricsListResource> findPipelineMetrics() {
+        StageMetricsListResource res = new StageMetricsListResourceAsm().toResource(metricsService.findPipelineMetrics());
+        return new ResponseEntity<StageMetricsListResource>(res, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,105 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Compare Job Resource class
+ * extends Resource Support
+ */
+public class CompareJobResource extends ResourceSupport {
+    private Long rid;
+
+    private Long submissionId;
+
+    private Long otherSubmissionId;
+
+    private String status;
+
+    private String similarityPercent;
+
+    private String error;
+
+    /**
+     * Function to get resource id for compare job
+     */
+    public Long getRid() {
+        return rid;
+    }
+
+    /**
+     * Function to set resource id for compare job
+     */
+    public void setRid(Long rid) {
+        this.rid = rid;
+    }
+
+    /**
+     * Function to get the id of the assignment submission to be compared
+     */
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    /**
+     * Function to set the id of the assignment submission to be compared
+     */
+    public void setSubmissionId(Long submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    /**
+     * Function to get the id of the assignment submission to compare against
+     */
+    public Long getOtherSubmissionId() {
+        return otherSubmissionId;
+    }
+
+    /**
+     * Function to set the id of the assignment submission to compare against
+     */
+    public void setOtherSubmissionId(Long otherSubmissionId) {
+        this.otherSubmissionId = otherSubmissionId;
+    }
+
+    /**
+     * Function to get the status of the compare job
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Function to set the status of the compare job
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Function to get the similarity percent, once the compare job has completed
+     */
+    public String getSimilarityPercent() {
+        return similarityPercent;
+    }
+
+    /**
+     * Function to set the similarity percent
+     */
+    public void setSimilarityPercent(String similarityPercent) {
+        this.similarityPercent = similarityPercent;
+    }
+
+    /**
+     * Function to get the reason the compare job failed
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Function to set the reason the compare job failed
+     */
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,126 @@
+package codechecker.rest.resources;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.hateoas.ResourceSupport;
+
+import java.util.List;
+
+/**
+ * Diff Hunk Resource class
+ * extends Resource Support
+ * The lines are left out of matching hunks, whose lines the view already has
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DiffHunkResource extends ResourceSupport {
+    private boolean match;
+
+    private int line;
+
+    private int lineCount;
+
+    private int otherLine;
+
+    private int otherLineCount;
+
+    private List<String> lines;
+
+    private List<String> otherLines;
+
+    /**
+     * Function to get whether the lines of the hunk are the same in both sources
+     */
+    public boolean isMatch() {
+        return match;
+    }
+
+    /**
+     * Function to set whether the lines of the hunk are the same in both sources
+     */
+    public void setMatch(boolean match) {
+        this.match = match;
+    }
+
+    /**
+     * Function to get the first line of the hunk
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Function to set the first line of the hunk
+     */
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    /**
+     * Function to get the number of lines of the hunk
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Function to set the number of lines of the hunk
+     */
+    public void setLineCount(int lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * Function to get the first line of the hunk in the other source
+     */
+    public int getOtherLine() {
+        return otherLine;
+    }
+
+    /**
+     * Function to set the first line of the hunk in the other source
+     */
+    public void setOtherLine(int otherLine) {
+        this.otherLine = otherLine;
+    }
+
+    /**
+     * Function to get the number of lines of the hunk in the other source
+     */
+    public int getOtherLineCount() {
+        return otherLineCount;
+    }
+
+    /**
+     * Function to set the number of lines of the hunk in the other source
+     */
+    public void setOtherLineCount(int otherLineCount) {
+        this.otherLineCount = otherLineCount;
+    }
+
+    /**
+     * Function to get the changed lines, null for a match
+     */
+    public List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Function to set the changed lines, null for a match
+     */
+    public void setLines(List<String> lines) {
+        this.lines = lines;
+    }
+
+    /**
+     * Function to get the changed lines in the other source, null for a match
+     */
+    public List<String> getOtherLines() {
+        return otherLines;
+    }
+
+    /**
+     * Function to set the changed lines in the other source, null for a match
+     */
+    public void setOtherLines(List<String> otherLines) {
+        this.otherLines = otherLines;
+    }
+}
@@ -0,0 +1,27 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+import java.util.List;
+
+/**
+ * Matched Region List Resource class
+ * extends Resource Support
+ */
+public class MatchedRegionListResource extends ResourceSupport {
+    private List<MatchedRegionResource> regions;
+
+    /**
+     * Function to get the matched regions, the largest first
+     */
+    public List<MatchedRegionResource> getRegions() {
+        return regions;
+    }
+
+    /**
+     * Function to set the matched regions
+     */
+    public void setRegions(List<MatchedRegionResource> regions) {
+        this.regions = regions;
+    }
+}
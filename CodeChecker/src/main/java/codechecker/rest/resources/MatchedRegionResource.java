@@ -0,0 +1,85 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Matched Region Resource class
+ * extends Resource Support
+ */
+public class MatchedRegionResource extends ResourceSupport {
+    private int line;
+    private int endLine;
+    private int otherLine;
+    private int otherEndLine;
+    private int nodes;
+
+    /**
+     * Function to get the first line in the submission
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Function to set the first line in the submission
+     */
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    /**
+     * Function to get the last line in the submission
+     */
+    public int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * Function to set the last line in the submission
+     */
+    public void setEndLine(int endLine) {
+        this.endLine = endLine;
+    }
+
+    /**
+     * Function to get the first line in the other submission
+     */
+    public int getOtherLine() {
+        return otherLine;
+    }
+
+    /**
+     * Function to set the first line in the other submission
+     */
+    public void setOtherLine(int otherLine) {
+        this.otherLine = otherLine;
+    }
+
+    /**
+     * Function to get the last line in the other submission
+     */
+    public int getOtherEndLine() {
+        return otherEndLine;
+    }
+
+    /**
+     * Function to set the last line in the other submission
+     */
+    public void setOtherEndLine(int otherEndLine) {
+        this.otherEndLine = otherEndLine;
+    }
+
+    /**
+     * Function to get the node count of the matching subtree
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Function to set the node count of the matching subtree
+     */
+    public void setNodes(int nodes) {
+        this.nodes = nodes;
+    }
+}
@@ -0,0 +1,27 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+import java.util.List;
+
+/**
+ * Similar Submission List Resource class
+ * extends Resource Support
+ */
+public class SimilarSubmissionListResource extends ResourceSupport {
+    private List<SimilarSubmissionResource> submissions;
+
+    /**
+     * Function to get the similar submissions
+     */
+    public List<SimilarSubmissionResource> getSubmissions() {
+        return submissions;
+    }
+
+    /**
+     * Function to set the similar submissions
+     */
+    public void setSubmissions(List<SimilarSubmissionResource> submissions) {
+        this.submissions = submissions;
+    }
+}
@@ -0,0 +1,57 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Similar Submission Resource class
+ * extends Resource Support
+ */
+public class SimilarSubmissionResource extends ResourceSupport {
+    private Long submissionId;
+
+    private Long assignmentId;
+
+    private double similarityPercent;
+
+    /**
+     * Function to get the id of the similar submission
+     */
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    /**
+     * Function to set the id of the similar submission
+     */
+    public void setSubmissionId(Long submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    /**
+     * Function to get the id of the assignment of the similar submission
+     */
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    /**
+     * Function to set the id of the assignment of the similar submission
+     */
+    public void setAssignmentId(Long assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+
+    /**
+     * Function to get the similarity percent
+     */
+    public double getSimilarityPercent() {
+        return similarityPercent;
+    }
+
+    /**
+     * Function to set the similarity percent
+     */
+    public void setSimilarityPercent(double similarityPercent) {
+        this.similarityPercent = similarityPercent;
+    }
+}
@@ -0,0 +1,43 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+import java.util.List;
+
+/**
+ * Similarity Matrix Resource class
+ * extends Resource Support
+ */
+public class SimilarityMatrixResource extends ResourceSupport {
+    private List<Long> submissionIds;
+
+    private double[][] similarities;
+
+    /**
+     * Function to get the ids of the compared assignment submissions
+     */
+    public List<Long> getSubmissionIds() {
+        return submissionIds;
+    }
+
+    /**
+     * Function to set the ids of the compared assignment submissions
+     */
+    public void setSubmissionIds(List<Long> submissionIds) {
+        this.submissionIds = submissionIds;
+    }
+
+    /**
+     * Function to get the similarity percents, indexed like the submission ids
+     */
+    public double[][] getSimilarities() {
+        return similarities;
+    }
+
+    /**
+     * Function to set the similarity percents, indexed like the submission ids
+     */
+    public void setSimilarities(double[][] similarities) {
+        this.similarities = similarities;
+    }
+}
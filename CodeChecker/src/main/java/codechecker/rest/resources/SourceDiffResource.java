@@ -0,0 +1,27 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+import java.util.List;
+
+/**
+ * Source Diff Resource class
+ * extends Resource Support
+ */
+public class SourceDiffResource extends ResourceSupport {
+    private List<DiffHunkResource> hunks;
+
+    /**
+     * Function to get the hunks of the diff
+     */
+    public List<DiffHunkResource> getHunks() {
+        return hunks;
+    }
+
+    /**
+     * Function to set the hunks of the diff
+     */
+    public void setHunks(List<DiffHunkResource> hunks) {
+        this.hunks = hunks;
+    }
+}
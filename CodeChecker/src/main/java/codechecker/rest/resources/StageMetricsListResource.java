@@ -0,0 +1,27 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+import java.util.List;
+
+/**
+ * Stage Metrics List Resource class
+ * extends Resource Support
+ */
+public class StageMetricsListResource extends ResourceSupport {
+    private List<StageMetricsResource> stages;
+
+    /**
+     * Function to get the metrics of the stages
+     */
+    public List<StageMetricsResource> getStages() {
+        return stages;
+    }
+
+    /**
+     * Function to set the metrics of the stages
+     */
+    public void setStages(List<StageMetricsResource> stages) {
+        this.stages = stages;
+    }
+}
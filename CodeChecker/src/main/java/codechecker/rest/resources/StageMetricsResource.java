@@ -0,0 +1,137 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Stage Metrics Resource class
+ * extends Resource Support
+ */
+public class StageMetricsResource extends ResourceSupport {
+    private String stage;
+
+    private String unit;
+
+    private long count;
+
+    private double mean;
+
+    private long p50;
+
+    private long p90;
+
+    private long p99;
+
+    private long max;
+
+    /**
+     * Function to get the name of the stage
+     */
+    public String getStage() {
+        return stage;
+    }
+
+    /**
+     * Function to set the name of the stage
+     */
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * Function to get the unit of the recorded values
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Function to set the unit of the recorded values
+     */
+    public void setUnit(String unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Function to get the number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Function to set the number of recorded values
+     */
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    /**
+     * Function to get the mean of the recorded values
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Function to set the mean of the recorded values
+     */
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    /**
+     * Function to get the median of the recorded values
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Function to set the median of the recorded values
+     */
+    public void setP50(long p50) {
+        this.p50 = p50;
+    }
+
+    /**
+     * Function to get the 90th percentile of the recorded values
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * Function to set the 90th percentile of the recorded values
+     */
+    public void setP90(long p90) {
+        this.p90 = p90;
+    }
+
+    /**
+     * Function to get the 99th percentile of the recorded values
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Function to set the 99th percentile of the recorded values
+     */
+    public void setP99(long p99) {
+        this.p99 = p99;
+    }
+
+    /**
+     * Function to get the largest recorded value
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Function to set the largest recorded value
+     */
+    public void setMax(long max) {
+        this.max = max;
+    }
+}
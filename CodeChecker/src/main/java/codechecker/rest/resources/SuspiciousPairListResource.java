@@ -0,0 +1,43 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+import java.util.List;
+
+/**
+ * Suspicious Pair List Resource class
+ * extends Resource Support
+ */
+public class SuspiciousPairListResource extends ResourceSupport {
+    private double threshold;
+
+    private List<SuspiciousPairResource> pairs;
+
+    /**
+     * Function to get the Jaccard threshold the pairs were found with
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Function to set the Jaccard threshold the pairs were found with
+     */
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Function to get the suspicious pairs
+     */
+    public List<SuspiciousPairResource> getPairs() {
+        return pairs;
+    }
+
+    /**
+     * Function to set the suspicious pairs
+     */
+    public void setPairs(List<SuspiciousPairResource> pairs) {
+        this.pairs = pairs;
+    }
+}
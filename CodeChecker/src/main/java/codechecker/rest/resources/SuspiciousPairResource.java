@@ -0,0 +1,57 @@
+package codechecker.rest.resources;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * Suspicious Pair Resource class
+ * extends Resource Support
+ */
+public class SuspiciousPairResource extends ResourceSupport {
+    private Long submissionId;
+
+    private Long otherSubmissionId;
+
+    private double similarityPercent;
+
+    /**
+     * Function to get the id of the first submission of the pair
+     */
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    /**
+     * Function to set the id of the first submission of the pair
+     */
+    public void setSubmissionId(Long submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    /**
+     * Function to get the id of the second submission of the pair
+     */
+    public Long getOtherSubmissionId() {
+        return otherSubmissionId;
+    }
+
+    /**
+     * Function to set the id of the second submission of the pair
+     */
+    public void setOtherSubmissionId(Long otherSubmissionId) {
+        this.otherSubmissionId = otherSubmissionId;
+    }
+
+    /**
+     * Function to get the similarity percent of the pair
+     */
+    public double getSimilarityPercent() {
+        return similarityPercent;
+    }
+
+    /**
+     * Function to set the similarity percent of the pair
+     */
+    public void setSimilarityPercent(double similarityPercent) {
+        this.similarityPercent = similarityPercent;
+    }
+}
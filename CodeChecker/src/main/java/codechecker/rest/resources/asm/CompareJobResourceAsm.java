@@ -0,0 +1,40 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.CompareJob;
+import codechecker.rest.mvc.AssignmentSubmissionController;
+import codechecker.rest.mvc.CompareJobController;
+import codechecker.rest.resources.CompareJobResource;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+/**
+ * Compare Job Resource Asm class
+ */
+public class CompareJobResourceAsm extends ResourceAssemblerSupport<CompareJob, CompareJobResource> {
+
+    /**
+     * Compare Job Resource Asm constructor
+     */
+    public CompareJobResourceAsm() {
+        super(CompareJobController.class, CompareJobResource.class);
+    }
+
+    /**
+     * Function to store the details and the current state of a compare job
+     */
+    @Override
+    public CompareJobResource toResource(CompareJob job) {
+        CompareJobResource res = new CompareJobResource();
+        res.setRid(job.getId());
+        res.setSubmissionId(job.getSubmissionId());
+        res.setOtherSubmissionId(job.getOtherSubmissionId());
+        res.setStatus(job.getStatus().name());
+        res.setSimilarityPercent(job.getSimilarityPercent());
+        res.setError(job.getError());
+        res.add(linkTo(CompareJobController.class).slash(job.getId()).withSelfRel());
+        res.add(linkTo(AssignmentSubmissionController.class).slash(job.getSubmissionId()).withRel("submission"));
+        res.add(linkTo(AssignmentSubmissionController.class).slash(job.getOtherSubmissionId()).withRel("other-submission"));
+        return res;
+    }
+}
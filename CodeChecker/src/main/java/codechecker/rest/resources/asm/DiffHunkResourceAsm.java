@@ -0,0 +1,35 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.DiffHunk;
+import codechecker.rest.mvc.AssignmentSubmissionController;
+import codechecker.rest.resources.DiffHunkResource;
+
+/**
+ * Diff Hunk Resource Asm class
+ */
+public class DiffHunkResourceAsm extends ResourceAssemblerSupport<DiffHunk, DiffHunkResource> {
+
+    /**
+     * Diff Hunk Resource Asm constructor
+     */
+    public DiffHunkResourceAsm() {
+        super(AssignmentSubmissionController.class, DiffHunkResource.class);
+    }
+
+    /**
+     * Function to store the line ranges of a hunk, and its lines if it is a change
+     */
+    @Override
+    public DiffHunkResource toResource(DiffHunk hunk) {
+        DiffHunkResource res = new DiffHunkResource();
+        res.setMatch(hunk.isMatch());
+        res.setLine(hunk.getLine());
+        res.setLineCount(hunk.getLineCount());
+        res.setOtherLine(hunk.getOtherLine());
+        res.setOtherLineCount(hunk.getOtherLineCount());
+        res.setLines(hunk.getLines());
+        res.setOtherLines(hunk.getOtherLines());
+        return res;
+    }
+}
@@ -0,0 +1,35 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.MatchedRegionList;
+import codechecker.rest.mvc.AssignmentSubmissionController;
+import codechecker.rest.resources.MatchedRegionListResource;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+/**
+ * Matched Region List Resource Asm class
+ */
+public class MatchedRegionListResourceAsm extends ResourceAssemblerSupport<MatchedRegionList, MatchedRegionListResource> {
+
+    /**
+     * Matched Region List Resource Asm constructor
+     */
+    public MatchedRegionListResourceAsm() {
+        super(AssignmentSubmissionController.class, MatchedRegionListResource.class);
+    }
+
+    /**
+     * Function to add the matched regions, with links to both submissions, their compare and their diff
+     */
+    @Override
+    public MatchedRegionListResource toResource(MatchedRegionList list) {
+        MatchedRegionListResource res = new MatchedRegionListResource();
+        res.setRegions(new MatchedRegionResourceAsm().toResources(list.getRegions()));
+        res.add(linkTo(AssignmentSubmissionController.class).slash(list.getSubmissionId()).withRel("submission"));
+        res.add(linkTo(AssignmentSubmissionController.class).slash(list.getOtherSubmissionId()).withRel("other-submission"));
+        res.add(linkTo(methodOn(AssignmentSubmissionController.class)
+                .compareAssignmentSubmissions(list.getSubmissionId(), list.getOtherSubmissionId())).withRel("compare"));
+        return res;
+    }
+}
@@ -0,0 +1,33 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.MatchedRegion;
+import codechecker.rest.mvc.AssignmentSubmissionController;
+import codechecker.rest.resources.MatchedRegionResource;
+
+/**
+ * Matched Region Resource Asm class
+ */
+public class MatchedRegionResourceAsm extends ResourceAssemblerSupport<MatchedRegion, MatchedRegionResource> {
+
+    /**
+     * Matched Region Resource Asm constructor
+     */
+    public MatchedRegionResourceAsm() {
+        super(AssignmentSubmissionController.class, MatchedRegionResource.class);
+    }
+
+    /**
+     * Function to store the line ranges of a matched region in both submissions and its size
+     */
+    @Override
+    public MatchedRegionResource toResource(MatchedRegion region) {
+        MatchedRegionResource res = new MatchedRegionResource();
+        res.setLine(region.getLine());
+        res.setEndLine(region.getEndLine());
+        res.setOtherLine(region.getOtherLine());
+        res.setOtherEndLine(region.getOtherEndLine());
+        res.setNodes(region.getNodes());
+        return res;
+    }
+}
@@ -0,0 +1,44 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.SimilarSubmission;
+import codechecker.core.services.util.SimilarSubmissionList;
+import codechecker.rest.mvc.AssignmentSubmissionController;
+import codechecker.rest.resources.SimilarSubmissionListResource;
+import codechecker.rest.resources.SimilarSubmissionResource;
+
+import java.util.List;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+/**
+ * Similar Submission List Resource Asm class
+ */
+public class SimilarSubmissionListResourceAsm extends ResourceAssemblerSupport<SimilarSubmissionList, SimilarSubmissionListResource> {
+
+    /**
+     * Similar Submission List Resource Asm constructor
+     */
+    public SimilarSubmissionListResourceAsm() {
+        super(AssignmentSubmissionController.class, SimilarSubmissionListResource.class);
+    }
+
+    /**
+     * Function to add the similar submissions to the list, each with a link to its compare with the submission
+     */
+    @Override
+    public SimilarSubmissionListResource toResource(SimilarSubmissionList list) {
+        List<SimilarSubmissionResource> submissions = new SimilarSubmissionResourceAsm().toResources(list.getSubmissions());
+        for(int i = 0; i < submissions.size(); i++) {
+            SimilarSubmission submission = list.getSubmissions().get(i);
+            submissions.get(i).add(linkTo(methodOn(AssignmentSubmissionController.class)
+                    .compareAssignmentSubmissions(list.getSubmissionId(), submission.getSubmissionId())).withRel("compare"));
+        }
+        SimilarSubmissionListResource res = new SimilarSubmissionListResource();
+        res.setSubmissions(submissions);
+        res.add(linkTo(methodOn(AssignmentSubmissionController.class)
+                .findSimilarSubmissions(list.getSubmissionId(), list.getLimit())).withSelfRel());
+        res.add(linkTo(AssignmentSubmissionController.class).slash(list.getSubmissionId()).withRel("submission"));
+        return res;
+    }
+}
@@ -0,0 +1,38 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.SimilarSubmission;
+import codechecker.rest.mvc.AssignmentController;
+import codechecker.rest.mvc.AssignmentSubmissionController;
+import codechecker.rest.resources.SimilarSubmissionResource;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+/**
+ * Similar Submission Resource Asm class
+ */
+public class SimilarSubmissionResourceAsm extends ResourceAssemblerSupport<SimilarSubmission, SimilarSubmissionResource> {
+
+    /**
+     * Similar Submission Resource Asm constructor
+     */
+    public SimilarSubmissionResourceAsm() {
+        super(AssignmentSubmissionController.class, SimilarSubmissionResource.class);
+    }
+
+    /**
+     * Function to store the details of a similar submission, with links to the submission and its assignment
+     */
+    @Override
+    public SimilarSubmissionResource toResource(SimilarSubmission submission) {
+        SimilarSubmissionResource res = new SimilarSubmissionResource();
+        res.setSubmissionId(submission.getSubmissionId());
+        res.setAssignmentId(submission.getAssignmentId());
+        res.setSimilarityPercent(Math.round(submission.getSimilarityPercent() * 100) / 100.0);
+        res.add(linkTo(AssignmentSubmissionController.class).slash(submission.getSubmissionId()).withRel("submission"));
+        if(submission.getAssignmentId() != null) {
+            res.add(linkTo(AssignmentController.class).slash(submission.getAssignmentId()).withRel("assignment"));
+        }
+        return res;
+    }
+}
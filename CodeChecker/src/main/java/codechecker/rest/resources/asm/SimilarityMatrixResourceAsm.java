@@ -0,0 +1,48 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.SimilarityMatrix;
+import codechecker.rest.mvc.AssignmentController;
+import codechecker.rest.resources.SimilarityMatrixResource;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+/**
+ * Similarity Matrix Resource Asm class
+ */
+public class SimilarityMatrixResourceAsm extends ResourceAssemblerSupport<SimilarityMatrix, SimilarityMatrixResource> {
+
+    /**
+     * Similarity Matrix Resource Asm constructor
+     */
+    public SimilarityMatrixResourceAsm() {
+        super(AssignmentController.class, SimilarityMatrixResource.class);
+    }
+
+    /**
+     * Function to round the similarity percents to two decimal places, as the single compare does
+     */
+    @Override
+    public SimilarityMatrixResource toResource(SimilarityMatrix matrix) {
+        double[][] percents = matrix.getSimilarityPercents();
+        double[][] rounded = new double[percents.length][];
+        for(int i = 0; i < percents.length; i++) {
+            rounded[i] = new double[percents[i].length];
+            for(int j = 0; j < percents[i].length; j++) {
+                rounded[i][j] = Math.round(percents[i][j] * 100) / 100.0;
+            }
+        }
+        SimilarityMatrixResource res = new SimilarityMatrixResource();
+        res.setSubmissionIds(matrix.getSubmissionIds());
+        res.setSimilarities(rounded);
+        if(matrix.isWeighted()) {
+            res.add(linkTo(methodOn(AssignmentController.class)
+                    .getWeightedSimilarityMatrix(matrix.getAssignmentId())).withSelfRel());
+        } else {
+            res.add(linkTo(methodOn(AssignmentController.class)
+                    .getSimilarityMatrix(matrix.getAssignmentId())).withSelfRel());
+        }
+        res.add(linkTo(AssignmentController.class).slash(matrix.getAssignmentId()).withRel("assignment"));
+        return res;
+    }
+}
@@ -0,0 +1,35 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.SourceDiff;
+import codechecker.rest.mvc.AssignmentSubmissionController;
+import codechecker.rest.resources.SourceDiffResource;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+/**
+ * Source Diff Resource Asm class
+ */
+public class SourceDiffResourceAsm extends ResourceAssemblerSupport<SourceDiff, SourceDiffResource> {
+
+    /**
+     * Source Diff Resource Asm constructor
+     */
+    public SourceDiffResourceAsm() {
+        super(AssignmentSubmissionController.class, SourceDiffResource.class);
+    }
+
+    /**
+     * Function to add the hunks of the diff, with links to both submissions and their compare
+     */
+    @Override
+    public SourceDiffResource toResource(SourceDiff diff) {
+        SourceDiffResource res = new SourceDiffResource();
+        res.setHunks(new DiffHunkResourceAsm().toResources(diff.getHunks()));
+        res.add(linkTo(AssignmentSubmissionController.class).slash(diff.getSubmissionId()).withRel("submission"));
+        res.add(linkTo(AssignmentSubmissionController.class).slash(diff.getOtherSubmissionId()).withRel("other-submission"));
+        res.add(linkTo(methodOn(AssignmentSubmissionController.class)
+                .compareAssignmentSubmissions(diff.getSubmissionId(), diff.getOtherSubmissionId())).withRel("compare"));
+        return res;
+    }
+}
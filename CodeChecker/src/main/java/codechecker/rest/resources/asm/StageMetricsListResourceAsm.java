@@ -0,0 +1,32 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.StageMetricsList;
+import codechecker.rest.mvc.MetricsController;
+import codechecker.rest.resources.StageMetricsListResource;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+/**
+ * Stage Metrics List Resource Asm class
+ */
+public class StageMetricsListResourceAsm extends ResourceAssemblerSupport<StageMetricsList, StageMetricsListResource> {
+
+    /**
+     * Stage Metrics List Resource Asm constructor
+     */
+    public StageMetricsListResourceAsm() {
+        super(MetricsController.class, StageMetricsListResource.class);
+    }
+
+    /**
+     * Function to add the metrics of every stage to the list
+     */
+    @Override
+    public StageMetricsListResource toResource(StageMetricsList list) {
+        StageMetricsListResource res = new StageMetricsListResource();
+        res.setStages(new StageMetricsResourceAsm().toResources(list.getStages()));
+        res.add(linkTo(methodOn(MetricsController.class).findPipelineMetrics()).withSelfRel());
+        return res;
+    }
+}
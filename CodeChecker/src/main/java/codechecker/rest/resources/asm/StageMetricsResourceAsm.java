@@ -0,0 +1,36 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.StageMetrics;
+import codechecker.rest.mvc.MetricsController;
+import codechecker.rest.resources.StageMetricsResource;
+
+/**
+ * Stage Metrics Resource Asm class
+ */
+public class StageMetricsResourceAsm extends ResourceAssemblerSupport<StageMetrics, StageMetricsResource> {
+
+    /**
+     * Stage Metrics Resource Asm constructor
+     */
+    public StageMetricsResourceAsm() {
+        super(MetricsController.class, StageMetricsResource.class);
+    }
+
+    /**
+     * Function to store the metrics of a stage
+     */
+    @Override
+    public StageMetricsResource toResource(StageMetrics metrics) {
+        StageMetricsResource res = new StageMetricsResource();
+        res.setStage(metrics.getStage());
+        res.setUnit(metrics.getUnit());
+        res.setCount(metrics.getCount());
+        res.setMean(Math.round(metrics.getMean() * 100) / 100.0);
+        res.setP50(metrics.getP50());
+        res.setP90(metrics.getP90());
+        res.setP99(metrics.getP99());
+        res.setMax(metrics.getMax());
+        return res;
+    }
+}
@@ -0,0 +1,35 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.SuspiciousPairList;
+import codechecker.rest.mvc.AssignmentController;
+import codechecker.rest.resources.SuspiciousPairListResource;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+/**
+ * Suspicious Pair List Resource Asm class
+ */
+public class SuspiciousPairListResourceAsm extends ResourceAssemblerSupport<SuspiciousPairList, SuspiciousPairListResource> {
+
+    /**
+     * Suspicious Pair List Resource Asm constructor
+     */
+    public SuspiciousPairListResourceAsm() {
+        super(AssignmentController.class, SuspiciousPairListResource.class);
+    }
+
+    /**
+     * Function to add the suspicious pairs of an assignment to the list
+     */
+    @Override
+    public SuspiciousPairListResource toResource(SuspiciousPairList list) {
+        SuspiciousPairListResource res = new SuspiciousPairListResource();
+        res.setThreshold(list.getThreshold());
+        res.setPairs(new SuspiciousPairResourceAsm().toResources(list.getPairs()));
+        res.add(linkTo(methodOn(AssignmentController.class)
+                .findSuspiciousPairs(list.getAssignmentId(), list.getThreshold())).withSelfRel());
+        res.add(linkTo(AssignmentController.class).slash(list.getAssignmentId()).withRel("assignment"));
+        return res;
+    }
+}
@@ -0,0 +1,37 @@
+package codechecker.rest.resources.asm;
+
+import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import codechecker.core.services.util.SuspiciousPair;
+import codechecker.rest.mvc.AssignmentSubmissionController;
+import codechecker.rest.resources.SuspiciousPairResource;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.*;
+
+/**
+ * Suspicious Pair Resource Asm class
+ */
+public class SuspiciousPairResourceAsm extends ResourceAssemblerSupport<SuspiciousPair, SuspiciousPairResource> {
+
+    /**
+     * Suspicious Pair Resource Asm constructor
+     */
+    public SuspiciousPairResourceAsm() {
+        super(AssignmentSubmissionController.class, SuspiciousPairResource.class);
+    }
+
+    /**
+     * Function to store the details of a suspicious pair, with links to both submissions and their compare
+     */
+    @Override
+    public SuspiciousPairResource toResource(SuspiciousPair pair) {
+        SuspiciousPairResource res = new SuspiciousPairResource();
+        res.setSubmissionId(pair.getSubmissionId());
+        res.setOtherSubmissionId(pair.getOtherSubmissionId());
+        res.setSimilarityPercent(Math.round(pair.getSimilarityPercent() * 100) / 100.0);
+        res.add(linkTo(AssignmentSubmissionController.class).slash(pair.getSubmissionId()).withRel("submission"));
+        res.add(linkTo(AssignmentSubmissionController.class).slash(pair.getOtherSubmissionId()).withRel("other-submission"));
+        res.add(linkTo(methodOn(AssignmentSubmissionController.class)
+                .compareAssignmentSubmissions(pair.getSubmissionId(), pair.getOtherSubmissionId())).withRel("compare"));
+        return res;
+    }
+}
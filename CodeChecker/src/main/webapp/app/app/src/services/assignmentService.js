@@ -22,6 +22,22 @@ angular
             return $http.get("/code-checker/rest/assignment-submissions/compare?assignmentId="+id1+"&otherAssignmentId="+id2);
         };
 
+        service.getSourceDiff = function (id1, id2) {
+            return $http.get("/code-checker/rest/assignment-submissions/diff?assignmentId="+id1+"&otherAssignmentId="+id2);
+        };
+
+        service.submitCompareJob = function (id1, id2) {
+            return $http.post("/code-checker/rest/compare-jobs", {submissionId: id1, otherSubmissionId: id2});
+        };
+
+        service.getCompareJob = function (jobId) {
+            return $http.get("/code-checker/rest/compare-jobs/"+jobId);
+        };
+
+        service.getSimilarityMatrix = function (assignmentId) {
+            return $http.get("/code-checker/rest/assignments/"+assignmentId+"/similarity-matrix");
+        };
+
         service.checkIfAssignmentAlreadyExists = function (assignment, accountId) {
             return $http.get("/code-checker/rest/assignments/name/"+accountId+"_"+assignment.title);
         };
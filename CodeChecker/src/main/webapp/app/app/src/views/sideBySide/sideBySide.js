@@ -1,5 +1,5 @@
 angular.module('codeChecker')
-    .controller('SideBySideCtrl', function(sessionService, $http, assignmentService, $routeParams) {
+    .controller('SideBySideCtrl', function(sessionService, $http, assignmentService, $routeParams, $timeout) {
         var vm = this;
         function init() {
             vm.logout=function () {
@@ -7,6 +7,7 @@ angular.module('codeChecker')
             };
 
             vm.sideBySideDiff=sideBySideDiff;
+            vm.loadSourceDiff=loadSourceDiff;
             vm.file1Name=$routeParams.submissionId1;
             vm.file2Name=$routeParams.submissionId2;
         }
@@ -15,10 +16,41 @@ angular.module('codeChecker')
 
         function sideBySideDiff() {
             assignmentService
-                .compareAssignments(vm.file1Name, vm.file2Name)
+                .submitCompareJob(vm.file1Name, vm.file2Name)
                 .then(function (data) {
-                    vm.similarityPercentage=data.data;
-                    console.log(data.data);
+                    pollCompareJob(data.data.rid);
+                }, function () {
+                    vm.error="Failed to retrieve Assignments"
+                })
+        }
+
+        // the diff of the transformed files is computed by the server, only once it is shown
+        function loadSourceDiff() {
+            if(vm.sourceDiff) {
+                return;
+            }
+            assignmentService
+                .getSourceDiff(vm.file1Name, vm.file2Name)
+                .then(function (data) {
+                    vm.sourceDiff=data.data;
+                }, function () {
+                    vm.error="Failed to retrieve the transformed files"
+                })
+        }
+
+        function pollCompareJob(jobId) {
+            assignmentService
+                .getCompareJob(jobId)
+                .then(function (data) {
+                    if(data.data.status === "COMPLETED") {
+                        vm.similarityPercentage=data.data.similarityPercent;
+                    } else if(data.data.status === "FAILED") {
+                        vm.error="Failed to compare Assignments"
+                    } else {
+                        $timeout(function () {
+                            pollCompareJob(jobId);
+                        }, 500);
+                    }
                 }, function () {
                     vm.error="Failed to retrieve Assignments"
                 })
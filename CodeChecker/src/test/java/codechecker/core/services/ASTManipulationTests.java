@@ -61,8 +61,8 @@ public class ASTManipulationTests {
             cu1.accept(hcv1, null); //All the nodes in the AST generated from the first submission are visited.
             cu2.accept(hcv2, null); //All the nodes in the AST generated from the second submission are visited.
             
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(true, a.equals(b));
 
@@ -100,8 +100,8 @@ public class ASTManipulationTests {
             cu1.accept(hcv1, null); //All the nodes in the AST generated from the first submission are visited.
             cu2.accept(hcv2, null); //All the nodes in the AST generated from the second submission are visited.
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(true, a.equals(b));
 
@@ -140,8 +140,8 @@ public class ASTManipulationTests {
             cu1.accept(hcv1, null); //All the nodes in the AST generated from the first submission are visited.
             cu2.accept(hcv2, null); //All the nodes in the AST generated from the second submission are visited.
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(false, a.equals(b));
 
@@ -194,8 +194,8 @@ public class ASTManipulationTests {
                  */
             cu2.accept(hcv2, null);
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(false, a.equals(b));
 
@@ -232,8 +232,8 @@ public class ASTManipulationTests {
             cu1.accept(hcv1, null); //All the nodes in the AST generated from the first submission are visited.
             cu2.accept(hcv2, null); //All the nodes in the AST generated from the second submission are visited.
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(true, a.equals(b));
 
@@ -269,8 +269,8 @@ public class ASTManipulationTests {
             cu1.accept(hcv1, null); //All the nodes in the AST generated from the first submission are visited.
             cu2.accept(hcv2, null); //All the nodes in the AST generated from the second submission are visited.
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(false, a.equals(b));
 
@@ -324,8 +324,8 @@ public class ASTManipulationTests {
                  */
                 cu2.accept(hcv2, null);
                 
-                HashSet<Integer> a = hcv1.getNodeHashCodes();
-                HashSet<Integer> b = hcv2.getNodeHashCodes();
+                HashSet<Long> a = hcv1.getNodeHashCodes();
+                HashSet<Long> b = hcv2.getNodeHashCodes();
 
                 assertEquals(true, a.equals(b));
 
@@ -378,8 +378,8 @@ public class ASTManipulationTests {
                  */
                 cu2.accept(hcv2, null);
                 
-                HashSet<Integer> a = hcv1.getNodeHashCodes();
-                HashSet<Integer> b = hcv2.getNodeHashCodes();
+                HashSet<Long> a = hcv1.getNodeHashCodes();
+                HashSet<Long> b = hcv2.getNodeHashCodes();
 
                 assertEquals(true, a.equals(b));
 
@@ -432,8 +432,8 @@ public class ASTManipulationTests {
                  */
                 cu2.accept(hcv2, null);
                 
-                HashSet<Integer> a = hcv1.getNodeHashCodes();
-                HashSet<Integer> b = hcv2.getNodeHashCodes();
+                HashSet<Long> a = hcv1.getNodeHashCodes();
+                HashSet<Long> b = hcv2.getNodeHashCodes();
 
                 assertEquals(true, a.equals(b));
 
@@ -488,8 +488,8 @@ public class ASTManipulationTests {
                  */
             cu2.accept(hcv2, null);
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(true, a.equals(b));
 
@@ -543,8 +543,8 @@ public class ASTManipulationTests {
                  */
             cu2.accept(hcv2, null);
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(true, a.equals(b));
 
@@ -597,8 +597,8 @@ public class ASTManipulationTests {
                  */
             cu2.accept(hcv2, null);
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(true, a.equals(b));
 
@@ -651,8 +651,8 @@ public class ASTManipulationTests {
                  */
             cu2.accept(hcv2, null);
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(true, a.equals(b));
 
@@ -706,8 +706,8 @@ public class ASTManipulationTests {
                  */
             cu2.accept(hcv2, null);
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(false, a.equals(b));
 
@@ -760,8 +760,8 @@ public class ASTManipulationTests {
                  */
             cu2.accept(hcv2, null);
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(false, a.equals(b));
 
@@ -814,8 +814,8 @@ public class ASTManipulationTests {
                  */
                 cu2.accept(hcv2, null);
                 
-                HashSet<Integer> a = hcv1.getNodeHashCodes();
-                HashSet<Integer> b = hcv2.getNodeHashCodes();
+                HashSet<Long> a = hcv1.getNodeHashCodes();
+                HashSet<Long> b = hcv2.getNodeHashCodes();
 
                 assertEquals(true, a.equals(b));
 
@@ -868,8 +868,8 @@ public class ASTManipulationTests {
                  */
             cu2.accept(hcv2, null);
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(false, a.equals(b));
 
@@ -922,8 +922,8 @@ public class ASTManipulationTests {
                  */
             cu2.accept(hcv2, null);
 
-            HashSet<Integer> a = hcv1.getNodeHashCodes();
-            HashSet<Integer> b = hcv2.getNodeHashCodes();
+            HashSet<Long> a = hcv1.getNodeHashCodes();
+            HashSet<Long> b = hcv2.getNodeHashCodes();
 
             assertEquals(false, a.equals(b));
 
@@ -933,7 +933,6 @@ public class ASTManipulationTests {
     }
 
 
-
 //    /*Checks to see if two assignments with two different Ids are identical.
 //	 */
 //    @Test
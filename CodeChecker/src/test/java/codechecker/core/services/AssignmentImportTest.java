@@ -0,0 +1,183 @@
+package codechecker.core.services;
+
+import codechecker.core.models.entities.Assignment;
+import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.repositories.AssignmentRepo;
+import codechecker.core.repositories.AssignmentSubmissionRepo;
+import codechecker.core.services.exceptions.FileTooLargeException;
+import codechecker.core.services.impl.AssignmentServiceImpl;
+import codechecker.core.services.impl.ComparisonExecutor;
+import codechecker.core.services.impl.CompilationUnitCache;
+import codechecker.core.services.impl.DocumentFrequencyTable;
+import codechecker.core.services.impl.PipelineMetrics;
+import codechecker.core.services.impl.StorageReleaser;
+import codechecker.core.services.impl.SubmissionFingerprinter;
+import codechecker.core.services.impl.SubmissionIndex;
+import codechecker.core.services.impl.SubmissionStorage;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AssignmentImportTest {
+
+    private static final String MAIN = "class Main {\n    int f(int x) {\n        return x + 1;\n    }\n}\n";
+
+    private static final String UTIL = "class Util {\n    int g(int y) {\n        return y * 2;\n    }\n}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File storageRoot;
+
+    private SubmissionStorage storage;
+
+    private ComparisonExecutor executor;
+
+    private SubmissionIndex index;
+
+    private AssignmentServiceImpl service;
+
+    @Before
+    public void setup() throws IOException {
+        storageRoot = folder.newFolder("storage");
+        storage = new SubmissionStorage();
+        storage.setRoot(storageRoot);
+        PipelineMetrics metrics = new PipelineMetrics();
+        executor = new ComparisonExecutor();
+        index = new SubmissionIndex();
+        index.setRoot(folder.newFolder("index"));
+        index.open();
+
+        Assignment assignment = new Assignment();
+        assignment.setId(1L);
+        AssignmentRepo assignmentRepo = mock(AssignmentRepo.class);
+        when(assignmentRepo.findAssignment(1L)).thenReturn(assignment);
+        AssignmentSubmissionRepo entryRepo = mock(AssignmentSubmissionRepo.class);
+        when(entryRepo.createAssignmentSubmissions(any(List.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                List<?> entries = (List<?>) invocation.getArguments()[0];
+                for(int i = 0; i < entries.size(); i++) {
+                    ((AssignmentSubmission) entries.get(i)).setId(i + 1L);
+                }
+                return entries;
+            }
+        });
+
+        CompilationUnitCache units = new CompilationUnitCache();
+        units.setMaxWeight(1L << 20);
+        ReflectionTestUtils.setField(units, "storage", storage);
+        ReflectionTestUtils.setField(units, "metrics", metrics);
+        SubmissionFingerprinter fingerprinter = new SubmissionFingerprinter();
+        ReflectionTestUtils.setField(fingerprinter, "entryRepo", entryRepo);
+        ReflectionTestUtils.setField(fingerprinter, "executor", executor);
+        ReflectionTestUtils.setField(fingerprinter, "storage", storage);
+        ReflectionTestUtils.setField(fingerprinter, "metrics", metrics);
+        ReflectionTestUtils.setField(fingerprinter, "units", units);
+        StorageReleaser releaser = new StorageReleaser();
+        ReflectionTestUtils.setField(releaser, "entryRepo", entryRepo);
+        ReflectionTestUtils.setField(releaser, "assignmentRepo", assignmentRepo);
+        ReflectionTestUtils.setField(releaser, "storage", storage);
+
+        service = new AssignmentServiceImpl();
+        ReflectionTestUtils.setField(service, "assignmentRepo", assignmentRepo);
+        ReflectionTestUtils.setField(service, "entryRepo", entryRepo);
+        ReflectionTestUtils.setField(service, "fingerprinter", fingerprinter);
+        ReflectionTestUtils.setField(service, "executor", executor);
+        ReflectionTestUtils.setField(service, "storage", storage);
+        ReflectionTestUtils.setField(service, "releaser", releaser);
+        ReflectionTestUtils.setField(service, "index", index);
+        ReflectionTestUtils.setField(service, "frequencies", new DocumentFrequencyTable());
+        ReflectionTestUtils.setField(service, "metrics", metrics);
+    }
+
+    @After
+    public void tearDown() {
+        index.close();
+        executor.destroy();
+    }
+
+    /*
+     * Checks that the folder of the class around the folders of the students is not taken for a student
+     */
+    @Test
+    public void sharedRootTest() throws Exception {
+        byte[] archive = zip(
+                new String[] {"class/alice/Main.java", "class/alice/util/Util.java", "class/bob/Main.java"},
+                new String[] {MAIN, UTIL, MAIN});
+
+        List<AssignmentSubmission> entries =
+                service.importAssignmentSubmissions(1L, new ByteArrayInputStream(archive)).getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("alice", entries.get(0).getTitle());
+        assertEquals(2, entries.get(0).getFiles().size());
+        assertEquals("Main.java", entries.get(0).getFiles().get(0).getPath());
+        assertEquals("util/Util.java", entries.get(0).getFiles().get(1).getPath());
+        assertEquals("bob", entries.get(1).getTitle());
+        assertTrue(entries.get(1).getFiles().isEmpty());
+        assertEquals(2, index.countIndexedSubmissions());
+    }
+
+    /*
+     * Checks that a folder with the files of a single student is still imported as the project of that student
+     */
+    @Test
+    public void singleFolderTest() throws Exception {
+        byte[] archive = zip(new String[] {"alice/Main.java", "alice/Util.java"}, new String[] {MAIN, UTIL});
+
+        List<AssignmentSubmission> entries =
+                service.importAssignmentSubmissions(1L, new ByteArrayInputStream(archive)).getEntries();
+        assertEquals(1, entries.size());
+        assertEquals("alice", entries.get(0).getTitle());
+        assertEquals(2, entries.get(0).getFiles().size());
+    }
+
+    /*
+     * Checks that the files stored before an import fails are removed from the storage again
+     */
+    @Test
+    public void failureTest() throws Exception {
+        storage.setMaxFileSize(MAIN.length());
+        byte[] archive = zip(new String[] {"alice/Main.java", "bob/Main.java"}, new String[] {MAIN, MAIN + UTIL});
+
+        try {
+            service.importAssignmentSubmissions(1L, new ByteArrayInputStream(archive));
+            fail("the file of bob is too large");
+        } catch (FileTooLargeException e) {
+            assertTrue(FileUtils.listFiles(storageRoot, new String[] {"java"}, true).isEmpty());
+        }
+    }
+
+    private static byte[] zip(String[] names, String[] sources) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(bytes);
+        for(int i = 0; i < names.length; i++) {
+            zip.putNextEntry(new ZipEntry(names[i]));
+            zip.write(sources[i].getBytes("UTF-8"));
+            zip.closeEntry();
+        }
+        zip.close();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,98 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.CompilationUnitCache;
+import codechecker.core.services.impl.PipelineMetrics;
+import codechecker.core.services.impl.SubmissionStorage;
+import codechecker.core.services.util.StageMetrics;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompilationUnitCacheTest {
+
+    private static final String SOURCE = "class A {\n    int f(int x) {\n        return x + 1;\n    }\n}\n";
+
+    private static final String OTHER_SOURCE = "class B {\n    int g(int y) {\n        return y * 2;\n    }\n}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SubmissionStorage storage;
+
+    private PipelineMetrics metrics;
+
+    private CompilationUnitCache cache;
+
+    @Before
+    public void setup() {
+        storage = new SubmissionStorage();
+        storage.setRoot(folder.getRoot());
+        metrics = new PipelineMetrics();
+        cache = new CompilationUnitCache();
+        cache.setMaxWeight(1L << 20);
+        ReflectionTestUtils.setField(cache, "storage", storage);
+        ReflectionTestUtils.setField(cache, "metrics", metrics);
+    }
+
+    /*
+     * Checks that a file is parsed once and normalized once, and that a copy can be modified
+     */
+    @Test
+    public void hitTest() throws Exception {
+        String contentHash = storage.store(SOURCE.getBytes("UTF-8"));
+
+        CompilationUnit parsed = cache.getParsed(contentHash);
+        assertSame(parsed, cache.getParsed(contentHash));
+        CompilationUnit normalized = cache.getNormalized(contentHash);
+        assertSame(normalized, cache.getNormalized(contentHash));
+
+        CompilationUnit copy = CompilationUnitCache.copy(parsed);
+        assertNotSame(parsed, copy);
+        assertEquals(parsed.getType(0).getMember(0).getRange(), copy.getType(0).getMember(0).getRange());
+        copy.getType(0).getMembers().clear();
+        assertEquals(1, parsed.getType(0).getMembers().size());
+
+        assertEquals(1, count("cache.parsed.miss"));
+        assertEquals(2, count("cache.parsed.hit"));
+        assertEquals(1, count("cache.normalized.miss"));
+        assertEquals(1, count("cache.normalized.hit"));
+    }
+
+    /*
+     * Checks that the least recently used unit is evicted once the units weigh more than the budget
+     */
+    @Test
+    public void evictionTest() throws Exception {
+        String contentHash = storage.store(SOURCE.getBytes("UTF-8"));
+        String otherContentHash = storage.store(OTHER_SOURCE.getBytes("UTF-8"));
+        CompilationUnit parsed = cache.getParsed(contentHash);
+        long weight = find("cache.parsed.weight").getMax();
+        cache.setMaxWeight(weight + weight / 2);
+
+        cache.getParsed(otherContentHash);
+        assertTrue(parsed != cache.getParsed(contentHash));
+        assertEquals(2, count("cache.parsed.evicted"));
+    }
+
+    private long count(String stage) {
+        StageMetrics stageMetrics = find(stage);
+        return stageMetrics == null ? 0 : stageMetrics.getCount();
+    }
+
+    private StageMetrics find(String stage) {
+        for(StageMetrics stageMetrics : metrics.getStageMetrics()) {
+            if(stageMetrics.getStage().equals(stage)) {
+                return stageMetrics;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.DocumentFrequencyTable;
+import codechecker.core.services.impl.SimilarityPercentGenerator;
+import codechecker.core.services.impl.WeightedFingerprint;
+import codechecker.core.services.util.SubmissionFingerprint;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DocumentFrequencyTableTest {
+
+    /*
+     * Checks that of two pairs sharing as many hash codes, the pair sharing code fewer submissions have is more similar
+     */
+    @Test
+    public void weightTest() {
+        Map<Long, SubmissionFingerprint> fingerprints = new HashMap<Long, SubmissionFingerprint>();
+        fingerprints.put(1L, fingerprint(1, 2, 10));
+        fingerprints.put(2L, fingerprint(1, 2, 20));
+        fingerprints.put(3L, fingerprint(1, 2, 30));
+        fingerprints.put(4L, fingerprint(5, 6, 40));
+        fingerprints.put(5L, fingerprint(5, 6, 50));
+
+        Map<Long, WeightedFingerprint> weighted = new DocumentFrequencyTable().weigh(1L, fingerprints);
+        SimilarityPercentGenerator spg = new SimilarityPercentGenerator();
+        assertEquals(spg.getSimilarityPercent(fingerprints.get(1L), fingerprints.get(2L)),
+                spg.getSimilarityPercent(fingerprints.get(4L), fingerprints.get(5L)), 0.001);
+        double common = spg.getWeightedSimilarityPercent(weighted.get(1L), weighted.get(2L));
+        double rare = spg.getWeightedSimilarityPercent(weighted.get(4L), weighted.get(5L));
+        assertTrue(rare > common);
+        assertEquals(100, spg.getWeightedSimilarityPercent(weighted.get(1L), weighted.get(1L)), 0.001);
+        assertEquals(0, spg.getWeightedSimilarityPercent(weighted.get(1L), weighted.get(4L)), 0.001);
+    }
+
+    /*
+     * Checks that the counts follow re-uploaded and removed submissions
+     */
+    @Test
+    public void updateTest() {
+        DocumentFrequencyTable table = new DocumentFrequencyTable();
+        table.count(1L, 1L, fingerprint(1, 2));
+        table.count(2L, 1L, fingerprint(1, 3));
+        Map<Long, SubmissionFingerprint> fingerprints = new HashMap<Long, SubmissionFingerprint>();
+        fingerprints.put(1L, fingerprint(1, 2));
+        double before = table.weigh(1L, fingerprints).get(1L).getNodeWeights()[1];
+
+        table.count(2L, 1L, fingerprint(1, 2));
+        double shared = table.weigh(1L, fingerprints).get(1L).getNodeWeights()[1];
+        assertTrue(shared < before);
+
+        table.remove(2L);
+        assertEquals(Math.log(2), table.weigh(1L, fingerprints).get(1L).getNodeWeights()[1], 0.001);
+    }
+
+    /*
+     * Checks that the counts of many hash codes, 0 among them, are kept while others are added and removed
+     */
+    @Test
+    public void countTest() {
+        DocumentFrequencyTable table = new DocumentFrequencyTable();
+        long[] hashCodes = new long[1000];
+        for(int i = 0; i < hashCodes.length; i++) {
+            hashCodes[i] = i * 1024L;
+        }
+        table.count(1L, 1L, fingerprint(hashCodes));
+        table.count(2L, 1L, fingerprint(hashCodes));
+        for(long id = 3; id < 100; id++) {
+            table.count(id, 1L, fingerprint(-id, id * 1024L));
+        }
+        for(long id = 3; id < 100; id++) {
+            table.remove(id);
+        }
+
+        Map<Long, SubmissionFingerprint> fingerprints = new HashMap<Long, SubmissionFingerprint>();
+        fingerprints.put(1L, fingerprint(hashCodes));
+        double[] weights = table.weigh(1L, fingerprints).get(1L).getNodeWeights();
+        for(double weight : weights) {
+            assertEquals(Math.log(3 / 2.0), weight, 0.001);
+        }
+    }
+
+    private static SubmissionFingerprint fingerprint(long... hashCodes) {
+        return new SubmissionFingerprint(hashCodes, hashCodes);
+    }
+}
@@ -0,0 +1,129 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.FingerprintMerger;
+import codechecker.core.services.impl.MemberFingerprint;
+import codechecker.core.services.impl.MemberFingerprinter;
+import codechecker.core.services.impl.PipelineMetrics;
+import codechecker.core.services.impl.SubmissionFingerprinter;
+import codechecker.core.services.util.SubmissionFingerprint;
+import com.github.javaparser.JavaParser;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FingerprintMergerTest {
+
+    private static final String SOURCE =
+            "package codechecker;\n" +
+            "\n" +
+            "public class Counter {\n" +
+            "    private int count;\n" +
+            "\n" +
+            "    public void add(int amount) {\n" +
+            "        int next = count + amount;\n" +
+            "        count = next;\n" +
+            "    }\n" +
+            "\n" +
+            "    public int total(int[] values) {\n" +
+            "        int sum = 0;\n" +
+            "        for (int i = 0; i < values.length; i++) {\n" +
+            "            sum += values[i];\n" +
+            "        }\n" +
+            "        return sum;\n" +
+            "    }\n" +
+            "}\n";
+
+    /*
+     * Checks that a project has the hash codes of all its parsable files, without regions
+     */
+    @Test
+    public void mergeFilesTest() {
+        SubmissionFingerprint first = new SubmissionFingerprint(new long[] {1, 3}, new long[] {7}, new long[] {5, 6});
+        SubmissionFingerprint second = new SubmissionFingerprint(new long[] {2, 3}, new long[] {7, 8}, new long[] {5, 6});
+
+        SubmissionFingerprint project = FingerprintMerger.mergeFiles(Arrays.asList(first, null, second));
+        assertArrayEquals(new long[] {1, 2, 3}, project.getNodeHashCodes());
+        assertArrayEquals(new long[] {7, 8}, project.getTokenHashCodes());
+        assertArrayEquals(new long[] {0, 0, 0}, project.getNodeRegions());
+        assertNull(FingerprintMerger.mergeFiles(Arrays.<SubmissionFingerprint>asList(null, null)));
+    }
+
+    /*
+     * Checks that the starter code is taken out of a submission, keeping the regions of the code the student wrote
+     */
+    @Test
+    public void excludeTest() {
+        SubmissionFingerprint starterCode = fingerprint(SOURCE);
+        String edited = SOURCE.replace("    private int count;\n",
+                "    private int count;\n\n    public void reset() {\n        count = 0;\n    }\n");
+        SubmissionFingerprint submission = fingerprint(edited);
+
+        SubmissionFingerprint own = FingerprintMerger.exclude(submission, starterCode.getNodeHashCodes(),
+                starterCode.getTokenHashCodes());
+        assertTrue(own.getNodeHashCodes().length > 0);
+        assertTrue(own.getNodeHashCodes().length < submission.getNodeHashCodes().length);
+        assertEquals(own.getNodeHashCodes().length, own.getNodeRegions().length);
+        for(int i = 0; i < own.getNodeHashCodes().length; i++) {
+            assertTrue(Arrays.binarySearch(starterCode.getNodeHashCodes(), own.getNodeHashCodes()[i]) < 0);
+            int index = Arrays.binarySearch(submission.getNodeHashCodes(), own.getNodeHashCodes()[i]);
+            assertEquals(submission.getNodeRegions()[index], own.getNodeRegions()[i]);
+        }
+        for(long tokenHashCode : own.getTokenHashCodes()) {
+            assertTrue(Arrays.binarySearch(starterCode.getTokenHashCodes(), tokenHashCode) < 0);
+        }
+
+        SubmissionFingerprint nothing = FingerprintMerger.exclude(starterCode, starterCode.getNodeHashCodes(),
+                starterCode.getTokenHashCodes());
+        assertEquals(0, nothing.getNodeHashCodes().length);
+        assertEquals(0, nothing.getTokenHashCodes().length);
+    }
+
+    /*
+     * Checks that every member of the starter code is excluded from a submission that adds a field and a method to it,
+     * and that the added code is kept
+     */
+    @Test
+    public void excludeStarterMembersTest() {
+        SubmissionFingerprint starterCode = fingerprint(SOURCE);
+        String extended = SOURCE.replace("    private int count;\n",
+                "    private int count;\n    private int resets;\n")
+                .replace("        return sum;\n    }\n",
+                "        return sum;\n    }\n\n    public void reset() {\n        resets = resets + 1;\n" +
+                "        count = 0;\n    }\n");
+        SubmissionFingerprint submission = fingerprint(extended);
+
+        List<MemberFingerprint> starterMembers = new MemberFingerprinter(null)
+                .fingerprint(JavaParser.parse(SOURCE), new HashMap<Long, MemberFingerprint>());
+        for(MemberFingerprint member : starterMembers) {
+            for(long nodeHashCode : member.getNodeHashCodes()) {
+                assertTrue(Arrays.binarySearch(submission.getNodeHashCodes(), nodeHashCode) >= 0);
+            }
+            for(long tokenHashCode : member.getTokenHashCodes()) {
+                assertTrue(Arrays.binarySearch(submission.getTokenHashCodes(), tokenHashCode) >= 0);
+            }
+        }
+
+        SubmissionFingerprint own = FingerprintMerger.exclude(submission, starterCode.getNodeHashCodes(),
+                starterCode.getTokenHashCodes());
+        assertEquals(submission.getNodeHashCodes().length - starterCode.getNodeHashCodes().length,
+                own.getNodeHashCodes().length);
+        assertEquals(submission.getTokenHashCodes().length - starterCode.getTokenHashCodes().length,
+                own.getTokenHashCodes().length);
+        assertTrue(own.getNodeHashCodes().length > 0);
+        assertTrue(own.getTokenHashCodes().length > 0);
+    }
+
+    private static SubmissionFingerprint fingerprint(String source) {
+        SubmissionFingerprinter fingerprinter = new SubmissionFingerprinter();
+        ReflectionTestUtils.setField(fingerprinter, "metrics", new PipelineMetrics());
+        return fingerprinter.fingerprint(JavaParser.parse(source));
+    }
+}
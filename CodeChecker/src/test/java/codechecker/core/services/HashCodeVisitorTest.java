@@ -0,0 +1,40 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.visitors.HashCodeVisitor;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class HashCodeVisitorTest {
+
+    /*
+     * Checks to see that equal subtrees get the same structural hashcode wherever they appear,
+     * and that changing a single name changes the hashcode of every enclosing node.
+     */
+    @Test
+    public void structuralHashCodeTest() {
+        CompilationUnit cu1 = JavaParser.parse("class A { int f() { return x + 1; } int g() { return x + 1; } }");
+        CompilationUnit cu2 = JavaParser.parse("class A { int f() { return x + 1; } int g() { return y + 1; } }");
+
+        HashCodeVisitor hcv1 = new HashCodeVisitor();
+        HashCodeVisitor hcv2 = new HashCodeVisitor();
+        cu1.accept(hcv1, null);
+        cu2.accept(hcv2, null);
+
+        MethodDeclaration f1 = cu1.getType(0).getMethodsByName("f").get(0);
+        MethodDeclaration g1 = cu1.getType(0).getMethodsByName("g").get(0);
+        MethodDeclaration f2 = cu2.getType(0).getMethodsByName("f").get(0);
+        MethodDeclaration g2 = cu2.getType(0).getMethodsByName("g").get(0);
+
+        assertEquals(hcv1.hash(f1.getBody().get()), hcv1.hash(g1.getBody().get()));
+        assertEquals(hcv1.hash(f1), hcv2.hash(f2));
+        assertEquals(false, hcv1.hash(g1) == hcv2.hash(g2));
+        assertEquals(false, hcv1.hash(cu1.getType(0)) == hcv2.hash(cu2.getType(0)));
+        assertEquals(true, hcv2.getNodeHashCodes().containsAll(Arrays.asList(hcv1.hash(f1), hcv1.hash(f1.getBody().get()))));
+    }
+}
@@ -0,0 +1,97 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.LineDiff;
+import codechecker.core.services.util.DiffHunk;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LineDiffTest {
+
+    /*
+     * Checks the hunks of a change in the middle of two sources
+     */
+    @Test
+    public void changeBetweenMatchesTest() {
+        List<DiffHunk> hunks = LineDiff.diff("a\nb\nc\nd\n", "a\nx\ny\nc\nd\n");
+
+        assertEquals(3, hunks.size());
+        assertTrue(hunks.get(0).isMatch());
+        assertEquals(1, hunks.get(0).getLineCount());
+        assertFalse(hunks.get(1).isMatch());
+        assertEquals(2, hunks.get(1).getLine());
+        assertEquals(Arrays.asList("b"), hunks.get(1).getLines());
+        assertEquals(Arrays.asList("x", "y"), hunks.get(1).getOtherLines());
+        assertTrue(hunks.get(2).isMatch());
+        assertEquals(3, hunks.get(2).getLine());
+        assertEquals(4, hunks.get(2).getOtherLine());
+        assertEquals(2, hunks.get(2).getLineCount());
+    }
+
+    /*
+     * Checks that the matched lines are equal, cover both sources in order and are as many as the longest
+     * common subsequence, on random sources
+     */
+    @Test
+    public void longestCommonSubsequenceTest() {
+        Random random = new Random(1);
+        for(int test = 0; test < 1000; test++) {
+            String[] lines = randomLines(random);
+            String[] otherLines = randomLines(random);
+            List<DiffHunk> hunks = LineDiff.diff(join(lines), join(otherLines));
+
+            int line = 1;
+            int otherLine = 1;
+            int matched = 0;
+            for(DiffHunk hunk : hunks) {
+                assertEquals(line, hunk.getLine());
+                assertEquals(otherLine, hunk.getOtherLine());
+                if(hunk.isMatch()) {
+                    assertEquals(hunk.getLineCount(), hunk.getOtherLineCount());
+                    for(int i = 0; i < hunk.getLineCount(); i++) {
+                        assertEquals(lines[line - 1 + i], otherLines[otherLine - 1 + i]);
+                    }
+                    matched += hunk.getLineCount();
+                }
+                line += hunk.getLineCount();
+                otherLine += hunk.getOtherLineCount();
+            }
+            assertEquals(lines.length + 1, line);
+            assertEquals(otherLines.length + 1, otherLine);
+            assertEquals(longestCommonSubsequence(lines, otherLines), matched);
+        }
+    }
+
+    private String[] randomLines(Random random) {
+        String[] lines = new String[random.nextInt(30)];
+        for(int i = 0; i < lines.length; i++) {
+            lines[i] = "line" + random.nextInt(4);
+        }
+        return lines;
+    }
+
+    private String join(String[] lines) {
+        StringBuilder source = new StringBuilder();
+        for(String line : lines) {
+            source.append(line).append('\n');
+        }
+        return source.toString();
+    }
+
+    private int longestCommonSubsequence(String[] lines, String[] otherLines) {
+        int[][] lengths = new int[lines.length + 1][otherLines.length + 1];
+        for(int i = lines.length - 1; i >= 0; i--) {
+            for(int j = otherLines.length - 1; j >= 0; j--) {
+                lengths[i][j] = lines[i].equals(otherLines[j])
+                        ? lengths[i + 1][j + 1] + 1 : Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+            }
+        }
+        return lengths[0][0];
+    }
+}
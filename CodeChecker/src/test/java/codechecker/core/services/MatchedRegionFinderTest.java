@@ -0,0 +1,92 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.MatchedRegionFinder;
+import codechecker.core.services.impl.visitors.HashCodeVisitor;
+import codechecker.core.services.util.MatchedRegion;
+import codechecker.core.services.util.SubmissionFingerprint;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MatchedRegionFinderTest {
+
+    private static final String COPIED_METHOD =
+            "    int sum(int[] values) {\n" +
+            "        int total = 0;\n" +
+            "        for (int i = 0; i < values.length; i++) {\n" +
+            "            total += values[i] * 2;\n" +
+            "        }\n" +
+            "        return total;\n" +
+            "    }\n";
+
+    /*
+     * Checks that a method copied into another class is reported at its original lines in both files
+     */
+    @Test
+    public void copiedMethodTest() {
+        SubmissionFingerprint fingerprint = fingerprint(
+                "class A {\n" +
+                COPIED_METHOD +
+                "}\n");
+        SubmissionFingerprint otherFingerprint = fingerprint(
+                "class B {\n" +
+                "    String name() {\n" +
+                "        return \"b\";\n" +
+                "    }\n" +
+                "\n" +
+                COPIED_METHOD +
+                "}\n");
+
+        List<MatchedRegion> regions = new MatchedRegionFinder().getMatchedRegions(fingerprint, otherFingerprint, 5);
+
+        assertTrue(regions.size() >= 1);
+        MatchedRegion largest = regions.get(0);
+        assertEquals(2, largest.getLine());
+        assertEquals(8, largest.getEndLine());
+        assertEquals(6, largest.getOtherLine());
+        assertEquals(12, largest.getOtherEndLine());
+        for(MatchedRegion region : regions) {
+            assertTrue(region.getNodes() <= largest.getNodes());
+        }
+    }
+
+    /*
+     * Checks that regions inside a larger match on both sides are not reported again
+     */
+    @Test
+    public void nestedRegionsTest() {
+        String source = "class A {\n" + COPIED_METHOD + "}\n";
+
+        List<MatchedRegion> regions =
+                new MatchedRegionFinder().getMatchedRegions(fingerprint(source), fingerprint(source), 100);
+
+        assertEquals(1, regions.size());
+        assertEquals(1, regions.get(0).getLine());
+        assertEquals(9, regions.get(0).getEndLine());
+    }
+
+    /*
+     * Checks that a packed region keeps its lines and size
+     */
+    @Test
+    public void packedRegionTest() {
+        long region = HashCodeVisitor.region(1200, 1350, 4096);
+
+        assertEquals(1200, HashCodeVisitor.regionLine(region));
+        assertEquals(1350, HashCodeVisitor.regionEndLine(region));
+        assertEquals(4096, HashCodeVisitor.regionNodes(region));
+    }
+
+    private static SubmissionFingerprint fingerprint(String source) {
+        CompilationUnit cu = JavaParser.parse(source);
+        HashCodeVisitor hcv = new HashCodeVisitor();
+        cu.accept(hcv, null);
+        long[] nodeHashCodes = hcv.getFingerprint();
+        return new SubmissionFingerprint(nodeHashCodes, new long[0], hcv.getRegions(nodeHashCodes));
+    }
+}
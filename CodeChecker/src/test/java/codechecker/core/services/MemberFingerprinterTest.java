@@ -0,0 +1,105 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.FingerprintMerger;
+import codechecker.core.services.impl.MemberFingerprint;
+import codechecker.core.services.impl.MemberFingerprinter;
+import codechecker.core.services.util.SubmissionFingerprint;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MemberFingerprinterTest {
+
+    private static final String SOURCE =
+            "package codechecker;\n" +
+            "\n" +
+            "public class Counter {\n" +
+            "    private int count;\n" +
+            "\n" +
+            "    public void add(int amount) {\n" +
+            "        int next = count + amount;\n" +
+            "        count = next;\n" +
+            "    }\n" +
+            "\n" +
+            "    public int total(int[] values) {\n" +
+            "        int sum = 0;\n" +
+            "        for (int i = 0; i < values.length; i++) {\n" +
+            "            sum += values[i];\n" +
+            "        }\n" +
+            "        return sum;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String EDITED = SOURCE.replace("        int next = count + amount;\n",
+            "        int next = count + amount * 2;\n");
+
+    /*
+     * Checks that a re-upload only normalizes the changed member, and fingerprints the file as a first upload would,
+     * with the regions of the reused members at their lines
+     */
+    @Test
+    public void reuploadTest() {
+        List<MemberFingerprint> members = new MemberFingerprinter(null)
+                .fingerprint(JavaParser.parse(SOURCE), new HashMap<Long, MemberFingerprint>());
+        assertEquals(4, members.size());
+        Map<Long, MemberFingerprint> known = new HashMap<Long, MemberFingerprint>();
+        for(MemberFingerprint member : members) {
+            known.put(member.getMemberHash(), member);
+        }
+        String moved = "\n\n" + EDITED;
+
+        MemberFingerprinter incremental = new MemberFingerprinter(null);
+        SubmissionFingerprint reuploaded = FingerprintMerger.mergeMembers(
+                incremental.fingerprint(JavaParser.parse(moved), known));
+        MemberFingerprinter fresh = new MemberFingerprinter(null);
+        SubmissionFingerprint uploaded = FingerprintMerger.mergeMembers(
+                fresh.fingerprint(JavaParser.parse(moved), new HashMap<Long, MemberFingerprint>()));
+
+        assertEquals(1, incremental.getNormalizedMembers());
+        assertEquals(3, fresh.getNormalizedMembers());
+        assertArrayEquals(uploaded.getNodeHashCodes(), reuploaded.getNodeHashCodes());
+        assertArrayEquals(uploaded.getTokenHashCodes(), reuploaded.getTokenHashCodes());
+        assertArrayEquals(uploaded.getNodeRegions(), reuploaded.getNodeRegions());
+    }
+
+    /*
+     * Checks that the hash codes of the members an edit did not touch are kept
+     */
+    @Test
+    public void unchangedMembersTest() {
+        List<MemberFingerprint> members = new MemberFingerprinter(null)
+                .fingerprint(JavaParser.parse(SOURCE), new HashMap<Long, MemberFingerprint>());
+        List<MemberFingerprint> edited = new MemberFingerprinter(null)
+                .fingerprint(JavaParser.parse(EDITED), new HashMap<Long, MemberFingerprint>());
+
+        // the rest of the file, the field and total are unchanged, add is edited
+        for(int i : new int[] {0, 1, 3}) {
+            assertArrayEquals(members.get(i).getNodeHashCodes(), edited.get(i).getNodeHashCodes());
+            assertArrayEquals(members.get(i).getTokenHashCodes(), edited.get(i).getTokenHashCodes());
+        }
+        assertTrue(members.get(2).getMemberHash() != edited.get(2).getMemberHash());
+    }
+
+    /*
+     * Checks that the side-by-side view keeps the members in their places, each normalized as it is fingerprinted
+     */
+    @Test
+    public void normalizeTest() {
+        CompilationUnit cu = new MemberFingerprinter(null).normalize(JavaParser.parse(SOURCE));
+        assertEquals(1, cu.getTypes().size());
+        assertEquals(3, cu.getType(0).getMembers().size());
+        assertTrue(cu.getType(0).getMember(0).isFieldDeclaration());
+        assertEquals("c0", cu.getType(0).getNameAsString());
+        // every member is numbered from 0
+        assertTrue(cu.getType(0).getMember(1).toString().contains("v0(T v0)"));
+        assertTrue(cu.getType(0).getMember(2).toString().contains("v0(T v0)"));
+    }
+}
@@ -0,0 +1,98 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.MinHashBandIndex;
+import codechecker.core.services.impl.MinHashGenerator;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MinHashBandIndexTest {
+
+    /*
+     * Checks that near-duplicate fingerprints become a candidate pair of the MinHash band index,
+     * unrelated fingerprints do not, and that a changed signature is re-indexed.
+     */
+    @Test
+    public void minHashCandidatePairsTest() {
+        long[] original = new long[200];
+        long[] copy = new long[200];
+        long[] unrelated = new long[200];
+        for(int i = 0; i < 200; i++) {
+            original[i] = i;
+            copy[i] = i < 190 ? i : 1000 + i;
+            unrelated[i] = 5000 + i;
+        }
+
+        MinHashGenerator generator = new MinHashGenerator();
+        MinHashBandIndex index = new MinHashBandIndex();
+        Map<Long, long[]> signatures = new HashMap<Long, long[]>();
+        signatures.put(1L, generator.getSignature(original));
+        signatures.put(2L, generator.getSignature(copy));
+        signatures.put(3L, generator.getSignature(unrelated));
+
+        List<long[]> candidates = index.findCandidatePairs(1L, signatures, 0.5);
+        assertEquals(1, candidates.size());
+        assertArrayEquals(new long[] {1L, 2L}, candidates.get(0));
+
+        signatures.put(3L, generator.getSignature(original));
+        assertEquals(3, index.findCandidatePairs(1L, signatures, 0.5).size());
+
+        signatures.remove(1L);
+        candidates = index.findCandidatePairs(1L, signatures, 0.5);
+        assertEquals(1, candidates.size());
+        assertArrayEquals(new long[] {2L, 3L}, candidates.get(0));
+    }
+
+    /*
+     * Checks that the rows per band are chosen so a pair at the threshold is found with the promised recall,
+     * and that a threshold too low for the bands compares every pair
+     */
+    @Test
+    public void rowsTest() {
+        assertEquals(2, MinHashBandIndex.getRows(0.5));
+        assertEquals(4, MinHashBandIndex.getRows(0.6));
+        assertEquals(8, MinHashBandIndex.getRows(0.9));
+        assertEquals(1, MinHashBandIndex.getRows(0.05));
+        assertEquals(0, MinHashBandIndex.getRows(0.01));
+        for(double threshold = 0.05; threshold <= 1; threshold += 0.05) {
+            int rows = MinHashBandIndex.getRows(threshold);
+            assertTrue(MinHashBandIndex.getRecall(threshold, rows) >= MinHashBandIndex.RECALL);
+        }
+    }
+
+    /*
+     * Checks that submissions with empty fingerprints are never candidates, whatever the threshold, and that a
+     * re-indexed submission is found with every number of rows searched with before
+     */
+    @Test
+    public void emptySignatureTest() {
+        long[] fingerprint = new long[100];
+        long[] similar = new long[100];
+        for(int i = 0; i < 100; i++) {
+            fingerprint[i] = i;
+            similar[i] = i < 95 ? i : 1000 + i;
+        }
+        MinHashGenerator generator = new MinHashGenerator();
+        MinHashBandIndex index = new MinHashBandIndex();
+        Map<Long, long[]> signatures = new HashMap<Long, long[]>();
+        signatures.put(1L, generator.getSignature(new long[0]));
+        signatures.put(2L, generator.getSignature(new long[0]));
+        signatures.put(3L, generator.getSignature(fingerprint));
+        signatures.put(4L, generator.getSignature(new long[] {5000L}));
+
+        assertEquals(0, index.findCandidatePairs(1L, signatures, 0.9).size());
+        assertEquals(1, index.findCandidatePairs(1L, signatures, 0.01).size());
+
+        signatures.put(4L, generator.getSignature(similar));
+        List<long[]> candidates = index.findCandidatePairs(1L, signatures, 0.9);
+        assertEquals(1, candidates.size());
+        assertArrayEquals(new long[] {3L, 4L}, candidates.get(0));
+        assertEquals(1, index.findCandidatePairs(1L, signatures, 0.5).size());
+    }
+}
@@ -0,0 +1,100 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.SimilarityPercentGenerator;
+import codechecker.core.services.impl.visitors.*;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class NormalizationEngineTest {
+
+    private static final String TEST_DIRECTORY = "src//test//java//codechecker//core//services//";
+
+    /*
+     * Checks that the fused traversals produce the same code and hashcodes as running every visitor on its own
+     */
+    @Test
+    public void engineMatchesVisitorSequenceTest() throws FileNotFoundException {
+        List<long[]> expected = new ArrayList<long[]>();
+        List<long[]> actual = new ArrayList<long[]>();
+
+        for(File file : testFiles()) {
+            CompilationUnit cu1 = parse(file);
+            CompilationUnit cu2 = parse(file);
+
+            long[] a = normalizeWithVisitors(cu1).getFingerprint();
+            long[] b = new NormalizationEngine().normalize(cu2).getFingerprint();
+
+            assertEquals(file.getName(), cu1.toString(), cu2.toString());
+            assertArrayEquals(file.getName(), a, b);
+            expected.add(a);
+            actual.add(b);
+        }
+
+        SimilarityPercentGenerator spg = new SimilarityPercentGenerator();
+        for(int i = 0; i < expected.size(); i++) {
+            for(int j = i + 1; j < expected.size(); j++) {
+                assertEquals(spg.getSimilarityPercent(expected.get(i), expected.get(j)),
+                        spg.getSimilarityPercent(actual.get(i), actual.get(j)), 0);
+            }
+        }
+    }
+
+    private File[] testFiles() {
+        File[] files = new File(TEST_DIRECTORY).listFiles();
+        List<File> testFiles = new ArrayList<File>();
+        for(File file : files) {
+            if(file.getName().endsWith(".test")) {
+                testFiles.add(file);
+            }
+        }
+        File[] sorted = testFiles.toArray(new File[testFiles.size()]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private CompilationUnit parse(File file) throws FileNotFoundException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            return JavaParser.parse(in);
+        } finally {
+            try {
+                in.close();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    /*
+     * The visitor sequence the submissions were normalized with before the engine
+     */
+    private HashCodeVisitor normalizeWithVisitors(CompilationUnit cu) {
+        cu.accept(new CommentRemovalVisitor(), null);
+        cu.accept(new VariableOrderingInClassVisitor(), null);
+        cu.accept(new VariableOrderInMethodVisitor(), null);
+        cu.accept(new VariableStandardizationVisitor(), null);
+        cu.accept(new VariableDatatypeVisitor(), null);
+        cu.accept(new MethodVisitor(), null);
+        cu.accept(new FieldDatatypeVisitor(), null);
+        cu.accept(new ConstructorVisitor(), null);
+        cu.accept(new ObjectDatatypeVisitor(), null);
+        cu.accept(new FunctionOrderingVisitor(), null);
+        cu.accept(new FunctionStandardizationVisitor(), null);
+
+        HashCodeVisitor hcv = new HashCodeVisitor();
+        cu.accept(hcv, null);
+        return hcv;
+    }
+}
@@ -0,0 +1,26 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.SimilarityPercentGenerator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SimilarityPercentGeneratorTest {
+
+    /*
+     * Checks the similarity percent of two sorted fingerprints, and that the fingerprints are left untouched
+     */
+    @Test
+    public void fingerprintSimilarityTest() {
+        long[] a = {-7L, 1L, 3L, 5L};
+        long[] b = {-7L, 2L, 3L, 4L, 6L, 8L};
+
+        SimilarityPercentGenerator spg = new SimilarityPercentGenerator();
+
+        assertEquals(40.0, spg.getSimilarityPercent(a, b), 0.0001);
+        assertEquals(100.0, spg.getSimilarityPercent(a, a), 0.0001);
+        assertEquals(0.0, spg.getSimilarityPercent(a, new long[0]), 0.0001);
+        assertArrayEquals(new long[] {-7L, 1L, 3L, 5L}, a);
+    }
+}
@@ -0,0 +1,199 @@
+package codechecker.core.services;
+
+import codechecker.core.models.entities.SubmissionFile;
+import codechecker.core.repositories.AssignmentRepo;
+import codechecker.core.repositories.AssignmentSubmissionRepo;
+import codechecker.core.services.impl.StorageReleaser;
+import codechecker.core.services.impl.SubmissionStorage;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StorageReleaserTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SubmissionStorage storage;
+
+    private AssignmentSubmissionRepo entryRepo;
+
+    private AssignmentRepo assignmentRepo;
+
+    private StorageReleaser releaser;
+
+    @Before
+    public void setup() {
+        storage = new SubmissionStorage();
+        storage.setRoot(folder.getRoot());
+        entryRepo = mock(AssignmentSubmissionRepo.class);
+        assignmentRepo = mock(AssignmentRepo.class);
+        releaser = new StorageReleaser();
+        ReflectionTestUtils.setField(releaser, "storage", storage);
+        ReflectionTestUtils.setField(releaser, "entryRepo", entryRepo);
+        ReflectionTestUtils.setField(releaser, "assignmentRepo", assignmentRepo);
+    }
+
+    /*
+     * Checks that the files of a removed project are deleted, except the ones another submission still refers to
+     */
+    @Test
+    public void releaseTest() throws Exception {
+        String shared = storage.store("class A {}".getBytes("UTF-8"));
+        String own = storage.store("class B {}".getBytes("UTF-8"));
+        when(entryRepo.countContentReferences(shared)).thenReturn(1L);
+        when(entryRepo.countContentReferences(own)).thenReturn(0L);
+
+        releaser.release(Arrays.asList(new SubmissionFile("src/A.java", shared),
+                new SubmissionFile("src/B.java", own)));
+        assertTrue(storage.contains(shared));
+        assertFalse(storage.contains(own));
+    }
+
+    /*
+     * Checks that the starter code of an assignment is kept while the assignment refers to it
+     */
+    @Test
+    public void starterCodeTest() throws Exception {
+        String starterCode = storage.store("class Starter {}".getBytes("UTF-8"));
+        when(assignmentRepo.countByStarterCodeHash(starterCode)).thenReturn(1L);
+
+        releaser.release(starterCode);
+        assertTrue(storage.contains(starterCode));
+
+        when(assignmentRepo.countByStarterCodeHash(starterCode)).thenReturn(0L);
+        releaser.release(starterCode);
+        assertFalse(storage.contains(starterCode));
+    }
+
+    /*
+     * Checks that a file released in a transaction is deleted once the transaction has completed
+     */
+    @Test
+    public void transactionTest() throws Exception {
+        String contentHash = storage.store("class A {}".getBytes("UTF-8"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            releaser.release(contentHash);
+            assertTrue(storage.contains(contentHash));
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(storage.contains(contentHash));
+    }
+
+    /*
+     * Checks that a file is kept while a transaction that stored it has not completed, although the references of
+     * that transaction cannot be counted yet, and that a transaction releases a file it stored itself
+     */
+    @Test
+    public void pinnedTest() throws Exception {
+        final byte[] content = "class A {}".getBytes("UTF-8");
+        final CountDownLatch stored = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        Thread upload = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    storage.store(content);
+                    stored.countDown();
+                    released.await();
+                    complete(TransactionSynchronization.STATUS_COMMITTED);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            }
+        });
+        upload.start();
+        stored.await();
+        String contentHash = storage.store(content);
+        releaser.release(contentHash);
+        assertTrue(storage.contains(contentHash));
+        released.countDown();
+        upload.join();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(contentHash, storage.store(content));
+            releaser.release(contentHash);
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(storage.contains(contentHash));
+    }
+
+    /*
+     * Checks that the files of a project removed in a transaction are deleted once it has completed, except the one
+     * another running transaction stored again
+     */
+    @Test
+    public void projectTransactionTest() throws Exception {
+        String own = storage.store("class A {}".getBytes("UTF-8"));
+        final byte[] content = "class B {}".getBytes("UTF-8");
+        final String reuploaded = storage.store(content);
+        final CountDownLatch stored = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        Thread upload = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    storage.store(content);
+                    stored.countDown();
+                    released.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            }
+        });
+        upload.start();
+        stored.await();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            List<SubmissionFile> files = new ArrayList<SubmissionFile>(Arrays.asList(
+                    new SubmissionFile("src/A.java", own), new SubmissionFile("src/B.java", reuploaded)));
+            releaser.release(files);
+            files.clear();
+            assertTrue(storage.contains(own));
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            released.countDown();
+            upload.join();
+        }
+        assertFalse(storage.contains(own));
+        assertTrue(storage.contains(reuploaded));
+    }
+
+    /*
+     * Function to complete the transaction of the current thread, in the order its synchronizations are run
+     */
+    private static void complete(int status) {
+        for(TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package codechecker.core.services;
+
+import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.repositories.AssignmentSubmissionRepo;
+import codechecker.core.services.impl.ComparisonExecutor;
+import codechecker.core.services.impl.CompilationUnitCache;
+import codechecker.core.services.impl.FingerprintMerger;
+import codechecker.core.services.impl.MemberFingerprint;
+import codechecker.core.services.impl.MemberFingerprinter;
+import codechecker.core.services.impl.PipelineMetrics;
+import codechecker.core.services.impl.SimilarityPercentGenerator;
+import codechecker.core.services.impl.StoredFingerprint;
+import codechecker.core.services.impl.SubmissionFingerprinter;
+import codechecker.core.services.impl.SubmissionStorage;
+import codechecker.core.services.util.SubmissionFingerprint;
+import com.github.javaparser.JavaParser;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+public class SubmissionFingerprinterTest {
+
+    private static final String SOURCE =
+            "public class Counter {\n" +
+            "    private int count;\n" +
+            "\n" +
+            "    public void add(int amount) {\n" +
+            "        int next = count + amount;\n" +
+            "        count = next;\n" +
+            "    }\n" +
+            "\n" +
+            "    public int total(int[] values) {\n" +
+            "        int sum = 0;\n" +
+            "        for (int i = 0; i < values.length; i++) {\n" +
+            "            sum += values[i];\n" +
+            "        }\n" +
+            "        return sum;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String REORDERED =
+            "public class Counter {\n" +
+            "    public int total(int[] values) {\n" +
+            "        int sum = 0;\n" +
+            "        for (int i = 0; i < values.length; i++) {\n" +
+            "            sum += values[i];\n" +
+            "        }\n" +
+            "        return sum;\n" +
+            "    }\n" +
+            "\n" +
+            "    public void add(int amount) {\n" +
+            "        int next = count + amount;\n" +
+            "        count = next;\n" +
+            "    }\n" +
+            "\n" +
+            "    private int count;\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SubmissionFingerprinter fingerprinter;
+
+    private PipelineMetrics metrics;
+
+    private final SimilarityPercentGenerator spg = new SimilarityPercentGenerator();
+
+    @Before
+    public void setup() {
+        fingerprinter = new SubmissionFingerprinter();
+        metrics = new PipelineMetrics();
+        ReflectionTestUtils.setField(fingerprinter, "metrics", metrics);
+    }
+
+    /*
+     * Checks that a submission with its methods and fields reordered has the same fingerprints, as every member is
+     * numbered on its own
+     */
+    @Test
+    public void reorderTest() {
+        SubmissionFingerprint original = fingerprinter.fingerprint(JavaParser.parse(SOURCE));
+        SubmissionFingerprint reordered = fingerprinter.fingerprint(JavaParser.parse(REORDERED));
+
+        assertArrayEquals(original.getNodeHashCodes(), reordered.getNodeHashCodes());
+        assertArrayEquals(original.getTokenHashCodes(), reordered.getTokenHashCodes());
+        assertEquals(100, spg.getSimilarityPercent(original, reordered), 0.001);
+    }
+
+    /*
+     * Checks that stored fingerprints are read back as they were stored, and that fingerprints stored by another
+     * version are not reused
+     */
+    @Test
+    public void storedFingerprintTest() {
+        List<MemberFingerprint> members = new MemberFingerprinter(metrics)
+                .fingerprint(JavaParser.parse(SOURCE), new HashMap<Long, MemberFingerprint>());
+        List<MemberFingerprint> stored = StoredFingerprint.decode(StoredFingerprint.encode(members));
+        assertEquals(members.size(), stored.size());
+        for(int i = 0; i < members.size(); i++) {
+            assertEquals(members.get(i).getMemberHash(), stored.get(i).getMemberHash());
+            assertEquals(members.get(i).getLine(), stored.get(i).getLine());
+            assertArrayEquals(members.get(i).getNodeHashCodes(), stored.get(i).getNodeHashCodes());
+            assertArrayEquals(members.get(i).getTokenHashCodes(), stored.get(i).getTokenHashCodes());
+            assertArrayEquals(members.get(i).getNodeRegions(), stored.get(i).getNodeRegions());
+        }
+
+        assertNull(StoredFingerprint.decode(new byte[] {0, 0, 0, 0, 0, 0, 0, 0}));
+        assertNull(StoredFingerprint.decode(null));
+    }
+
+    /*
+     * Checks that the fingerprints of a file are stored when it is uploaded, and that a compare of a submission that
+     * is not fingerprinted yet does not write to the storage
+     */
+    @Test
+    public void storeTest() throws Exception {
+        SubmissionStorage storage = new SubmissionStorage();
+        storage.setRoot(folder.getRoot());
+        CompilationUnitCache units = new CompilationUnitCache();
+        units.setMaxWeight(1L << 20);
+        ReflectionTestUtils.setField(units, "storage", storage);
+        ReflectionTestUtils.setField(units, "metrics", metrics);
+        ComparisonExecutor executor = new ComparisonExecutor();
+        ReflectionTestUtils.setField(fingerprinter, "storage", storage);
+        ReflectionTestUtils.setField(fingerprinter, "units", units);
+        ReflectionTestUtils.setField(fingerprinter, "executor", executor);
+        ReflectionTestUtils.setField(fingerprinter, "entryRepo", mock(AssignmentSubmissionRepo.class));
+        try {
+            String contentHash = storage.store(SOURCE.getBytes("UTF-8"));
+            AssignmentSubmission entry = new AssignmentSubmission();
+            entry.setId(1L);
+            entry.setContentHash(contentHash);
+
+            fingerprinter.getAvailableFingerprints(Collections.singletonList(entry));
+            assertNotNull(entry.getNodeHashCodes());
+            assertNull(storage.readFingerprint(contentHash));
+
+            fingerprinter.refresh(entry, null);
+            SubmissionFingerprint stored =
+                    FingerprintMerger.mergeMembers(StoredFingerprint.decode(storage.readFingerprint(contentHash)));
+            assertArrayEquals(entry.getNodeHashCodes(), stored.getNodeHashCodes());
+            assertArrayEquals(entry.getTokenHashCodes(), stored.getTokenHashCodes());
+        } finally {
+            executor.destroy();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package codechecker.core.services;
+
+import codechecker.core.models.entities.AssignmentSubmission;
+import codechecker.core.repositories.AssignmentSubmissionRepo;
+import codechecker.core.services.impl.SubmissionIndex;
+import codechecker.core.services.impl.SubmissionIndexLoader;
+import codechecker.core.services.util.SimilarSubmission;
+import codechecker.core.services.util.SubmissionFingerprint;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SubmissionIndexTest {
+
+    /*
+     * Checks that the submission index finds the submissions of other assignments sharing hash codes, after its
+     * segments are merged, after a submission is removed, and after the index is reopened
+     */
+    @Test
+    public void findSimilarTest() throws IOException {
+        File root = new File(FileUtils.getTempDirectory(), "submission-index-" + System.nanoTime());
+        try {
+            long[] original = new long[100];
+            long[] copy = new long[100];
+            for(int i = 0; i < 100; i++) {
+                original[i] = i;
+                copy[i] = i < 80 ? i : 1000 + i;
+            }
+            SubmissionIndex index = new SubmissionIndex();
+            index.setRoot(root);
+            index.open();
+            for(long id = 1; id <= 20; id++) {
+                long[] unrelated = new long[100];
+                for(int i = 0; i < 100; i++) {
+                    unrelated[i] = id * 10000 + i;
+                }
+                index.index(id, 1L, new SubmissionFingerprint(unrelated, unrelated));
+            }
+            index.index(30L, 2L, new SubmissionFingerprint(original, original));
+            index.index(31L, 2L, new SubmissionFingerprint(copy, copy));
+            index.index(32L, 3L, new SubmissionFingerprint(copy, copy));
+
+            List<SimilarSubmission> similar = index.findSimilar(40L, 3L, new SubmissionFingerprint(original, original), 5);
+            assertEquals(2, similar.size());
+            assertEquals(30L, (long) similar.get(0).getSubmissionId());
+            assertEquals(2L, (long) similar.get(0).getAssignmentId());
+            assertEquals(100.0, similar.get(0).getSimilarityPercent(), 0.001);
+            assertEquals(31L, (long) similar.get(1).getSubmissionId());
+            assertEquals(80.0, similar.get(1).getSimilarityPercent(), 0.001);
+
+            index.remove(30L);
+            index.index(31L, 2L, new SubmissionFingerprint(original, original));
+            index.close();
+
+            SubmissionIndex reopened = new SubmissionIndex();
+            reopened.setRoot(root);
+            reopened.open();
+            similar = reopened.findSimilar(40L, null, new SubmissionFingerprint(original, original), 1);
+            assertEquals(1, similar.size());
+            assertEquals(31L, (long) similar.get(0).getSubmissionId());
+            assertEquals(100.0, similar.get(0).getSimilarityPercent(), 0.001);
+            assertEquals(2, reopened.findSimilar(40L, null, new SubmissionFingerprint(original, original), 5).size());
+            reopened.close();
+        } finally {
+            FileUtils.deleteQuietly(root);
+        }
+    }
+
+    /*
+     * Checks that an index restarted against a fresh repository forgets the submissions of the previous run, whose
+     * ids are given to new submissions again, and indexes the submissions of the repository
+     */
+    @Test
+    public void restartTest() throws IOException {
+        File root = new File(FileUtils.getTempDirectory(), "submission-index-" + System.nanoTime());
+        try {
+            long[] original = new long[100];
+            long[] other = new long[100];
+            for(int i = 0; i < 100; i++) {
+                original[i] = i;
+                other[i] = 1000 + i;
+            }
+            SubmissionIndex index = new SubmissionIndex();
+            index.setRoot(root);
+            index.open();
+            index.index(1L, 1L, new SubmissionFingerprint(original, original));
+            index.index(2L, 1L, new SubmissionFingerprint(original, original));
+            index.close();
+
+            AssignmentSubmission entry = new AssignmentSubmission();
+            entry.setId(1L);
+            entry.setNodeHashCodes(other);
+            entry.setTokenHashCodes(other);
+            AssignmentSubmissionRepo entryRepo = mock(AssignmentSubmissionRepo.class);
+            when(entryRepo.findAllAssignmentSubmissions()).thenReturn(Arrays.asList(entry));
+
+            SubmissionIndex restarted = new SubmissionIndex();
+            restarted.setRoot(root);
+            restarted.open();
+            SubmissionIndexLoader loader = new SubmissionIndexLoader();
+            ReflectionTestUtils.setField(loader, "entryRepo", entryRepo);
+            ReflectionTestUtils.setField(loader, "index", restarted);
+            loader.rebuild();
+
+            assertEquals(1, restarted.countIndexedSubmissions());
+            assertEquals(0, restarted.findSimilar(3L, null, new SubmissionFingerprint(original, original), 5).size());
+            List<SimilarSubmission> similar = restarted.findSimilar(3L, null, new SubmissionFingerprint(other, other), 5);
+            assertEquals(1, similar.size());
+            assertEquals(1L, (long) similar.get(0).getSubmissionId());
+            restarted.close();
+
+            SubmissionIndex reopened = new SubmissionIndex();
+            reopened.setRoot(root);
+            reopened.open();
+            assertEquals(1, reopened.countIndexedSubmissions());
+            reopened.close();
+        } finally {
+            FileUtils.deleteQuietly(root);
+        }
+    }
+
+    /*
+     * Checks that submissions indexed together are written as one segment, found like submissions indexed one by one,
+     * ordered by id whatever order they are given in, and replaced when one of them is indexed again
+     */
+    @Test
+    public void indexBatchTest() throws IOException {
+        File root = new File(FileUtils.getTempDirectory(), "submission-index-" + System.nanoTime());
+        try {
+            long[] original = new long[100];
+            long[] copy = new long[100];
+            long[] unrelated = new long[100];
+            for(int i = 0; i < 100; i++) {
+                original[i] = i;
+                copy[i] = i < 80 ? i : 1000 + i;
+                unrelated[i] = 10000 + i;
+            }
+            SubmissionIndex index = new SubmissionIndex();
+            index.setRoot(root);
+            index.open();
+            index.index(Arrays.asList(32L, 30L, 31L), 2L, Arrays.asList(new SubmissionFingerprint(unrelated, unrelated),
+                    new SubmissionFingerprint(original, original), new SubmissionFingerprint(copy, copy)));
+            assertEquals(3, index.countIndexedSubmissions());
+            assertEquals(1, root.list(new SuffixFileFilter(".seg")).length);
+
+            List<SimilarSubmission> similar = index.findSimilar(40L, 3L, new SubmissionFingerprint(original, original), 5);
+            assertEquals(2, similar.size());
+            assertEquals(30L, (long) similar.get(0).getSubmissionId());
+            assertEquals(2L, (long) similar.get(0).getAssignmentId());
+            assertEquals(100.0, similar.get(0).getSimilarityPercent(), 0.001);
+            assertEquals(31L, (long) similar.get(1).getSubmissionId());
+            assertEquals(80.0, similar.get(1).getSimilarityPercent(), 0.001);
+
+            index.index(30L, 2L, new SubmissionFingerprint(unrelated, unrelated));
+            assertEquals(3, index.countIndexedSubmissions());
+            similar = index.findSimilar(40L, 3L, new SubmissionFingerprint(original, original), 5);
+            assertEquals(1, similar.size());
+            assertEquals(31L, (long) similar.get(0).getSubmissionId());
+            index.close();
+        } finally {
+            FileUtils.deleteQuietly(root);
+        }
+    }
+
+    /*
+     * Checks that a removed submission is never found by lookups running while the segments it was removed from are
+     * merged and its removal is forgotten
+     */
+    @Test
+    public void removedWhileMergingTest() throws Exception {
+        File root = new File(FileUtils.getTempDirectory(), "submission-index-" + System.nanoTime());
+        try {
+            final long[] original = new long[100];
+            for(int i = 0; i < 100; i++) {
+                original[i] = i;
+            }
+            final SubmissionIndex index = new SubmissionIndex();
+            index.setRoot(root);
+            index.open();
+            index.index(30L, 2L, new SubmissionFingerprint(original, original));
+            index.remove(30L);
+
+            final AtomicBoolean done = new AtomicBoolean();
+            final AtomicBoolean found = new AtomicBoolean();
+            Thread lookups = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    while(!done.get()) {
+                        for(SimilarSubmission similar : index.findSimilar(40L, null,
+                                new SubmissionFingerprint(original, original), 5)) {
+                            found.compareAndSet(false, similar.getSubmissionId() == 30L);
+                        }
+                    }
+                }
+            });
+            lookups.start();
+            try {
+                for(long id = 1; id <= 200; id++) {
+                    long[] unrelated = new long[100];
+                    for(int i = 0; i < 100; i++) {
+                        unrelated[i] = id * 10000 + i;
+                    }
+                    index.index(id, 1L, new SubmissionFingerprint(unrelated, unrelated));
+                }
+            } finally {
+                done.set(true);
+                lookups.join();
+            }
+            assertFalse(found.get());
+            assertEquals(200, index.countIndexedSubmissions());
+            index.close();
+        } finally {
+            FileUtils.deleteQuietly(root);
+        }
+    }
+}
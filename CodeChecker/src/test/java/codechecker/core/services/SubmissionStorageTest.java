@@ -0,0 +1,89 @@
+package codechecker.core.services;
+
+import codechecker.core.models.entities.SubmissionFile;
+import codechecker.core.services.exceptions.FileTooLargeException;
+import codechecker.core.services.impl.SubmissionStorage;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SubmissionStorageTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SubmissionStorage storage;
+
+    @Before
+    public void setup() {
+        storage = new SubmissionStorage();
+        storage.setRoot(folder.getRoot());
+    }
+
+    /*
+     * Checks that a streamed upload larger than the buffer is stored under the same hash as the same content in memory
+     */
+    @Test
+    public void streamTest() throws Exception {
+        byte[] content = new byte[100000];
+        for(int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + i % 26);
+        }
+
+        String contentHash = storage.store(new ByteArrayInputStream(content));
+        assertEquals(64, contentHash.length());
+        assertArrayEquals(content, storage.read(contentHash));
+        assertEquals(contentHash, storage.store(content));
+        assertEquals(1, storedFiles(folder.getRoot()));
+    }
+
+    /*
+     * Checks that an upload over the maximum file size is rejected without leaving a file behind
+     */
+    @Test
+    public void tooLargeTest() throws Exception {
+        storage.setMaxFileSize(10000);
+        try {
+            storage.store(new ByteArrayInputStream(new byte[10001]));
+            fail();
+        } catch (FileTooLargeException e) {
+            assertEquals(0, storedFiles(folder.getRoot()));
+        }
+        assertTrue(storage.contains(storage.store(new byte[10000])));
+        assertFalse(storage.contains(null));
+    }
+
+    /*
+     * Checks that the hash of a project does not depend on the order of its files, but on their paths and contents
+     */
+    @Test
+    public void projectHashTest() throws Exception {
+        SubmissionFile main = new SubmissionFile("Main.java", storage.store("class Main {}".getBytes("UTF-8")));
+        SubmissionFile util = new SubmissionFile("Util.java", storage.store("class Util {}".getBytes("UTF-8")));
+        SubmissionFile moved = new SubmissionFile("util/Util.java", util.getContentHash());
+
+        String projectHash = storage.projectHash(Arrays.asList(main, util));
+        assertEquals(projectHash, storage.projectHash(Arrays.asList(util, main)));
+        assertFalse(projectHash.equals(storage.projectHash(Arrays.asList(main, moved))));
+        assertFalse(storage.contains(projectHash));
+    }
+
+    private static int storedFiles(File directory) {
+        int files = 0;
+        for(File file : directory.listFiles()) {
+            files += file.isDirectory() ? storedFiles(file) : 1;
+        }
+        return files;
+    }
+}
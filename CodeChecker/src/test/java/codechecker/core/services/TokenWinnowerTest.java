@@ -0,0 +1,30 @@
+package codechecker.core.services;
+
+import codechecker.core.services.impl.SimilarityPercentGenerator;
+import codechecker.core.services.impl.TokenWinnower;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TokenWinnowerTest {
+
+    /*
+     * Checks that winnowing ignores layout and comments, that a long enough common passage always shares
+     * a fingerprint, and that short sources are still fingerprinted.
+     */
+    @Test
+    public void tokenWinnowingTest() {
+        TokenWinnower winnower = new TokenWinnower();
+        String passage = "for (int v1 = 0; v1 < v2.length; v1++) { v3 += v2[v1] * \"x\"; }";
+
+        long[] a = winnower.getFingerprint("class C { void f() { " + passage + " } }");
+        long[] b = winnower.getFingerprint("class C {\n  void f() {\n    // loop\n    " + passage.replace(" ", "  ") + "\n  }\n}");
+        long[] c = winnower.getFingerprint("class D { int g(int v9) { return v9 * 2; } " + passage + " }");
+
+        assertArrayEquals(a, b);
+        assertEquals(true, new SimilarityPercentGenerator().getSimilarityPercent(a, c) > 0);
+        assertEquals(1, winnower.getFingerprint("return;").length);
+        assertEquals(0, winnower.getFingerprint("").length);
+    }
+}
@@ -6,6 +6,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import codechecker.core.models.entities.Account;
@@ -15,15 +16,21 @@ import codechecker.core.services.util.AssignmentSubmissionList;
 import codechecker.core.services.AssignmentService;
 import codechecker.core.services.exceptions.AssignmentNotFoundException;
 import codechecker.core.services.util.AssignmentList;
+import codechecker.core.services.util.SimilarityMatrix;
+import codechecker.core.services.util.SuspiciousPair;
+import codechecker.core.services.util.SuspiciousPairList;
 import codechecker.rest.mvc.AssignmentController;
 
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.fileUpload;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -161,4 +168,140 @@ public class AssignmentControllerTest {
                 .andDo(print())
                 .andExpect(status().isNotFound());
     }
+
+    /*Test to get the similarity matrix of an existing assignment
+    */
+    @Test
+    public void similarityMatrixForExistingAssignment() throws Exception {
+        double[][] percents = {{100, 42.857}, {42.857, 100}};
+        SimilarityMatrix matrix = new SimilarityMatrix(1L, Arrays.asList(1L, 2L), percents);
+
+        when(assignmentService.computeSimilarityMatrix(1L)).thenReturn(matrix);
+
+        mockMvc.perform(get("/rest/assignments/1/similarity-matrix"))
+                .andExpect(jsonPath("$.submissionIds", contains(1, 2)))
+                .andExpect(jsonPath("$.similarities[0][1]", is(42.86)))
+                .andExpect(jsonPath("$.links[*].href", hasItem(endsWith("/assignments/1/similarity-matrix"))))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to get the similarity matrix of a non-existing assignment
+    */
+    @Test
+    public void similarityMatrixForNonExistingAssignment() throws Exception {
+        when(assignmentService.computeSimilarityMatrix(1L)).thenThrow(new AssignmentNotFoundException());
+
+        mockMvc.perform(get("/rest/assignments/1/similarity-matrix"))
+                .andExpect(status().isNotFound());
+    }
+
+    /*Test to get the weighted similarity matrix of an existing assignment
+    */
+    @Test
+    public void weightedSimilarityMatrixForExistingAssignment() throws Exception {
+        SimilarityMatrix matrix = new SimilarityMatrix(1L, Arrays.asList(1L, 2L),
+                new double[][] {{100, 12.3456}, {12.3456, 100}}, true);
+
+        when(assignmentService.computeWeightedSimilarityMatrix(1L)).thenReturn(matrix);
+
+        mockMvc.perform(get("/rest/assignments/1/weighted-similarity-matrix"))
+                .andExpect(jsonPath("$.submissionIds", contains(1, 2)))
+                .andExpect(jsonPath("$.similarities[0][1]", is(12.35)))
+                .andExpect(jsonPath("$.links[*].href", hasItem(endsWith("/assignments/1/weighted-similarity-matrix"))))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to find the suspicious pairs of an existing assignment
+    */
+    @Test
+    public void suspiciousPairsForExistingAssignment() throws Exception {
+        SuspiciousPairList list = new SuspiciousPairList(1L, 0.6,
+                Arrays.asList(new SuspiciousPair(1L, 3L, 91.234)));
+
+        when(assignmentService.findSuspiciousPairs(1L, 0.6)).thenReturn(list);
+
+        mockMvc.perform(get("/rest/assignments/1/suspicious-pairs").param("threshold", "0.6"))
+                .andExpect(jsonPath("$.pairs[0].submissionId", is(1)))
+                .andExpect(jsonPath("$.pairs[0].otherSubmissionId", is(3)))
+                .andExpect(jsonPath("$.pairs[0].similarityPercent", is(91.23)))
+                .andExpect(jsonPath("$.links[*].href", hasItem(endsWith("/assignments/1/suspicious-pairs?threshold=0.6"))))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to find the suspicious pairs with a threshold that is not a Jaccard index
+    */
+    @Test
+    public void suspiciousPairsWithInvalidThreshold() throws Exception {
+        mockMvc.perform(get("/rest/assignments/1/suspicious-pairs").param("threshold", "1.5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /*Test to find the suspicious pairs of a non-existing assignment
+    */
+    @Test
+    public void suspiciousPairsForNonExistingAssignment() throws Exception {
+        when(assignmentService.findSuspiciousPairs(1L, 0.5)).thenThrow(new AssignmentNotFoundException());
+
+        mockMvc.perform(get("/rest/assignments/1/suspicious-pairs"))
+                .andExpect(status().isNotFound());
+    }
+
+    /*Test to import the assignment submissions of an existing assignment from a zip archive
+    */
+    @Test
+    public void importAssignmentSubmissions() throws Exception {
+        AssignmentSubmission entryA = new AssignmentSubmission();
+        entryA.setId(1L);
+        entryA.setTitle("alice/Main");
+        AssignmentSubmission entryB = new AssignmentSubmission();
+        entryB.setId(2L);
+        entryB.setTitle("bob");
+        AssignmentSubmissionList list = new AssignmentSubmissionList(1L, Arrays.asList(entryA, entryB));
+
+        when(assignmentService.importAssignmentSubmissions(eq(1L), any(InputStream.class))).thenReturn(list);
+
+        mockMvc.perform(fileUpload("/rest/assignments/1/import")
+                .file(new MockMultipartFile("file", "class.zip", "application/zip", new byte[] {1, 2, 3})))
+                .andExpect(jsonPath("$.entries[*].title", hasItems(is("alice/Main"), is("bob"))))
+                .andExpect(status().isCreated());
+    }
+
+    /*Test to import a zip archive into a non-existing assignment
+    */
+    @Test
+    public void importAssignmentSubmissionsForNonExistingAssignment() throws Exception {
+        when(assignmentService.importAssignmentSubmissions(eq(1L), any(InputStream.class)))
+                .thenThrow(new AssignmentNotFoundException());
+
+        mockMvc.perform(fileUpload("/rest/assignments/1/import")
+                .file(new MockMultipartFile("file", "class.zip", "application/zip", new byte[] {1, 2, 3})))
+                .andExpect(status().isNotFound());
+    }
+
+    /*Test to upload the starter code of an existing assignment
+    */
+    @Test
+    public void uploadStarterCode() throws Exception {
+        Assignment assignment = new Assignment();
+        assignment.setId(1L);
+        assignment.setTitle("Test Title");
+
+        when(assignmentService.uploadStarterCode(eq(1L), any(InputStream.class))).thenReturn(assignment);
+
+        mockMvc.perform(fileUpload("/rest/assignments/1/starter-code")
+                .file(new MockMultipartFile("file", "Main.java", "text/plain", "public class Main {}".getBytes())))
+                .andExpect(jsonPath("$.title", is("Test Title")))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to upload starter code that cannot be parsed
+    */
+    @Test
+    public void uploadUnparsableStarterCode() throws Exception {
+        when(assignmentService.uploadStarterCode(eq(1L), any(InputStream.class))).thenReturn(null);
+
+        mockMvc.perform(fileUpload("/rest/assignments/1/starter-code")
+                .file(new MockMultipartFile("file", "Main.java", "text/plain", "public class {".getBytes())))
+                .andExpect(status().isBadRequest());
+    }
 }
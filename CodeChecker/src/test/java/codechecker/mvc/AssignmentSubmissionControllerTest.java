@@ -6,16 +6,28 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import codechecker.core.models.entities.Assignment;
 import codechecker.core.models.entities.AssignmentSubmission;
 import codechecker.core.services.AssignmentSubmissionService;
+import codechecker.core.services.exceptions.FileTooLargeException;
+import codechecker.core.services.util.DiffHunk;
+import codechecker.core.services.util.MatchedRegion;
+import codechecker.core.services.util.MatchedRegionList;
+import codechecker.core.services.util.SimilarSubmission;
+import codechecker.core.services.util.SimilarSubmissionList;
+import codechecker.core.services.util.SourceDiff;
 import codechecker.rest.mvc.AssignmentSubmissionController;
 
+import java.io.InputStream;
+import java.util.Arrays;
+
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -144,4 +156,184 @@ public class AssignmentSubmissionControllerTest {
                 .andExpect(status().isOk())
                 .andDo(print());
     }
+
+    /*Test to upload a file for an assignment submission
+    */
+    @Test
+    public void uploadAssignmentSubmission() throws Exception {
+        byte[] content = "public class A {}".getBytes();
+
+        mockMvc.perform(fileUpload("/rest/assignment-submissions/1/upload")
+                .file(new MockMultipartFile("file", "A.java", "text/plain", content)))
+                .andExpect(status().isOk());
+
+        verify(service).uploadAssignmentSubmission(eq(1L), any(InputStream.class));
+    }
+
+    /*Test to upload a file larger than the storage accepts
+    */
+    @Test
+    public void uploadTooLargeAssignmentSubmission() throws Exception {
+        when(service.uploadAssignmentSubmission(eq(1L), any(InputStream.class)))
+                .thenThrow(new FileTooLargeException());
+
+        mockMvc.perform(fileUpload("/rest/assignment-submissions/1/upload")
+                .file(new MockMultipartFile("file", "A.java", "text/plain", "public class A {}".getBytes())))
+                .andExpect(status().isBadRequest());
+    }
+
+    /*Test to get the uploaded file of an assignment submission
+    */
+    @Test
+    public void getAssignmentSubmissionSource() throws Exception {
+        when(service.findAssignmentSubmissionSource(1L)).thenReturn("public class A {}".getBytes());
+
+        mockMvc.perform(get("/rest/assignment-submissions/1/source"))
+                .andExpect(content().string("public class A {}"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to get the uploaded file of an assignment submission without a file
+    */
+    @Test
+    public void getMissingAssignmentSubmissionSource() throws Exception {
+        when(service.findAssignmentSubmissionSource(1L)).thenReturn(null);
+
+        mockMvc.perform(get("/rest/assignment-submissions/1/source"))
+                .andExpect(status().isNotFound());
+    }
+
+    /*Test to get the normalized file of an assignment submission
+    */
+    @Test
+    public void getAssignmentSubmissionTransformedSource() throws Exception {
+        when(service.findAssignmentSubmissionTransformedSource(1L)).thenReturn("public class A {}".getBytes());
+
+        mockMvc.perform(get("/rest/assignment-submissions/1/transformed"))
+                .andExpect(content().string("public class A {}"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to get the normalized file of an assignment submission without a parsable file
+    */
+    @Test
+    public void getMissingAssignmentSubmissionTransformedSource() throws Exception {
+        when(service.findAssignmentSubmissionTransformedSource(1L)).thenReturn(null);
+
+        mockMvc.perform(get("/rest/assignment-submissions/1/transformed"))
+                .andExpect(status().isNotFound());
+    }
+
+    /*Test to diff the normalized files of two assignment submissions
+    */
+    @Test
+    public void diffAssignmentSubmissions() throws Exception {
+        SourceDiff diff = new SourceDiff(1L, 2L, Arrays.asList(
+                new DiffHunk(true, 1, 3, 1, 3, null, null),
+                new DiffHunk(false, 4, 1, 4, 2, Arrays.asList("T v0;"), Arrays.asList("T v1;", "T v2;"))));
+        when(service.diffAssignmentSubmissions(1L, 2L)).thenReturn(diff);
+
+        mockMvc.perform(get("/rest/assignment-submissions/diff")
+                .param("assignmentId", "1")
+                .param("otherAssignmentId", "2"))
+                .andExpect(jsonPath("$.hunks[0].match", is(true)))
+                .andExpect(jsonPath("$.hunks[0].lineCount", is(3)))
+                .andExpect(jsonPath("$.hunks[0].lines").doesNotExist())
+                .andExpect(jsonPath("$.hunks[1].match", is(false)))
+                .andExpect(jsonPath("$.hunks[1].otherLines", contains("T v1;", "T v2;")))
+                .andExpect(jsonPath("$.links[*].rel", hasItems("submission", "other-submission", "compare")))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to diff two assignment submissions when one has no parsable file
+    */
+    @Test
+    public void diffMissingAssignmentSubmissions() throws Exception {
+        when(service.diffAssignmentSubmissions(1L, 2L)).thenReturn(null);
+
+        mockMvc.perform(get("/rest/assignment-submissions/diff")
+                .param("assignmentId", "1")
+                .param("otherAssignmentId", "2"))
+                .andExpect(status().isNotFound());
+    }
+
+    /*Test to find the matching regions of two assignment submissions
+    */
+    @Test
+    public void findMatchedRegions() throws Exception {
+        MatchedRegionList list = new MatchedRegionList(1L, 2L, 20, Arrays.asList(
+                new MatchedRegion(12, 30, 40, 58, 120),
+                new MatchedRegion(3, 8, 5, 10, 25)));
+        when(service.findMatchedRegions(1L, 2L, 20)).thenReturn(list);
+
+        mockMvc.perform(get("/rest/assignment-submissions/matches")
+                .param("assignmentId", "1")
+                .param("otherAssignmentId", "2"))
+                .andExpect(jsonPath("$.regions[*].nodes", contains(120, 25)))
+                .andExpect(jsonPath("$.regions[0].line", is(12)))
+                .andExpect(jsonPath("$.regions[0].otherEndLine", is(58)))
+                .andExpect(jsonPath("$.links[*].rel", hasItems("submission", "other-submission", "compare")))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to find the matching regions of two assignment submissions when one has no parsable file
+    */
+    @Test
+    public void findMissingMatchedRegions() throws Exception {
+        when(service.findMatchedRegions(1L, 2L, 20)).thenReturn(null);
+
+        mockMvc.perform(get("/rest/assignment-submissions/matches")
+                .param("assignmentId", "1")
+                .param("otherAssignmentId", "2"))
+                .andExpect(status().isNotFound());
+    }
+
+    /*Test to find matching regions with a limit out of range
+    */
+    @Test
+    public void findMatchedRegionsBadLimit() throws Exception {
+        mockMvc.perform(get("/rest/assignment-submissions/matches")
+                .param("assignmentId", "1")
+                .param("otherAssignmentId", "2")
+                .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /*Test to find the submissions of other assignments similar to an assignment submission
+    */
+    @Test
+    public void findSimilarSubmissions() throws Exception {
+        SimilarSubmissionList list = new SimilarSubmissionList(1L, 5,
+                Arrays.asList(new SimilarSubmission(7L, 2L, 87.654)));
+
+        when(service.findSimilarSubmissions(1L, 5)).thenReturn(list);
+
+        mockMvc.perform(get("/rest/assignment-submissions/1/similar").param("limit", "5"))
+                .andExpect(jsonPath("$.submissions[0].submissionId", is(7)))
+                .andExpect(jsonPath("$.submissions[0].assignmentId", is(2)))
+                .andExpect(jsonPath("$.submissions[0].similarityPercent", is(87.65)))
+                .andExpect(jsonPath("$.submissions[0].links[*].rel", hasItems(is("submission"), is("assignment"), is("compare"))))
+                .andExpect(jsonPath("$.links[*].href", hasItem(endsWith("/assignment-submissions/1/similar?limit=5"))))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to find the similar submissions of a non existing assignment submission
+    */
+    @Test
+    public void findSimilarSubmissionsOfNonExistingAssignmentSubmission() throws Exception {
+        when(service.findSimilarSubmissions(1L, 10)).thenReturn(null);
+
+        mockMvc.perform(get("/rest/assignment-submissions/1/similar"))
+                .andExpect(status().isNotFound());
+    }
+
+    /*Test to find the similar submissions with an invalid limit
+    */
+    @Test
+    public void findSimilarSubmissionsWithInvalidLimit() throws Exception {
+        mockMvc.perform(get("/rest/assignment-submissions/1/similar").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,107 @@
+package codechecker.mvc;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import codechecker.core.services.CompareJobService;
+import codechecker.core.services.exceptions.CompareQueueFullException;
+import codechecker.core.services.util.CompareJob;
+import codechecker.rest.mvc.CompareJobController;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*Compare Job Controller Test class
+    */
+public class CompareJobControllerTest {
+    @InjectMocks
+    private CompareJobController controller;
+
+    @Mock
+    private CompareJobService service;
+
+    private MockMvc mockMvc;
+
+    /*Initial setup of mocks
+        */
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    /*Test to submit a compare job
+    */
+    @Test
+    public void submitCompareJob() throws Exception {
+        when(service.submitCompareJob(1L, 2L)).thenReturn(new CompareJob(5L, 1L, 2L));
+
+        mockMvc.perform(post("/rest/compare-jobs")
+                .content("{\"submissionId\":1,\"otherSubmissionId\":2}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status", is("QUEUED")))
+                .andExpect(header().string("Location", endsWith("/rest/compare-jobs/5")))
+                .andExpect(status().isAccepted());
+    }
+
+    /*Test to submit a compare job without the submissions to compare
+    */
+    @Test
+    public void submitIncompleteCompareJob() throws Exception {
+        mockMvc.perform(post("/rest/compare-jobs")
+                .content("{\"submissionId\":1}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    /*Test to submit a compare job while the queue is full
+    */
+    @Test
+    public void submitCompareJobWhenQueueIsFull() throws Exception {
+        when(service.submitCompareJob(anyLong(), anyLong())).thenThrow(new CompareQueueFullException());
+
+        mockMvc.perform(post("/rest/compare-jobs")
+                .content("{\"submissionId\":1,\"otherSubmissionId\":2}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    /*Test to poll a completed compare job
+    */
+    @Test
+    public void getCompletedCompareJob() throws Exception {
+        CompareJob job = new CompareJob(5L, 1L, 2L);
+        job.start();
+        job.complete("42.86");
+        when(service.findCompareJob(5L)).thenReturn(job);
+
+        mockMvc.perform(get("/rest/compare-jobs/5"))
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.similarityPercent", is("42.86")))
+                .andExpect(jsonPath("$.links[*].href",
+                        hasItems(endsWith("/compare-jobs/5"), endsWith("/assignment-submissions/1"), endsWith("/assignment-submissions/2"))))
+                .andExpect(status().isOk());
+    }
+
+    /*Test to poll a non existing compare job
+    */
+    @Test
+    public void getNonExistingCompareJob() throws Exception {
+        when(service.findCompareJob(5L)).thenReturn(null);
+
+        mockMvc.perform(get("/rest/compare-jobs/5"))
+                .andExpect(status().isNotFound());
+    }
+}
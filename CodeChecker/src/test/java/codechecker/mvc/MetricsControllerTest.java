@@ -0,0 +1,58 @@
+package codechecker.mvc;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import codechecker.core.services.MetricsService;
+import codechecker.core.services.util.StageMetrics;
+import codechecker.core.services.util.StageMetricsList;
+import codechecker.rest.mvc.MetricsController;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*Metrics Controller Test class
+    */
+public class MetricsControllerTest {
+    @InjectMocks
+    private MetricsController controller;
+
+    @Mock
+    private MetricsService service;
+
+    private MockMvc mockMvc;
+
+    /*Initial setup of mocks
+        */
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    /*Test to get the metrics of the stages of the compare pipeline
+    */
+    @Test
+    public void findPipelineMetrics() throws Exception {
+        when(service.findPipelineMetrics()).thenReturn(new StageMetricsList(Arrays.asList(
+                new StageMetrics("compare.total", "ns", 4, 1500.5, 1023, 2047, 2047, 1900),
+                new StageMetrics("parse", "ns", 2, 800, 1023, 1023, 1023, 900))));
+
+        mockMvc.perform(get("/rest/metrics/pipeline"))
+                .andExpect(jsonPath("$.stages[*].stage", contains("compare.total", "parse")))
+                .andExpect(jsonPath("$.stages[0].count", is(4)))
+                .andExpect(jsonPath("$.stages[0].p90", is(2047)))
+                .andExpect(jsonPath("$.links[*].href", hasItem(endsWith("/rest/metrics/pipeline"))))
+                .andExpect(status().isOk());
+    }
+}